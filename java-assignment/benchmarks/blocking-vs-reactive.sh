@@ -0,0 +1,24 @@
+#!/usr/bin/env bash
+#
+# Compares throughput and latency of the blocking and reactive warehouse stacks under high
+# concurrency with https://github.com/rakyll/hey. Build and start one stack at a time against the
+# same PostgreSQL database, then run this script for each of them:
+#
+#   ./mvnw package -DskipTests                                  # blocking (default)
+#   ./mvnw package -DskipTests -Dquarkus.profile=prod,reactive  # reactive
+#   java -Dquarkus.profile=prod,reactive -jar target/quarkus-app/quarkus-run.jar
+#
+#   ./benchmarks/blocking-vs-reactive.sh reactive 512
+#
+set -euo pipefail
+
+LABEL="${1:?usage: $0 <label> [concurrency] [duration]}"
+CONCURRENCY="${2:-256}"
+DURATION="${3:-30s}"
+BASE_URL="${BASE_URL:-http://localhost:8080}"
+
+echo "== ${LABEL}: GET /warehouse, ${CONCURRENCY} concurrent clients for ${DURATION}"
+hey -z "${DURATION}" -c "${CONCURRENCY}" "${BASE_URL}/warehouse" | sed -n '/Summary/,/Latency distribution/p;/Status code/,$p'
+
+echo "== ${LABEL}: GET /warehouse/1, ${CONCURRENCY} concurrent clients for ${DURATION}"
+hey -z "${DURATION}" -c "${CONCURRENCY}" "${BASE_URL}/warehouse/1" | sed -n '/Summary/,/Latency distribution/p;/Status code/,$p'
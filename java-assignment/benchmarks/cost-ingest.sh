@@ -0,0 +1,37 @@
+#!/usr/bin/env bash
+#
+# Measures cost event ingestion throughput: generates NDJSON files of BATCH events and posts them
+# from PARALLEL clients, then reports events per second as seen by the clients. Rows land in
+# cost_event asynchronously; watch costs_ingest_written_total / costs_ingest_queued on /q/metrics.
+#
+#   ./benchmarks/cost-ingest.sh 200 10000 4    # 200 requests of 10000 events, 4 at a time
+#
+set -euo pipefail
+
+REQUESTS="${1:-100}"
+BATCH="${2:-10000}"
+PARALLEL="${3:-4}"
+BASE_URL="${BASE_URL:-http://localhost:8080}"
+WORK="$(mktemp -d)"
+trap 'rm -rf "${WORK}"' EXIT
+
+RUN="$(date +%s)"
+for r in $(seq 1 "${REQUESTS}"); do
+  awk -v run="${RUN}" -v r="${r}" -v n="${BATCH}" 'BEGIN {
+    split("LABOR TRANSPORT INVENTORY OVERHEAD", categories, " ")
+    for (i = 1; i <= n; i++) {
+      printf "{\"dedupeKey\":\"bench-%s-%d-%d\",\"category\":\"%s\",\"amount\":%.2f,", run, r, i, categories[i % 4 + 1], (i % 9000) / 7
+      printf "\"warehouseCode\":\"MWH.%03d\",\"units\":%d,\"orderLines\":%d,\"laborMinutes\":%d,", i % 25, i % 40, i % 12, i % 90
+      printf "\"occurredAt\":\"2024-07-%02dT%02d:00:00\"}\n", i % 28 + 1, i % 24
+    }
+  }' > "${WORK}/batch-${r}.ndjson"
+done
+
+START="$(date +%s.%N)"
+seq 1 "${REQUESTS}" | xargs -P "${PARALLEL}" -I{} \
+  curl -s -o /dev/null -w '%{http_code}\n' -H 'Content-Type: application/x-ndjson' \
+  --data-binary "@${WORK}/batch-{}.ndjson" "${BASE_URL}/costs/events" | sort | uniq -c
+END="$(date +%s.%N)"
+
+awk -v s="${START}" -v e="${END}" -v n="$((REQUESTS * BATCH))" \
+  'BEGIN { printf "%d events in %.2fs: %.0f events/s accepted\n", n, e - s, n / (e - s) }'
@@ -0,0 +1,33 @@
+#!/usr/bin/env bash
+#
+# Compares JSON, CBOR and Smile for the list endpoints: payload size per encoding (plain and
+# gzip-compressed) and requests per second with https://github.com/rakyll/hey. Sizes only mean
+# something on a realistic data set, e.g. an instance started with the datagen profile:
+#
+#   ./mvnw quarkus:dev -Dquarkus.profile=dev,datagen -Ddatagen.warehouse-rows=500000
+#   ./benchmarks/encodings.sh 16 20s
+#
+# Requests carry X-Debug-Timing so every one of them serializes the list, instead of being served
+# from the conditional GET cache.
+#
+set -euo pipefail
+
+CONCURRENCY="${1:-16}"
+DURATION="${2:-20s}"
+BASE_URL="${BASE_URL:-http://localhost:8080}"
+TYPES=("application/json" "application/cbor" "application/x-jackson-smile")
+
+for path in warehouse store product; do
+  echo "== GET /${path}"
+  printf '%-30s %12s %12s\n' "media type" "bytes" "gzip bytes"
+  for type in "${TYPES[@]}"; do
+    plain=$(curl -s -H "Accept: ${type}" "${BASE_URL}/${path}" | wc -c)
+    gzipped=$(curl -s -H "Accept: ${type}" "${BASE_URL}/${path}" | gzip -c | wc -c)
+    printf '%-30s %12d %12d\n' "${type}" "${plain}" "${gzipped}"
+  done
+  for type in "${TYPES[@]}"; do
+    echo "-- ${type}, ${CONCURRENCY} concurrent clients for ${DURATION}"
+    hey -z "${DURATION}" -c "${CONCURRENCY}" -H "Accept: ${type}" -H "X-Debug-Timing: true" "${BASE_URL}/${path}" \
+      | sed -n '/Requests\/sec/p;/99%/p'
+  done
+done
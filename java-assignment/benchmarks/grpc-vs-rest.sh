@@ -0,0 +1,35 @@
+#!/usr/bin/env bash
+#
+# Compares warehouse lookups over REST (GET /warehouse/{id}, JSON over HTTP/1.1, measured with hey)
+# and gRPC (WarehouseLookup, protobuf over HTTP/2, measured with https://ghz.sh) against a running
+# instance, with the same number of concurrent clients:
+#
+#   ./mvnw quarkus:dev                       # REST on 8080, gRPC on 9000
+#   ./benchmarks/grpc-vs-rest.sh 3 64 30s    # warehouse id, concurrency, duration
+#
+# The last run streams 100 lookups per call over one WarehouseLookup/Lookup stream, the batch mode
+# meant for services that resolve many warehouses at once.
+#
+set -euo pipefail
+
+ID="${1:-3}"
+CONCURRENCY="${2:-64}"
+DURATION="${3:-30s}"
+BASE_URL="${BASE_URL:-http://localhost:8080}"
+GRPC_HOST="${GRPC_HOST:-localhost:9000}"
+PROTO="$(dirname "$0")/../src/main/proto/warehouse_lookup.proto"
+
+echo "== REST: GET /warehouse/${ID}, ${CONCURRENCY} concurrent clients for ${DURATION}"
+hey -z "${DURATION}" -c "${CONCURRENCY}" "${BASE_URL}/warehouse/${ID}" \
+  | sed -n '/Summary/,/Latency distribution/p;/Status code/,$p'
+
+echo "== gRPC: GetWarehouseById(${ID}), ${CONCURRENCY} concurrent clients for ${DURATION}"
+ghz --insecure --proto "${PROTO}" --call warehouse.lookup.v1.WarehouseLookup.GetWarehouseById \
+  -d "{\"id\": ${ID}}" -c "${CONCURRENCY}" -z "${DURATION}" "${GRPC_HOST}" \
+  | sed -n '/Summary/,/Latency distribution/p;/Status code distribution/,$p'
+
+BATCH="[$(for i in $(seq 1 100); do printf '{"warehouse_id": %s}' "${ID}"; [ "$i" -lt 100 ] && printf ','; done)]"
+echo "== gRPC: Lookup stream of 100 lookups per call, ${CONCURRENCY} concurrent clients for ${DURATION}"
+ghz --insecure --proto "${PROTO}" --call warehouse.lookup.v1.WarehouseLookup.Lookup \
+  -d "${BATCH}" -c "${CONCURRENCY}" -z "${DURATION}" "${GRPC_HOST}" \
+  | sed -n '/Summary/,/Latency distribution/p;/Status code distribution/,$p'
@@ -0,0 +1,21 @@
+#!/usr/bin/env bash
+#
+# Replays a traffic capture against a locally running build and reports per-endpoint server-side
+# latency (recorded vs replayed) and responses whose status or body changed. Capture first:
+#
+#   java -Dtraffic-capture.enabled=true -jar target/quarkus-app/quarkus-run.jar   # run the workload
+#
+# then start the build under test in dev mode (H2 + import.sql, so generated ids match a capture
+# that also started from import.sql) and replay:
+#
+#   ./mvnw quarkus:dev
+#   ./benchmarks/replay.sh traffic.cap 2       # twice the recorded speed; 0 = back to back
+#
+set -euo pipefail
+
+CAPTURE="${1:?usage: $0 <capture file> [speed]}"
+SPEED="${2:-1}"
+BASE_URL="${BASE_URL:-http://localhost:8080}"
+
+java -cp target/classes com.fulfilment.application.monolith.capture.TrafficReplay \
+  "${CAPTURE}" --target "${BASE_URL}" --speed "${SPEED}"
@@ -0,0 +1,52 @@
+#!/usr/bin/env bash
+#
+# Reports JDBC round trips (statements + batches) per write operation, as counted by the
+# Server-Timing header (see RequestTimings). Run it against a build from before and after a change
+# to the persistence configuration, e.g.:
+#
+#   git worktree add /tmp/before <commit-before>
+#   (cd /tmp/before/java-assignment && ./mvnw quarkus:dev)   # then: ./benchmarks/round-trips.sh before
+#   ./mvnw quarkus:dev                                       # then: ./benchmarks/round-trips.sh after
+#
+set -euo pipefail
+
+LABEL="${1:?usage: $0 <label> [operations]}"
+OPERATIONS="${2:-100}"
+BASE_URL="${BASE_URL:-http://localhost:8080}"
+
+# Prints "<statements> <batches>" of one request
+measure() {
+  curl -s -o /dev/null -D - -H 'X-Debug-Timing: true' -H 'Content-Type: application/json' "$@" \
+    | tr -d '\r' | sed -n 's/.*desc="\([0-9]*\) statements, \([0-9]*\) batches".*/\1 \2/p'
+}
+
+# report <name> <function>: calls the function OPERATIONS times and averages its counts
+report() {
+  local statements=0 batches=0 s b
+  for i in $(seq 1 "${OPERATIONS}"); do
+    read -r s b < <("$2" "$i")
+    statements=$((statements + s))
+    batches=$((batches + b))
+  done
+  awk -v l="${LABEL}" -v n="$1" -v ops="${OPERATIONS}" -v s="${statements}" -v b="${batches}" \
+    'BEGIN { printf "%-8s %-20s %6.2f statements %6.2f batches %6.2f round trips/op\n", l, n, s/ops, b/ops, (s+b)/ops }'
+}
+
+RUN="$(date +%s)"
+
+create_store() {
+  measure -X POST -d "{\"name\": \"B${RUN}-$1\", \"quantityProductsInStock\": 1}" "${BASE_URL}/store"
+}
+
+update_store() {
+  measure -X PUT -d "{\"name\": \"TONSTAD\", \"quantityProductsInStock\": $1}" "${BASE_URL}/store/1"
+}
+
+replace_warehouse() {
+  measure -X POST -d '{"location": "ZWOLLE-001", "capacity": 100, "stock": 10}' \
+    "${BASE_URL}/warehouse/MWH.001/replacement"
+}
+
+report "POST /store" create_store
+report "PUT /store/1" update_store
+report "replace MWH.001" replace_warehouse
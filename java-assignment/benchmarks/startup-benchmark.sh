@@ -0,0 +1,61 @@
+#!/usr/bin/env bash
+#
+# Compares cold start (time to first successful GET /warehouse) and resident memory of the JVM and
+# native builds. Build both artifacts first:
+#
+#   ./mvnw package -DskipTests
+#   ./mvnw package -Dnative -DskipTests
+#
+# and point the application at a PostgreSQL instance (see README.md for a docker one-liner):
+#
+#   DB_URL=jdbc:postgresql://localhost:15432/quarkus_test DB_USER=quarkus_test DB_PASSWORD=quarkus_test \
+#     ./benchmarks/startup-benchmark.sh 10
+#
+set -euo pipefail
+
+RUNS="${1:-5}"
+PORT="${PORT:-8080}"
+DB_URL="${DB_URL:?DB_URL must be set}"
+DB_USER="${DB_USER:?DB_USER must be set}"
+DB_PASSWORD="${DB_PASSWORD:?DB_PASSWORD must be set}"
+
+cd "$(dirname "$0")/.."
+
+JVM_CMD=(java -jar target/quarkus-app/quarkus-run.jar)
+NATIVE_CMD=(./target/java-code-assignment-1.0.0-SNAPSHOT-runner)
+ARGS=(
+  "-Dquarkus.http.port=${PORT}"
+  "-Dquarkus.datasource.jdbc.url=${DB_URL}"
+  "-Dquarkus.datasource.username=${DB_USER}"
+  "-Dquarkus.datasource.password=${DB_PASSWORD}"
+  "-Dquarkus.hibernate-orm.database.generation=drop-and-create"
+  "-Dquarkus.hibernate-orm.sql-load-script=import.sql"
+  "-Dquarkus.log.level=WARN"
+)
+
+now_ms() { date +%s%3N; }
+
+measure() {
+  local name="$1"; shift
+  local total_start=0 total_rss=0
+  for run in $(seq 1 "$RUNS"); do
+    local start pid elapsed rss
+    start=$(now_ms)
+    "$@" "${ARGS[@]}" > /dev/null 2>&1 &
+    pid=$!
+    until curl -sf "http://localhost:${PORT}/warehouse" > /dev/null; do
+      sleep 0.005
+    done
+    elapsed=$(( $(now_ms) - start ))
+    rss=$(ps -o rss= -p "$pid" | tr -d ' ')
+    kill "$pid" && wait "$pid" 2> /dev/null || true
+    printf '%-6s run %2d: first response after %5d ms, RSS %7d KB\n' "$name" "$run" "$elapsed" "$rss"
+    total_start=$(( total_start + elapsed ))
+    total_rss=$(( total_rss + rss ))
+  done
+  printf '%-6s average: first response after %5d ms, RSS %7d KB\n\n' \
+    "$name" $(( total_start / RUNS )) $(( total_rss / RUNS ))
+}
+
+measure jvm "${JVM_CMD[@]}"
+measure native "${NATIVE_CMD[@]}"
@@ -0,0 +1,193 @@
+package com.fulfilment.application.monolith.admission;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limiter whose limit follows the gradient algorithm of Netflix concurrency-limits
+ * (Gradient2): the limit grows while the short-term latency stays close to the long-term one, and
+ * shrinks in proportion when requests start queueing up (e.g. behind the connection pool). Failed
+ * requests cut the limit multiplicatively, as in AIMD.
+ *
+ * <p>Requests over the limit wait in a bounded queue for at most {@code maxWait}; when the queue is
+ * full or the wait times out they are shed.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+  private static final double SHORT_ALPHA = 2.0 / (10 + 1);
+  private static final double LONG_ALPHA = 2.0 / (600 + 1);
+  private static final double SMOOTHING = 0.2;
+  private static final double TOLERANCE = 1.5;
+  private static final double BACKOFF_RATIO = 0.9;
+
+  private final int minLimit;
+  private final int maxLimit;
+  private final int maxQueue;
+  private final long maxWaitNanos;
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition released = lock.newCondition();
+
+  private double estimatedLimit;
+  private double shortRtt;
+  private double longRtt;
+  private int inFlight;
+  private int queued;
+  private long shed;
+
+  public AdaptiveConcurrencyLimiter(
+      int initialLimit, int minLimit, int maxLimit, int maxQueue, long maxWait, TimeUnit unit) {
+    this.estimatedLimit = initialLimit;
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.maxQueue = maxQueue;
+    this.maxWaitNanos = unit.toNanos(maxWait);
+  }
+
+  /** Returns a permit to release when the request completes, or {@code null} if it was shed. */
+  public Permit acquire() throws InterruptedException {
+    lock.lock();
+    try {
+      if (inFlight < limit()) {
+        inFlight++;
+        return new Permit(System.nanoTime());
+      }
+      if (queued >= maxQueue) {
+        shed++;
+        return null;
+      }
+      queued++;
+      try {
+        long remaining = maxWaitNanos;
+        while (inFlight >= limit()) {
+          if (remaining <= 0) {
+            shed++;
+            return null;
+          }
+          remaining = released.awaitNanos(remaining);
+        }
+        inFlight++;
+        return new Permit(System.nanoTime());
+      } finally {
+        queued--;
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Like {@link #acquire()} without waiting in the queue, for callers that must not block (the
+   * Vert.x event loop): returns {@code null} right away when the limit is reached.
+   */
+  public Permit tryAcquire() {
+    lock.lock();
+    try {
+      if (inFlight < limit()) {
+        inFlight++;
+        return new Permit(System.nanoTime());
+      }
+      shed++;
+      return null;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  void release(long rttNanos, boolean dropped) {
+    lock.lock();
+    try {
+      updateLimit(rttNanos, dropped);
+      inFlight--;
+      released.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void updateLimit(long rttNanos, boolean dropped) {
+    if (dropped) {
+      estimatedLimit = Math.max(minLimit, estimatedLimit * BACKOFF_RATIO);
+      return;
+    }
+    if (longRtt == 0) {
+      shortRtt = rttNanos;
+      longRtt = rttNanos;
+    }
+    shortRtt += (rttNanos - shortRtt) * SHORT_ALPHA;
+    longRtt += (rttNanos - longRtt) * LONG_ALPHA;
+
+    // After a sustained latency spike, let the baseline drift back down instead of staying inflated
+    if (longRtt / shortRtt > 2) {
+      longRtt *= 0.95;
+    }
+
+    // Don't grow the limit while it isn't actually being used
+    if (inFlight < estimatedLimit / 2) {
+      return;
+    }
+
+    double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRtt / shortRtt));
+    double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+    newLimit = estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+    estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+  }
+
+  private int limit() {
+    return (int) estimatedLimit;
+  }
+
+  public int getLimit() {
+    lock.lock();
+    try {
+      return limit();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public int getInFlight() {
+    lock.lock();
+    try {
+      return inFlight;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public int getQueued() {
+    lock.lock();
+    try {
+      return queued;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public long getShedCount() {
+    lock.lock();
+    try {
+      return shed;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public final class Permit {
+
+    private final long startedAt;
+
+    private Permit(long startedAt) {
+      this.startedAt = startedAt;
+    }
+
+    /**
+     * @param dropped whether the request failed in a way that signals overload (timeouts, pool
+     *     exhaustion, ...) rather than a client error
+     */
+    public void release(boolean dropped) {
+      AdaptiveConcurrencyLimiter.this.release(System.nanoTime() - startedAt, dropped);
+    }
+  }
+}
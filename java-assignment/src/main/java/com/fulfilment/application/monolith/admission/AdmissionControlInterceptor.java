@@ -0,0 +1,66 @@
+package com.fulfilment.application.monolith.admission;
+
+import com.fulfilment.application.monolith.errors.RequestRejectedException;
+import com.fulfilment.application.monolith.warehouses.domain.usecases.WarehouseOperationException;
+import io.smallrye.mutiny.Uni;
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+import jakarta.ws.rs.WebApplicationException;
+
+// Runs before @Transactional so queued requests don't hold a transaction or a connection
+@AdmissionControlled("")
+@Interceptor
+@Priority(Interceptor.Priority.PLATFORM_BEFORE + 100)
+public class AdmissionControlInterceptor {
+
+  @Inject AdmissionController admissionController;
+
+  @AroundInvoke
+  Object limit(InvocationContext context) throws Exception {
+    String endpoint = context.getInterceptorBinding(AdmissionControlled.class).value();
+    AdaptiveConcurrencyLimiter limiter = admissionController.limiter(endpoint);
+    // A Uni method runs on the event loop, which must not wait in the queue; its permit is held until the Uni ends
+    boolean reactive = Uni.class.isAssignableFrom(context.getMethod().getReturnType());
+    AdaptiveConcurrencyLimiter.Permit permit = reactive ? limiter.tryAcquire() : limiter.acquire();
+    if (permit == null) {
+      throw new AdmissionRejectedException(endpoint, admissionController.retryAfterSeconds());
+    }
+
+    boolean dropped = false;
+    boolean releaseNow = true;
+    try {
+      Object result = context.proceed();
+      if (reactive && result != null) {
+        releaseNow = false;
+        return ((Uni<?>) result)
+            .onTermination()
+            .invoke((item, failure, cancelled) -> permit.release(failure != null && isDropped(failure)));
+      }
+      return result;
+    } catch (Exception e) {
+      dropped = isDropped(e);
+      throw e;
+    } finally {
+      if (releaseNow) {
+        permit.release(dropped);
+      }
+    }
+  }
+
+  // Client errors say nothing about overload, only server errors cut the limit
+  private static boolean isDropped(Throwable failure) {
+    if (failure instanceof WarehouseOperationException) {
+      return false;
+    }
+    if (failure instanceof RequestRejectedException rejected) {
+      return rejected.status >= 500;
+    }
+    if (failure instanceof WebApplicationException web) {
+      return web.getResponse().getStatus() >= 500;
+    }
+    return true;
+  }
+}
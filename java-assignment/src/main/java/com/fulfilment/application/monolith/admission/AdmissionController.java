@@ -0,0 +1,73 @@
+package com.fulfilment.application.monolith.admission;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/** One {@link AdaptiveConcurrencyLimiter} per endpoint, exported as {@code admission.*} metrics. */
+@ApplicationScoped
+public class AdmissionController {
+
+  private final Map<String, AdaptiveConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+
+  private final MeterRegistry registry;
+  private final int initialLimit;
+  private final int minLimit;
+  private final int maxLimit;
+  private final int maxQueue;
+  private final Duration maxWait;
+  private final int retryAfterSeconds;
+
+  public AdmissionController(
+      MeterRegistry registry,
+      @ConfigProperty(name = "admission.initial-limit", defaultValue = "20") int initialLimit,
+      @ConfigProperty(name = "admission.min-limit", defaultValue = "4") int minLimit,
+      @ConfigProperty(name = "admission.max-limit", defaultValue = "200") int maxLimit,
+      @ConfigProperty(name = "admission.max-queue", defaultValue = "50") int maxQueue,
+      @ConfigProperty(name = "admission.max-wait", defaultValue = "100ms") Duration maxWait,
+      @ConfigProperty(name = "admission.retry-after", defaultValue = "1") int retryAfterSeconds) {
+    this.registry = registry;
+    this.initialLimit = initialLimit;
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.maxQueue = maxQueue;
+    this.maxWait = maxWait;
+    this.retryAfterSeconds = retryAfterSeconds;
+  }
+
+  public AdaptiveConcurrencyLimiter limiter(String endpoint) {
+    return limiters.computeIfAbsent(endpoint, this::register);
+  }
+
+  public int retryAfterSeconds() {
+    return retryAfterSeconds;
+  }
+
+  private AdaptiveConcurrencyLimiter register(String endpoint) {
+    var limiter =
+        new AdaptiveConcurrencyLimiter(
+            initialLimit, minLimit, maxLimit, maxQueue, maxWait.toNanos(), TimeUnit.NANOSECONDS);
+
+    Gauge.builder("admission.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+        .description("Current concurrency limit")
+        .tag("endpoint", endpoint)
+        .register(registry);
+    Gauge.builder("admission.in.flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+        .tag("endpoint", endpoint)
+        .register(registry);
+    Gauge.builder("admission.queued", limiter, AdaptiveConcurrencyLimiter::getQueued)
+        .tag("endpoint", endpoint)
+        .register(registry);
+    FunctionCounter.builder("admission.shed", limiter, AdaptiveConcurrencyLimiter::getShedCount)
+        .description("Requests rejected with 503 because the endpoint was over its limit")
+        .tag("endpoint", endpoint)
+        .register(registry);
+    return limiter;
+  }
+}
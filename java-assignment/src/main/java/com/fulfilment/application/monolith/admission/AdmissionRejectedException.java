@@ -0,0 +1,14 @@
+package com.fulfilment.application.monolith.admission;
+
+/** Thrown when a request is shed; stackless since it is expected under load and must be cheap. */
+public class AdmissionRejectedException extends RuntimeException {
+
+  public final String endpoint;
+  public final int retryAfterSeconds;
+
+  public AdmissionRejectedException(String endpoint, int retryAfterSeconds) {
+    super("Too many concurrent requests for " + endpoint + ", retry later.", null, false, false);
+    this.endpoint = endpoint;
+    this.retryAfterSeconds = retryAfterSeconds;
+  }
+}
@@ -0,0 +1,33 @@
+package com.fulfilment.application.monolith.admission;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fulfilment.application.monolith.errors.ProblemDetails;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.ExceptionMapper;
+import jakarta.ws.rs.ext.Provider;
+import java.util.List;
+
+/** Same problem details body as the generic mapper, plus the Retry-After hint. */
+@Provider
+public class AdmissionRejectedExceptionMapper implements ExceptionMapper<AdmissionRejectedException> {
+
+  @Inject ObjectMapper objectMapper;
+
+  @Override
+  public Response toResponse(AdmissionRejectedException exception) {
+    // No logging per request here, the admission.shed metric counts them
+    var problem =
+        new ProblemDetails("about:blank", "Service Unavailable", 503, exception.getMessage(), List.of());
+    try {
+      return Response.status(503)
+          .header("Retry-After", exception.retryAfterSeconds)
+          .type(ProblemDetails.MEDIA_TYPE)
+          .entity(objectMapper.writeValueAsBytes(problem))
+          .build();
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,173 @@
+package com.fulfilment.application.monolith.capture;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.ext.Provider;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Opt-in ({@code traffic-capture.enabled}) capture of the warehouse, store and product API for
+ * {@link TrafficReplay}. Only the method, path, query, content type, accept header and body of a
+ * request are kept; all other headers (authorization, cookies, idempotency keys) are dropped and
+ * the values of {@code traffic-capture.redact-fields} in JSON bodies are masked.
+ */
+@Provider
+public class TrafficCaptureFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+  static final String REDACTED = "REDACTED";
+
+  private static final String PROPERTY = TrafficCaptureFilter.class.getName() + ".pending";
+
+  @Inject TrafficCaptureWriter writer;
+  @Inject ObjectMapper objectMapper;
+
+  @ConfigProperty(name = "traffic-capture.paths", defaultValue = "warehouse,store,product")
+  List<String> paths;
+
+  @ConfigProperty(name = "traffic-capture.max-request-bytes", defaultValue = "65536")
+  int maxRequestBytes;
+
+  @ConfigProperty(name = "traffic-capture.redact-fields", defaultValue = "password,token,secret")
+  List<String> redactFields;
+
+  private record Pending(
+      long startedAt, String method, String pathAndQuery, String contentType, String accept, byte[] body) {}
+
+  @Override
+  public void filter(ContainerRequestContext requestContext) throws IOException {
+    if (!writer.isEnabled()) {
+      return;
+    }
+    String path = requestContext.getUriInfo().getPath();
+    path = path.startsWith("/") ? path.substring(1) : path;
+    if (!captured(path)) {
+      return;
+    }
+
+    long startedAt = System.nanoTime();
+    byte[] body = new byte[0];
+    if (requestContext.hasEntity()) {
+      InputStream entity = requestContext.getEntityStream();
+      body = entity.readNBytes(maxRequestBytes + 1);
+      requestContext.setEntityStream(new SequenceInputStream(new ByteArrayInputStream(body), entity));
+      if (body.length > maxRequestBytes) {
+        return; // too large to keep, not captured
+      }
+    }
+
+    String query = requestContext.getUriInfo().getRequestUri().getRawQuery();
+    requestContext.setProperty(
+        PROPERTY,
+        new Pending(
+            startedAt,
+            requestContext.getMethod(),
+            query == null ? path : path + "?" + query,
+            requestContext.getHeaderString(HttpHeaders.CONTENT_TYPE),
+            requestContext.getHeaderString(HttpHeaders.ACCEPT),
+            redact(body)));
+  }
+
+  @Override
+  public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext)
+      throws IOException {
+    if (!(requestContext.getProperty(PROPERTY) instanceof Pending pending)) {
+      return;
+    }
+    long finishedAt = System.nanoTime();
+    byte[] response = serialize(responseContext.getEntity());
+    CRC32 crc = new CRC32();
+    crc.update(response);
+
+    writer.offer(
+        new TrafficRecord(
+            writer.offsetMicros(pending.startedAt()),
+            (finishedAt - pending.startedAt()) / 1_000,
+            pending.method(),
+            pending.pathAndQuery(),
+            pending.contentType(),
+            pending.accept(),
+            pending.body(),
+            responseContext.getStatus(),
+            response.length,
+            (int) crc.getValue()));
+  }
+
+  private boolean captured(String path) {
+    for (String prefix : paths) {
+      if (path.equals(prefix) || path.startsWith(prefix + "/")) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Masks the configured fields anywhere in a JSON body; other bodies are kept as they are. */
+  byte[] redact(byte[] body) throws IOException {
+    if (body.length == 0 || !mentionsRedactedField(body)) {
+      return body;
+    }
+    JsonNode tree;
+    try {
+      tree = objectMapper.readTree(body);
+    } catch (IOException e) {
+      return body; // not JSON, the resource will reject it anyway
+    }
+    mask(tree);
+    return objectMapper.writeValueAsBytes(tree);
+  }
+
+  private boolean mentionsRedactedField(byte[] body) {
+    String text = new String(body, StandardCharsets.UTF_8);
+    for (String field : redactFields) {
+      if (text.contains("\"" + field + "\"")) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void mask(JsonNode node) {
+    if (node instanceof ObjectNode object) {
+      Iterator<Map.Entry<String, JsonNode>> fields = object.fields();
+      while (fields.hasNext()) {
+        Map.Entry<String, JsonNode> field = fields.next();
+        if (redactFields.contains(field.getKey())) {
+          field.setValue(object.textNode(REDACTED));
+        } else {
+          mask(field.getValue());
+        }
+      }
+    } else if (node != null && node.isArray()) {
+      node.forEach(this::mask);
+    }
+  }
+
+  private byte[] serialize(Object entity) throws IOException {
+    if (entity == null) {
+      return new byte[0];
+    }
+    if (entity instanceof byte[] bytes) {
+      return bytes;
+    }
+    if (entity instanceof String text) {
+      return text.getBytes(StandardCharsets.UTF_8);
+    }
+    return objectMapper.writeValueAsBytes(entity);
+  }
+}
@@ -0,0 +1,112 @@
+package com.fulfilment.application.monolith.capture;
+
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+/**
+ * Appends captured traffic to the log file on its own thread, so requests only pay for a queue
+ * offer. When the queue is full records are dropped (and counted) rather than slowing requests down.
+ */
+@ApplicationScoped
+public class TrafficCaptureWriter {
+
+  private static final Logger LOGGER = Logger.getLogger(TrafficCaptureWriter.class.getName());
+
+  @ConfigProperty(name = "traffic-capture.enabled", defaultValue = "false")
+  boolean enabled;
+
+  @ConfigProperty(name = "traffic-capture.file", defaultValue = "traffic.cap")
+  String file;
+
+  @ConfigProperty(name = "traffic-capture.queue-capacity", defaultValue = "10000")
+  int queueCapacity;
+
+  private BlockingQueue<TrafficRecord> queue;
+  private TrafficLog.Writer log;
+  private Thread thread;
+  private volatile boolean running;
+  private long startedAt;
+  private final AtomicLong dropped = new AtomicLong();
+
+  void onStart(@Observes StartupEvent event) throws IOException {
+    if (!enabled) {
+      return;
+    }
+    Path path = Path.of(file);
+    log = new TrafficLog.Writer(new BufferedOutputStream(Files.newOutputStream(path), 1 << 16));
+    queue = new ArrayBlockingQueue<>(queueCapacity);
+    startedAt = System.nanoTime();
+    running = true;
+    thread = new Thread(this::drain, "traffic-capture-writer");
+    thread.setDaemon(true);
+    thread.start();
+    LOGGER.infof("Capturing traffic to %s", path.toAbsolutePath());
+  }
+
+  void onStop(@Observes ShutdownEvent event) throws InterruptedException, IOException {
+    if (thread == null) {
+      return;
+    }
+    running = false;
+    thread.join(TimeUnit.SECONDS.toMillis(10));
+    log.close();
+    if (dropped.get() > 0) {
+      LOGGER.warnf("Dropped %d captured requests because the capture queue was full", dropped.get());
+    }
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /** Microseconds since the capture started, the time base of {@link TrafficRecord#offsetMicros()}. */
+  public long offsetMicros(long nanoTime) {
+    return TimeUnit.NANOSECONDS.toMicros(nanoTime - startedAt);
+  }
+
+  public void offer(TrafficRecord record) {
+    if (!running || !queue.offer(record)) {
+      dropped.incrementAndGet();
+    }
+  }
+
+  private void drain() {
+    List<TrafficRecord> batch = new ArrayList<>();
+    while (running || !queue.isEmpty()) {
+      try {
+        TrafficRecord first = queue.poll(100, TimeUnit.MILLISECONDS);
+        if (first == null) {
+          continue;
+        }
+        batch.add(first);
+        queue.drainTo(batch);
+        for (TrafficRecord record : batch) {
+          log.write(record);
+        }
+        batch.clear();
+        log.flush();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (IOException e) {
+        running = false;
+        throw new UncheckedIOException("Failed to write traffic capture, capture stopped", e);
+      }
+    }
+  }
+}
@@ -0,0 +1,130 @@
+package com.fulfilment.application.monolith.capture;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Binary traffic log format, shared by {@link TrafficCaptureWriter} and {@link TrafficReplay} (so
+ * JDK only). After an 8 byte magic, records follow back to back:
+ *
+ * <pre>
+ * varlong offsetMicros, varlong serverMicros,
+ * utf method, utf pathAndQuery, utf contentType, utf accept,
+ * varint requestLength, requestBody,
+ * varint status, varint responseLength, int responseCrc32
+ * </pre>
+ */
+public final class TrafficLog {
+
+  private static final byte[] MAGIC = {'T', 'R', 'A', 'F', 'C', 'A', 'P', '1'};
+
+  private TrafficLog() {}
+
+  public static final class Writer implements Closeable {
+
+    private final DataOutputStream out;
+
+    public Writer(OutputStream out) throws IOException {
+      this.out = new DataOutputStream(out);
+      this.out.write(MAGIC);
+    }
+
+    public void write(TrafficRecord record) throws IOException {
+      writeVarLong(out, record.offsetMicros());
+      writeVarLong(out, record.serverMicros());
+      out.writeUTF(record.method());
+      out.writeUTF(record.pathAndQuery());
+      out.writeUTF(record.contentType() == null ? "" : record.contentType());
+      out.writeUTF(record.accept() == null ? "" : record.accept());
+      writeVarLong(out, record.requestBody().length);
+      out.write(record.requestBody());
+      writeVarLong(out, record.status());
+      writeVarLong(out, record.responseLength());
+      out.writeInt(record.responseCrc32());
+    }
+
+    public void flush() throws IOException {
+      out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+      out.close();
+    }
+  }
+
+  public static final class Reader implements Closeable {
+
+    private final DataInputStream in;
+
+    public Reader(InputStream in) throws IOException {
+      this.in = new DataInputStream(in);
+      byte[] magic = new byte[MAGIC.length];
+      this.in.readFully(magic);
+      if (!Arrays.equals(magic, MAGIC)) {
+        throw new IOException("Not a traffic log");
+      }
+    }
+
+    /** Returns the next record, or {@code null} at the end of the log (a torn last record included). */
+    public TrafficRecord next() throws IOException {
+      try {
+        long offsetMicros = readVarLong(in);
+        long serverMicros = readVarLong(in);
+        String method = in.readUTF();
+        String pathAndQuery = in.readUTF();
+        String contentType = in.readUTF();
+        String accept = in.readUTF();
+        byte[] requestBody = new byte[(int) readVarLong(in)];
+        in.readFully(requestBody);
+        int status = (int) readVarLong(in);
+        int responseLength = (int) readVarLong(in);
+        int responseCrc32 = in.readInt();
+        return new TrafficRecord(
+            offsetMicros,
+            serverMicros,
+            method,
+            pathAndQuery,
+            contentType.isEmpty() ? null : contentType,
+            accept.isEmpty() ? null : accept,
+            requestBody,
+            status,
+            responseLength,
+            responseCrc32);
+      } catch (EOFException e) {
+        return null;
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      in.close();
+    }
+  }
+
+  static void writeVarLong(DataOutputStream out, long value) throws IOException {
+    while ((value & ~0x7FL) != 0) {
+      out.writeByte((int) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    out.writeByte((int) value);
+  }
+
+  static long readVarLong(DataInputStream in) throws IOException {
+    long value = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      int b = in.readUnsignedByte();
+      value |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IOException("Malformed varint");
+  }
+}
@@ -0,0 +1,17 @@
+package com.fulfilment.application.monolith.capture;
+
+/**
+ * One captured request/response pair. The request is kept whole so it can be re-issued; the
+ * response only as status, length and CRC32 of its body, which is enough to detect a mismatch.
+ */
+public record TrafficRecord(
+    long offsetMicros,
+    long serverMicros,
+    String method,
+    String pathAndQuery,
+    String contentType,
+    String accept,
+    byte[] requestBody,
+    int status,
+    int responseLength,
+    int responseCrc32) {}
@@ -0,0 +1,223 @@
+package com.fulfilment.application.monolith.capture;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * Re-issues a {@link TrafficLog} against a running instance and compares it with the capture.
+ * JDK only, so it runs straight from the compiled classes:
+ *
+ * <pre>
+ * java -cp target/classes com.fulfilment.application.monolith.capture.TrafficReplay \
+ *     traffic.cap [--target http://localhost:8080] [--speed 1]
+ * </pre>
+ *
+ * {@code --speed} scales the recorded inter-arrival times (2 = twice as fast); 0 sends the requests
+ * one after the other, which makes the outcome deterministic when the target starts from the same
+ * data as the captured instance (e.g. a fresh dev/H2 instance and import.sql). Latencies compared
+ * are server side: the replay asks for {@code Server-Timing} and uses its {@code total}, which
+ * spans the same filters as the capture.
+ */
+public final class TrafficReplay {
+
+  private static final Pattern TOTAL = Pattern.compile("total;dur=([0-9.]+)");
+  private static final Pattern NUMERIC_SEGMENT = Pattern.compile("/[0-9]+(?=/|$)");
+  private static final int MAX_REPORTED_MISMATCHES = 20;
+
+  private final HttpClient client =
+      HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+  private final String target;
+  private final double speed;
+
+  private TrafficReplay(String target, double speed) {
+    this.target = target.endsWith("/") ? target : target + "/";
+    this.speed = speed;
+  }
+
+  public static void main(String[] args) throws Exception {
+    if (args.length == 0) {
+      System.err.println("usage: TrafficReplay <capture file> [--target url] [--speed factor]");
+      System.exit(2);
+    }
+    String target = "http://localhost:8080";
+    double speed = 1;
+    for (int i = 1; i + 1 < args.length; i += 2) {
+      switch (args[i]) {
+        case "--target" -> target = args[i + 1];
+        case "--speed" -> speed = Double.parseDouble(args[i + 1]);
+        default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+      }
+    }
+
+    List<TrafficRecord> records;
+    try (InputStream in = new BufferedInputStream(Files.newInputStream(Path.of(args[0])))) {
+      records = read(in);
+    }
+    Report report = new TrafficReplay(target, speed).replay(records);
+    report.print(System.out);
+    System.exit(report.mismatches.isEmpty() ? 0 : 1);
+  }
+
+  static List<TrafficRecord> read(InputStream in) throws IOException {
+    List<TrafficRecord> records = new ArrayList<>();
+    TrafficLog.Reader reader = new TrafficLog.Reader(in);
+    for (TrafficRecord record = reader.next(); record != null; record = reader.next()) {
+      records.add(record);
+    }
+    return records;
+  }
+
+  Report replay(List<TrafficRecord> records) throws InterruptedException {
+    List<CompletableFuture<Outcome>> outcomes = new ArrayList<>(records.size());
+    long start = System.nanoTime();
+    long firstOffset = records.isEmpty() ? 0 : records.get(0).offsetMicros();
+
+    for (TrafficRecord record : records) {
+      if (speed <= 0) {
+        outcomes.add(CompletableFuture.completedFuture(send(record).join()));
+        continue;
+      }
+      long due = start + (long) (TimeUnit.MICROSECONDS.toNanos(record.offsetMicros() - firstOffset) / speed);
+      for (long wait = due - System.nanoTime(); wait > 0; wait = due - System.nanoTime()) {
+        LockSupport.parkNanos(wait);
+      }
+      outcomes.add(send(record));
+    }
+
+    Report report = new Report();
+    for (CompletableFuture<Outcome> outcome : outcomes) {
+      report.add(outcome.join());
+    }
+    return report;
+  }
+
+  private CompletableFuture<Outcome> send(TrafficRecord record) {
+    HttpRequest.Builder request =
+        HttpRequest.newBuilder(URI.create(target + record.pathAndQuery()))
+            .timeout(Duration.ofSeconds(30))
+            .header("X-Debug-Timing", "true")
+            .method(
+                record.method(),
+                record.requestBody().length == 0
+                    ? HttpRequest.BodyPublishers.noBody()
+                    : HttpRequest.BodyPublishers.ofByteArray(record.requestBody()));
+    if (record.contentType() != null) {
+      request.header("Content-Type", record.contentType());
+    }
+    if (record.accept() != null) {
+      request.header("Accept", record.accept());
+    }
+
+    long sentAt = System.nanoTime();
+    return client
+        .sendAsync(request.build(), HttpResponse.BodyHandlers.ofByteArray())
+        .handle(
+            (response, failure) -> {
+              long clientMicros = (System.nanoTime() - sentAt) / 1_000;
+              if (failure != null) {
+                return new Outcome(record, -1, clientMicros, clientMicros, false);
+              }
+              CRC32 crc = new CRC32();
+              crc.update(response.body());
+              boolean sameBody =
+                  response.body().length == record.responseLength() && (int) crc.getValue() == record.responseCrc32();
+              long serverMicros =
+                  response
+                      .headers()
+                      .firstValue("Server-Timing")
+                      .map(TOTAL::matcher)
+                      .filter(Matcher::find)
+                      .map(m -> (long) (Double.parseDouble(m.group(1)) * 1_000))
+                      .orElse(clientMicros);
+              return new Outcome(record, response.statusCode(), serverMicros, clientMicros, sameBody);
+            });
+  }
+
+  record Outcome(TrafficRecord record, int status, long serverMicros, long clientMicros, boolean sameBody) {
+
+    String endpoint() {
+      String path = record.pathAndQuery();
+      int query = path.indexOf('?');
+      path = query < 0 ? path : path.substring(0, query);
+      return record.method() + " /" + NUMERIC_SEGMENT.matcher("/" + path).replaceAll("/{id}").substring(1);
+    }
+  }
+
+  static final class Report {
+
+    final Map<String, List<Outcome>> byEndpoint = new TreeMap<>();
+    final List<String> mismatches = new ArrayList<>();
+
+    void add(Outcome outcome) {
+      byEndpoint.computeIfAbsent(outcome.endpoint(), key -> new ArrayList<>()).add(outcome);
+      TrafficRecord record = outcome.record();
+      if (outcome.status() != record.status()) {
+        mismatches.add(
+            record.method() + " /" + record.pathAndQuery() + ": status " + outcome.status() + ", recorded " + record.status());
+      } else if (!outcome.sameBody()) {
+        mismatches.add(record.method() + " /" + record.pathAndQuery() + ": response body differs");
+      }
+    }
+
+    void print(PrintStream out) {
+      out.printf(
+          Locale.ROOT,
+          "%-45s %6s %12s %12s %12s %12s %8s%n",
+          "endpoint",
+          "count",
+          "rec p50 ms",
+          "new p50 ms",
+          "rec p95 ms",
+          "new p95 ms",
+          "p95 diff");
+      byEndpoint.forEach(
+          (endpoint, outcomes) -> {
+            long[] recorded = outcomes.stream().mapToLong(o -> o.record().serverMicros()).sorted().toArray();
+            long[] replayed = outcomes.stream().mapToLong(Outcome::serverMicros).sorted().toArray();
+            double recordedP95 = percentile(recorded, 0.95);
+            double replayedP95 = percentile(replayed, 0.95);
+            out.printf(
+                Locale.ROOT,
+                "%-45s %6d %12.3f %12.3f %12.3f %12.3f %+7.1f%%%n",
+                endpoint,
+                outcomes.size(),
+                percentile(recorded, 0.5),
+                percentile(replayed, 0.5),
+                recordedP95,
+                replayedP95,
+                recordedP95 == 0 ? 0 : (replayedP95 - recordedP95) * 100 / recordedP95);
+          });
+      out.printf(Locale.ROOT, "%d mismatching responses%n", mismatches.size());
+      mismatches.stream().limit(MAX_REPORTED_MISMATCHES).forEach(m -> out.println("  " + m));
+    }
+
+    /** Nearest-rank percentile, in milliseconds. */
+    static double percentile(long[] sortedMicros, double fraction) {
+      if (sortedMicros.length == 0) {
+        return 0;
+      }
+      int rank = (int) Math.ceil(fraction * sortedMicros.length) - 1;
+      return sortedMicros[Math.max(0, rank)] / 1_000.0;
+    }
+  }
+}
@@ -0,0 +1,75 @@
+package com.fulfilment.application.monolith.coalescing;
+
+import com.fulfilment.application.monolith.products.ProductView;
+import com.fulfilment.application.monolith.stores.StoreView;
+import com.warehouse.api.beans.Warehouse;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import java.time.Duration;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Single-flight caches for the single-entity GET endpoints. Writers call {@link #invalidate} from
+ * inside their transaction; the entry is dropped immediately and once more after completion, so a
+ * read racing the commit can't keep the old value around for the rest of the TTL. Values are
+ * immutable views, never entities, as they are shared by every request that hits the entry.
+ */
+@ApplicationScoped
+public class HotReadCaches {
+
+  @Inject TransactionSynchronizationRegistry transactionSynchronizationRegistry;
+
+  private final SingleFlightCache<Long, StoreView> stores;
+  private final SingleFlightCache<Long, ProductView> products;
+  private final SingleFlightCache<Long, Warehouse> warehouses;
+
+  public HotReadCaches(
+      @ConfigProperty(name = "hot-reads.ttl", defaultValue = "500ms") Duration ttl,
+      @ConfigProperty(name = "hot-reads.max-entries", defaultValue = "10000") int maxEntries) {
+    this.stores = new SingleFlightCache<>(ttl.toNanos(), maxEntries);
+    this.products = new SingleFlightCache<>(ttl.toNanos(), maxEntries);
+    this.warehouses = new SingleFlightCache<>(ttl.toNanos(), maxEntries);
+  }
+
+  public SingleFlightCache<Long, StoreView> stores() {
+    return stores;
+  }
+
+  public SingleFlightCache<Long, ProductView> products() {
+    return products;
+  }
+
+  public SingleFlightCache<Long, Warehouse> warehouses() {
+    return warehouses;
+  }
+
+  public <K> void invalidate(SingleFlightCache<K, ?> cache, K key) {
+    afterCompletion(() -> cache.invalidate(key));
+  }
+
+  /** Warehouse replacements touch rows by business unit code, so they drop the whole cache. */
+  public void invalidateAll(SingleFlightCache<?, ?> cache) {
+    afterCompletion(cache::invalidateAll);
+  }
+
+  private void afterCompletion(Runnable invalidation) {
+    invalidation.run();
+    if (transactionSynchronizationRegistry.getTransactionKey() == null) {
+      return;
+    }
+    transactionSynchronizationRegistry.registerInterposedSynchronization(
+        new Synchronization() {
+          @Override
+          public void beforeCompletion() {
+            // no-op
+          }
+
+          @Override
+          public void afterCompletion(int status) {
+            invalidation.run();
+          }
+        });
+  }
+}
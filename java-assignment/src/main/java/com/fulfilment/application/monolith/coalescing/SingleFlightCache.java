@@ -0,0 +1,99 @@
+package com.fulfilment.application.monolith.coalescing;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent loads of the same key: the first caller runs the loader, callers arriving
+ * while it is in flight wait for its result instead of loading again. Successful results are kept
+ * for a short TTL (0 disables the micro-cache and only coalesces); failures are never cached.
+ */
+public class SingleFlightCache<K, V> {
+
+  private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+  private final long ttlNanos;
+  private final int maxEntries;
+
+  public SingleFlightCache(long ttlNanos, int maxEntries) {
+    this.ttlNanos = ttlNanos;
+    this.maxEntries = maxEntries;
+  }
+
+  public V get(K key, Supplier<V> loader) {
+    while (true) {
+      Entry<V> existing = entries.get(key);
+      if (existing != null && !existing.isExpired(System.nanoTime(), ttlNanos)) {
+        return await(existing.result);
+      }
+      Entry<V> mine = new Entry<>();
+      boolean leader =
+          existing == null
+              ? entries.putIfAbsent(key, mine) == null
+              : entries.replace(key, existing, mine);
+      if (leader) {
+        return load(key, mine, loader);
+      }
+    }
+  }
+
+  public void invalidate(K key) {
+    entries.remove(key);
+  }
+
+  public void invalidateAll() {
+    entries.clear();
+  }
+
+  int size() {
+    return entries.size();
+  }
+
+  private V load(K key, Entry<V> entry, Supplier<V> loader) {
+    V value;
+    try {
+      value = loader.get();
+    } catch (RuntimeException | Error e) {
+      entries.remove(key, entry);
+      entry.result.completeExceptionally(e);
+      throw e;
+    }
+    entry.loadedAt = System.nanoTime();
+    entry.result.complete(value);
+    if (entries.size() > maxEntries) {
+      evictExpired();
+    }
+    return value;
+  }
+
+  private void evictExpired() {
+    long now = System.nanoTime();
+    entries.values().removeIf(entry -> entry.isExpired(now, ttlNanos));
+  }
+
+  private static <V> V await(CompletableFuture<V> result) {
+    try {
+      return result.join();
+    } catch (CompletionException e) {
+      // Rethrow the leader's exception as-is so callers see e.g. the same 404
+      if (e.getCause() instanceof RuntimeException runtime) {
+        throw runtime;
+      }
+      if (e.getCause() instanceof Error error) {
+        throw error;
+      }
+      throw e;
+    }
+  }
+
+  private static final class Entry<V> {
+
+    final CompletableFuture<V> result = new CompletableFuture<>();
+    volatile long loadedAt;
+
+    boolean isExpired(long now, long ttlNanos) {
+      return result.isDone() && now - loadedAt >= ttlNanos;
+    }
+  }
+}
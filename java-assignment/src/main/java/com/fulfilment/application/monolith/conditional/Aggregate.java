@@ -0,0 +1,23 @@
+package com.fulfilment.application.monolith.conditional;
+
+/** The aggregates whose list endpoints support conditional GETs, with the path of that endpoint. */
+public enum Aggregate {
+  WAREHOUSE("warehouse"),
+  STORE("store"),
+  PRODUCT("product");
+
+  final String listPath;
+
+  Aggregate(String listPath) {
+    this.listPath = listPath;
+  }
+
+  static Aggregate forListPath(String path) {
+    for (Aggregate aggregate : values()) {
+      if (aggregate.listPath.equals(path)) {
+        return aggregate;
+      }
+    }
+    return null;
+  }
+}
@@ -0,0 +1,90 @@
+package com.fulfilment.application.monolith.conditional;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseEvent;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseEvents;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One change counter per aggregate, bumped once a write to it committed. A list response computed
+ * at counter value {@code n} stays valid until the counter moves on, which is what the ETags of
+ * {@link ConditionalListFilter} encode. Counters live in memory, so the ETags also carry a
+ * per-process epoch: a restart can't make an old tag match again.
+ */
+@ApplicationScoped
+public class ChangeCounters {
+
+  @Inject TransactionSynchronizationRegistry transactionSynchronizationRegistry;
+
+  private final String epoch = Long.toHexString(ThreadLocalRandom.current().nextLong());
+  private final Map<Aggregate, AtomicLong> versions = new EnumMap<>(Aggregate.class);
+  private final Map<Aggregate, AtomicLong> changedAtMillis = new EnumMap<>(Aggregate.class);
+
+  public ChangeCounters() {
+    for (Aggregate aggregate : Aggregate.values()) {
+      versions.put(aggregate, new AtomicLong());
+      changedAtMillis.put(aggregate, new AtomicLong());
+    }
+  }
+
+  public long current(Aggregate aggregate) {
+    return versions.get(aggregate).get();
+  }
+
+  /** Strong ETag of the representation {@code mediaType} (e.g. application/json) at {@code version}. */
+  public String etag(long version, String mediaType) {
+    return '"' + epoch + '-' + version + '-' + mediaType.substring(mediaType.indexOf('/') + 1) + '"';
+  }
+
+  /** Millis since the last bump, or {@code Long.MAX_VALUE} if there was none. */
+  public long quietForMillis(Aggregate aggregate) {
+    long changedAt = changedAtMillis.get(aggregate).get();
+    return changedAt == 0 ? Long.MAX_VALUE : System.currentTimeMillis() - changedAt;
+  }
+
+  public void bump(Aggregate aggregate) {
+    versions.get(aggregate).incrementAndGet();
+    changedAtMillis.get(aggregate).set(System.currentTimeMillis());
+  }
+
+  /** Bumps once the current transaction committed, or right away outside a transaction. */
+  public void bumpAfterCommit(Aggregate aggregate) {
+    if (transactionSynchronizationRegistry.getTransactionKey() == null) {
+      bump(aggregate);
+      return;
+    }
+    transactionSynchronizationRegistry.registerInterposedSynchronization(
+        new Synchronization() {
+          @Override
+          public void beforeCompletion() {
+            // no-op
+          }
+
+          @Override
+          public void afterCompletion(int status) {
+            if (status == Status.STATUS_COMMITTED) {
+              bump(aggregate);
+            }
+          }
+        });
+  }
+
+  // Warehouse writes go through the use cases, which publish an event per committed change
+  void onWarehouseEvent(@Observes(during = TransactionPhase.AFTER_SUCCESS) WarehouseEvent event) {
+    bump(Aggregate.WAREHOUSE);
+  }
+
+  // One committed change of several warehouses is one new version of the list
+  void onWarehouseEvents(@Observes(during = TransactionPhase.AFTER_SUCCESS) WarehouseEvents batch) {
+    bump(Aggregate.WAREHOUSE);
+  }
+}
@@ -0,0 +1,127 @@
+package com.fulfilment.application.monolith.conditional;
+
+import com.fulfilment.application.monolith.encoding.ApiMediaTypes;
+import com.fulfilment.application.monolith.encoding.JacksonEncodings;
+import com.fulfilment.application.monolith.replica.ReadRouting;
+import com.fulfilment.application.monolith.timing.ServerTimingFilter;
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.Provider;
+import java.io.IOException;
+import java.time.Duration;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Strong ETags for {@code GET /warehouse}, {@code /store} and {@code /product}, derived from the
+ * aggregate's {@link ChangeCounters} value. A matching {@code If-None-Match} gets a 304, and while
+ * nothing changed everybody else gets the cached bytes of the last response, both without running
+ * the query. Each negotiated media type (JSON, CBOR, Smile) has its own tag and cached bytes.
+ *
+ * <p>The counter is read before the query, so a response is never tagged newer than its data. Reads
+ * served by the replica are only tagged once the last change is older than the read-your-writes
+ * stickiness, i.e. once the replica is assumed to have caught up. Requests asking for a
+ * {@code Server-Timing} breakdown always run the query, that is what they want to measure.
+ */
+@Provider
+@Priority(Priorities.USER + 100) // after ReadYourWritesFilter pinned the request, if it does
+public class ConditionalListFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+  private static final String PROPERTY = ConditionalListFilter.class.getName() + ".version";
+
+  @Inject ChangeCounters changeCounters;
+  @Inject ListResponseCache cache;
+  @Inject ReadRouting readRouting;
+  @Inject JacksonEncodings encodings;
+
+  @ConfigProperty(name = "read-replica.stickiness", defaultValue = "5s")
+  Duration stickiness;
+
+  @Override
+  public void filter(ContainerRequestContext requestContext) {
+    Aggregate aggregate = aggregate(requestContext);
+    if (aggregate == null) {
+      return;
+    }
+    String mediaType = ApiMediaTypes.negotiate(requestContext.getHeaderString(HttpHeaders.ACCEPT));
+    if (mediaType == null) {
+      return; // not acceptable, the resource answers that
+    }
+    long version = changeCounters.current(aggregate);
+    String etag = changeCounters.etag(version, mediaType);
+
+    if (matches(requestContext.getHeaderString(HttpHeaders.IF_NONE_MATCH), etag)) {
+      requestContext.abortWith(tagged(Response.notModified(), etag).build());
+      return;
+    }
+    boolean measured = "true".equalsIgnoreCase(requestContext.getHeaderString(ServerTimingFilter.ENABLE_HEADER));
+    ListResponseCache.Entry cached = measured ? null : cache.find(aggregate, readRouting.useReplica(), mediaType, version);
+    if (cached != null) {
+      requestContext.abortWith(tagged(Response.ok(cached.body(), cached.mediaType()), etag).build());
+      return;
+    }
+    requestContext.setProperty(PROPERTY, version);
+  }
+
+  @Override
+  public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext)
+      throws IOException {
+    if (!(requestContext.getProperty(PROPERTY) instanceof Long version)
+        || responseContext.getStatus() != 200
+        || !responseContext.hasEntity()) {
+      return;
+    }
+    Aggregate aggregate = aggregate(requestContext);
+    boolean replica = readRouting.useReplica();
+    if (replica && changeCounters.quietForMillis(aggregate) < stickiness.toMillis()) {
+      return; // the replica may not have this version yet
+    }
+
+    MediaType produced =
+        responseContext.getMediaType() == null ? MediaType.APPLICATION_JSON_TYPE : responseContext.getMediaType();
+    String mediaType = produced.getType() + "/" + produced.getSubtype();
+    byte[] body = encodings.forMediaType(produced).writeValueAsBytes(responseContext.getEntity());
+    cache.put(aggregate, replica, new ListResponseCache.Entry(version, mediaType, body));
+
+    responseContext.setEntity(body, null, produced);
+    responseContext.getHeaders().putSingle(HttpHeaders.ETAG, changeCounters.etag(version, mediaType));
+    responseContext.getHeaders().putSingle(HttpHeaders.CACHE_CONTROL, "no-cache");
+    responseContext.getHeaders().putSingle(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+  }
+
+  private static Aggregate aggregate(ContainerRequestContext requestContext) {
+    if (!"GET".equals(requestContext.getMethod())) {
+      return null;
+    }
+    String path = requestContext.getUriInfo().getPath();
+    return Aggregate.forListPath(path.startsWith("/") ? path.substring(1) : path);
+  }
+
+  /** If-None-Match uses the weak comparison, so a {@code W/} prefix still matches. */
+  static boolean matches(String ifNoneMatch, String etag) {
+    if (ifNoneMatch == null) {
+      return false;
+    }
+    for (String candidate : ifNoneMatch.split(",")) {
+      String tag = candidate.trim();
+      if (tag.equals("*") || (tag.startsWith("W/") ? tag.substring(2) : tag).equals(etag)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static Response.ResponseBuilder tagged(Response.ResponseBuilder response, String etag) {
+    return response
+        .header(HttpHeaders.ETAG, etag)
+        .header(HttpHeaders.CACHE_CONTROL, "no-cache")
+        .header(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+  }
+}
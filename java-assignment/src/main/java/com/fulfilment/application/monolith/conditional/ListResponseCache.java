@@ -0,0 +1,32 @@
+package com.fulfilment.application.monolith.conditional;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The last serialized list response per aggregate, valid while its change counter is unchanged.
+ * Replica and primary reads are kept apart, so caching doesn't change where a client reads from,
+ * and so are the media types a list is negotiated in.
+ */
+@ApplicationScoped
+public class ListResponseCache {
+
+  record Entry(long version, String mediaType, byte[] body) {}
+
+  private record Key(Aggregate aggregate, boolean replica, String mediaType) {}
+
+  private final Map<Key, Entry> entries = new HashMap<>();
+
+  synchronized Entry find(Aggregate aggregate, boolean replica, String mediaType, long version) {
+    Entry entry = entries.get(new Key(aggregate, replica, mediaType));
+    return entry != null && entry.version() == version ? entry : null;
+  }
+
+  /** Keeps the newest version only; a slow request can't replace a fresher entry. */
+  synchronized void put(Aggregate aggregate, boolean replica, Entry entry) {
+    entries.merge(
+        new Key(aggregate, replica, entry.mediaType()),
+        entry, (current, fresh) -> current.version() > fresh.version() ? current : fresh);
+  }
+}
@@ -0,0 +1,8 @@
+package com.fulfilment.application.monolith.costs;
+
+public enum CostCategory {
+  LABOR,
+  TRANSPORT,
+  INVENTORY,
+  OVERHEAD
+}
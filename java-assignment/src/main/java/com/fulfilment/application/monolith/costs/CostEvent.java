@@ -0,0 +1,58 @@
+package com.fulfilment.application.monolith.costs;
+
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A cost incurred by a warehouse (BU code), a store or a product, or a shared cost when none of
+ * them is set. The driver quantities (units, order lines, labor minutes) are the bases shared costs
+ * get allocated on. Rows are written by {@link CostEventWriter} with plain JDBC; the mapping is used
+ * for the schema and for reads.
+ */
+@Entity
+@Table(name = "cost_event", indexes = @Index(name = "cost_event_occurred_idx", columnList = "occurredAt"))
+public class CostEvent extends PanacheEntityBase {
+
+  // Producer supplied, a re-sent event with the same key is ignored
+  @Id
+  @Column(length = CostEventRequest.MAX_KEY_LENGTH)
+  public String dedupeKey;
+
+  @Enumerated(EnumType.STRING)
+  @Column(length = 16, nullable = false)
+  public CostCategory category;
+
+  @Column(precision = CostEventRequest.AMOUNT_PRECISION, scale = 2, nullable = false)
+  public BigDecimal amount;
+
+  @Column(length = 3, nullable = false)
+  public String currency;
+
+  @Column(length = CostEventRequest.MAX_WAREHOUSE_CODE_LENGTH)
+  public String warehouseCode;
+
+  public Long storeId;
+
+  public Long productId;
+
+  public int units;
+
+  public int orderLines;
+
+  public int laborMinutes;
+
+  @Column(nullable = false)
+  public LocalDateTime occurredAt;
+
+  public LocalDateTime receivedAt;
+
+  public CostEvent() {}
+}
@@ -0,0 +1,175 @@
+package com.fulfilment.application.monolith.costs;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import java.sql.SQLException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+/**
+ * Bounded queue between the ingestion endpoint and the database. A few writer threads drain it in
+ * batches of up to {@code cost-ingest.batch-size} events; when the queue stays full producers are
+ * told to back off instead of the heap growing. A batch that fails on its data is split until the
+ * offending events are isolated, so only those are dropped.
+ */
+@ApplicationScoped
+public class CostEventIngestor {
+
+  private static final Logger LOGGER = Logger.getLogger(CostEventIngestor.class.getName());
+  private static final int MAX_ATTEMPTS = 3;
+
+  @Inject CostEventWriter writer;
+  @Inject MeterRegistry registry;
+
+  @ConfigProperty(name = "cost-ingest.queue-capacity", defaultValue = "100000")
+  int queueCapacity;
+
+  @ConfigProperty(name = "cost-ingest.batch-size", defaultValue = "1000")
+  int batchSize;
+
+  @ConfigProperty(name = "cost-ingest.writers", defaultValue = "2")
+  int writerCount;
+
+  @ConfigProperty(name = "cost-ingest.offer-timeout", defaultValue = "200ms")
+  Duration offerTimeout;
+
+  private BlockingQueue<CostEventRequest> queue;
+  private final List<Thread> writers = new ArrayList<>();
+  private volatile boolean running;
+
+  // enqueued - processed = events queued or in a batch being written
+  private final AtomicLong enqueued = new AtomicLong();
+  private final AtomicLong processed = new AtomicLong();
+
+  private Counter written;
+  private Counter failed;
+
+  void onStart(@Observes StartupEvent event) {
+    queue = new ArrayBlockingQueue<>(queueCapacity);
+    written = registry.counter("costs.ingest.written");
+    failed = registry.counter("costs.ingest.failed");
+    Gauge.builder("costs.ingest.queued", queue, BlockingQueue::size).register(registry);
+
+    running = true;
+    for (int i = 0; i < writerCount; i++) {
+      Thread thread = new Thread(this::drain, "cost-ingest-writer-" + i);
+      thread.setDaemon(true);
+      thread.start();
+      writers.add(thread);
+    }
+  }
+
+  void onStop(@Observes ShutdownEvent event) throws InterruptedException {
+    running = false;
+    for (Thread thread : writers) {
+      thread.join(TimeUnit.SECONDS.toMillis(10));
+    }
+  }
+
+  /** Queues the event; {@code false} if the queue stayed full for the offer timeout. */
+  public boolean offer(CostEventRequest event) throws InterruptedException {
+    if (!queue.offer(event, offerTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+      return false;
+    }
+    enqueued.incrementAndGet();
+    return true;
+  }
+
+  /** Waits until everything queued before the call has been written (or given up on). */
+  public boolean flush(Duration timeout) throws InterruptedException {
+    long target = enqueued.get();
+    long deadline = System.nanoTime() + timeout.toNanos();
+    while (processed.get() < target) {
+      if (System.nanoTime() > deadline) {
+        return false;
+      }
+      Thread.sleep(5);
+    }
+    return true;
+  }
+
+  private void drain() {
+    List<CostEventRequest> batch = new ArrayList<>(batchSize);
+    // Keep going after shutdown was requested until the queue is empty
+    while (running || !queue.isEmpty()) {
+      try {
+        CostEventRequest first = queue.poll(100, TimeUnit.MILLISECONDS);
+        if (first == null) {
+          continue;
+        }
+        batch.add(first);
+        queue.drainTo(batch, batchSize - 1);
+        write(batch);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } finally {
+        processed.addAndGet(batch.size());
+        batch.clear();
+      }
+    }
+  }
+
+  private void write(List<CostEventRequest> batch) throws InterruptedException {
+    for (int attempt = 1; ; attempt++) {
+      try {
+        writer.write(batch, LocalDateTime.now());
+        written.increment(batch.size());
+        return;
+      } catch (SQLException e) {
+        if (!isTransient(e)) {
+          split(batch, e);
+          return;
+        }
+        if (attempt == MAX_ATTEMPTS) {
+          failed.increment(batch.size());
+          LOGGER.errorf(e, "Dropped %d cost events after %d attempts", batch.size(), attempt);
+          return;
+        }
+        LOGGER.warnf("Writing %d cost events failed (attempt %d), retrying: %s", batch.size(), attempt, e.getMessage());
+        Thread.sleep(200L * attempt);
+      }
+    }
+  }
+
+  // One bad event fails the whole batch; halving it isolates the bad ones in a few batches each
+  private void split(List<CostEventRequest> batch, SQLException cause) throws InterruptedException {
+    if (batch.size() == 1) {
+      failed.increment();
+      LOGGER.errorf("Dropped cost event %s: %s", batch.get(0).dedupeKey(), cause.getMessage());
+      return;
+    }
+    int half = batch.size() / 2;
+    write(batch.subList(0, half));
+    write(batch.subList(half, batch.size()));
+  }
+
+  /** Connection, serialization and resource errors may go away on a retry, data errors won't. */
+  static boolean isTransient(SQLException e) {
+    if (e instanceof SQLTransientException || e instanceof SQLRecoverableException) {
+      return true;
+    }
+    String state = e.getSQLState();
+    return state == null
+        || state.startsWith("08")
+        || state.startsWith("40")
+        || state.startsWith("53")
+        || state.startsWith("57");
+  }
+}
@@ -0,0 +1,64 @@
+package com.fulfilment.application.monolith.costs;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/** One line of the NDJSON ingestion body. */
+public record CostEventRequest(
+    String dedupeKey,
+    CostCategory category,
+    BigDecimal amount,
+    String currency,
+    String warehouseCode,
+    Long storeId,
+    Long productId,
+    Integer units,
+    Integer orderLines,
+    Integer laborMinutes,
+    LocalDateTime occurredAt) {
+
+  public static final int MAX_KEY_LENGTH = 128;
+  public static final int MAX_WAREHOUSE_CODE_LENGTH = 255;
+  // Digits of the amount column, two of them after the decimal point
+  public static final int AMOUNT_PRECISION = 14;
+  public static final String DEFAULT_CURRENCY = "EUR";
+
+  /** Returns the reason the event can't be accepted, or {@code null} if it is valid. */
+  String validate() {
+    if (dedupeKey == null || dedupeKey.isBlank()) {
+      return "dedupeKey must be provided.";
+    }
+    if (dedupeKey.length() > MAX_KEY_LENGTH) {
+      return "dedupeKey must be at most " + MAX_KEY_LENGTH + " characters.";
+    }
+    if (category == null) {
+      return "category must be provided.";
+    }
+    if (amount == null) {
+      return "amount must be provided.";
+    }
+    if (amount.stripTrailingZeros().scale() > 2) {
+      return "amount must have at most 2 decimals.";
+    }
+    if (amount.setScale(2).precision() > AMOUNT_PRECISION) {
+      return "amount must have at most " + (AMOUNT_PRECISION - 2) + " digits before the decimal point.";
+    }
+    if (currency != null && currency.length() != 3) {
+      return "currency must be an ISO 4217 code.";
+    }
+    if (warehouseCode != null && warehouseCode.length() > MAX_WAREHOUSE_CODE_LENGTH) {
+      return "warehouseCode must be at most " + MAX_WAREHOUSE_CODE_LENGTH + " characters.";
+    }
+    if (occurredAt == null) {
+      return "occurredAt must be provided.";
+    }
+    if (negative(units) || negative(orderLines) || negative(laborMinutes)) {
+      return "units, orderLines and laborMinutes must not be negative.";
+    }
+    return null;
+  }
+
+  private static boolean negative(Integer value) {
+    return value != null && value < 0;
+  }
+}
@@ -0,0 +1,93 @@
+package com.fulfilment.application.monolith.costs;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.Response;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+@Path("costs/events")
+@ApplicationScoped
+@Produces("application/json")
+public class CostEventResource {
+
+  public static final String NDJSON = "application/x-ndjson";
+
+  private static final int MAX_REPORTED_ERRORS = 100;
+
+  @Inject CostEventIngestor ingestor;
+
+  @ConfigProperty(name = "cost-ingest.retry-after", defaultValue = "1")
+  int retryAfterSeconds;
+
+  private final ObjectReader reader;
+
+  @Inject
+  public CostEventResource(ObjectMapper objectMapper) {
+    this.reader = objectMapper.readerFor(CostEventRequest.class);
+  }
+
+  /**
+   * Accepts one JSON cost event per line. Invalid lines are reported and skipped, the rest is
+   * queued for writing (202). If the queue stays full the request ends with 503 and Retry-After;
+   * the whole body can be re-sent since known dedupe keys are ignored.
+   */
+  @POST
+  @Consumes(NDJSON)
+  public Response ingest(InputStream body) throws IOException, InterruptedException {
+    int accepted = 0;
+    int rejected = 0;
+    List<IngestResult.LineError> errors = new ArrayList<>();
+
+    try (BufferedReader lines = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+      int lineNumber = 0;
+      String line;
+      while ((line = lines.readLine()) != null) {
+        lineNumber++;
+        if (line.isBlank()) {
+          continue;
+        }
+
+        String error;
+        CostEventRequest event = null;
+        try {
+          event = reader.readValue(line);
+          error = event == null ? "empty event" : event.validate();
+        } catch (JsonProcessingException e) {
+          error = "invalid JSON: " + e.getOriginalMessage();
+        }
+
+        if (error != null) {
+          rejected++;
+          if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new IngestResult.LineError(lineNumber, error));
+          }
+          continue;
+        }
+
+        if (!ingestor.offer(event)) {
+          return Response.status(503)
+              .header("Retry-After", retryAfterSeconds)
+              .entity(new IngestResult(accepted, rejected, errors))
+              .build();
+        }
+        accepted++;
+      }
+    }
+
+    return Response.accepted(new IngestResult(accepted, rejected, errors)).build();
+  }
+}
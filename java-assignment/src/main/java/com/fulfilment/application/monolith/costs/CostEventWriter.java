@@ -0,0 +1,61 @@
+package com.fulfilment.application.monolith.costs;
+
+import io.agroal.api.AgroalDataSource;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/** Bulk insert of cost events in one JDBC batch and transaction, skipping known dedupe keys. */
+@ApplicationScoped
+public class CostEventWriter {
+
+  static final String INSERT =
+      "INSERT INTO cost_event (dedupeKey, category, amount, currency, warehouseCode, storeId, productId,"
+          + " units, orderLines, laborMinutes, occurredAt, receivedAt)"
+          + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) ON CONFLICT DO NOTHING";
+
+  @Inject AgroalDataSource dataSource;
+
+  public void write(List<CostEventRequest> events, LocalDateTime receivedAt) throws SQLException {
+    try (Connection connection = dataSource.getConnection()) {
+      connection.setAutoCommit(false);
+      try (PreparedStatement insert = connection.prepareStatement(INSERT)) {
+        Timestamp received = Timestamp.valueOf(receivedAt);
+        for (CostEventRequest event : events) {
+          insert.setString(1, event.dedupeKey());
+          insert.setString(2, event.category().name());
+          insert.setBigDecimal(3, event.amount());
+          insert.setString(4, event.currency() == null ? CostEventRequest.DEFAULT_CURRENCY : event.currency());
+          insert.setString(5, event.warehouseCode());
+          setLong(insert, 6, event.storeId());
+          setLong(insert, 7, event.productId());
+          insert.setInt(8, event.units() == null ? 0 : event.units());
+          insert.setInt(9, event.orderLines() == null ? 0 : event.orderLines());
+          insert.setInt(10, event.laborMinutes() == null ? 0 : event.laborMinutes());
+          insert.setTimestamp(11, Timestamp.valueOf(event.occurredAt()));
+          insert.setTimestamp(12, received);
+          insert.addBatch();
+        }
+        insert.executeBatch();
+        connection.commit();
+      } catch (SQLException e) {
+        connection.rollback();
+        throw e;
+      }
+    }
+  }
+
+  private static void setLong(PreparedStatement statement, int index, Long value) throws SQLException {
+    if (value == null) {
+      statement.setNull(index, Types.BIGINT);
+    } else {
+      statement.setLong(index, value);
+    }
+  }
+}
@@ -0,0 +1,12 @@
+package com.fulfilment.application.monolith.costs;
+
+import java.util.List;
+
+/**
+ * Outcome of one ingestion request. Accepted events are queued, not yet written; duplicates are
+ * dropped when written, so re-sending a whole batch after an error is safe.
+ */
+public record IngestResult(int accepted, int rejected, List<LineError> errors) {
+
+  public record LineError(int line, String error) {}
+}
@@ -0,0 +1,8 @@
+package com.fulfilment.application.monolith.costs.allocation;
+
+/** Driver a shared cost is split by, taken from the cost events of the same category. */
+public enum AllocationBasis {
+  UNITS,
+  ORDER_LINES,
+  LABOR_MINUTES
+}
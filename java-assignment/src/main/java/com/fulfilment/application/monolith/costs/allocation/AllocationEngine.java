@@ -0,0 +1,194 @@
+package com.fulfilment.application.monolith.costs.allocation;
+
+import com.fulfilment.application.monolith.costs.CostCategory;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Allocates the pooled (shared) costs of a category to cost centers. One fork-join pass over the
+ * columns sums, per cost center, the driver and the direct costs into a {@code long[]}; the pool is
+ * then split proportionally to the drivers with the largest remainder method, so the allocated
+ * cents always add up to the pool exactly.
+ */
+final class AllocationEngine {
+
+  // Below this many events a task sums sequentially
+  static final int THRESHOLD = 16_384;
+
+  private final ForkJoinPool pool;
+
+  AllocationEngine(ForkJoinPool pool) {
+    this.pool = pool;
+  }
+
+  /**
+   * @param costCenters cost center keys by index
+   * @param drivers driver quantity per cost center
+   * @param direct costs booked on the cost center itself, in cents
+   * @param allocated share of the pool, in cents
+   * @param unallocatedCents pool that could not be allocated because no center reported a driver
+   */
+  record Allocation(
+      List<String> costCenters,
+      long[] drivers,
+      long[] direct,
+      long[] allocated,
+      long pooledCents,
+      long unallocatedCents) {
+
+    long directCents() {
+      long total = 0;
+      for (long cents : direct) {
+        total += cents;
+      }
+      return total;
+    }
+  }
+
+  Allocation allocate(CostColumns columns, CostCategory category, AllocationBasis basis, AllocationTarget target) {
+    List<String> costCenters = columns.costCenterKeys(target);
+    int centers = costCenters.size();
+
+    long[] sums =
+        pool.invoke(
+            new SumTask(
+                columns,
+                (byte) category.ordinal(),
+                columns.costCenters(target),
+                columns.driver(basis),
+                centers,
+                0,
+                columns.size));
+
+    long[] drivers = new long[centers];
+    long[] direct = new long[centers];
+    System.arraycopy(sums, 0, drivers, 0, centers);
+    System.arraycopy(sums, centers, direct, 0, centers);
+    long pooled = sums[2 * centers];
+
+    long[] allocated = largestRemainder(pooled, drivers);
+    long unallocated = allocated == null ? pooled : 0;
+    return new Allocation(
+        costCenters, drivers, direct, allocated == null ? new long[centers] : allocated, pooled, unallocated);
+  }
+
+  /** Splits {@code amount} proportionally to {@code weights}; {@code null} if all weights are 0. */
+  static long[] largestRemainder(long amount, long[] weights) {
+    long totalWeight = 0;
+    for (long weight : weights) {
+      totalWeight += weight;
+    }
+    if (totalWeight == 0) {
+      return null;
+    }
+
+    // Credits are split like charges, then negated
+    long magnitude = Math.abs(amount);
+    long[] shares = new long[weights.length];
+    long[] remainders = new long[weights.length];
+    long distributed = 0;
+    for (int i = 0; i < weights.length; i++) {
+      long[] quotient = divide(magnitude, weights[i], totalWeight);
+      shares[i] = quotient[0];
+      remainders[i] = quotient[1];
+      distributed += quotient[0];
+    }
+
+    // Hand out the leftover cents (fewer than the number of centers) to the largest remainders,
+    // lowest index first on ties
+    long left = magnitude - distributed;
+    if (left > 0) {
+      Integer[] order = new Integer[weights.length];
+      for (int i = 0; i < order.length; i++) {
+        order[i] = i;
+      }
+      Arrays.sort(order, (a, b) -> Long.compare(remainders[b], remainders[a]));
+      for (int i = 0; i < left; i++) {
+        shares[order[i]]++;
+      }
+    }
+
+    if (amount < 0) {
+      for (int i = 0; i < shares.length; i++) {
+        shares[i] = -shares[i];
+      }
+    }
+    return shares;
+  }
+
+  // {floor(amount * weight / total), remainder} without overflowing on large amounts and weights
+  private static long[] divide(long amount, long weight, long total) {
+    long high = Math.multiplyHigh(amount, weight);
+    long product = amount * weight;
+    if (high == 0 && product >= 0) {
+      return new long[] {product / total, product % total};
+    }
+    BigInteger[] result =
+        BigInteger.valueOf(amount).multiply(BigInteger.valueOf(weight)).divideAndRemainder(BigInteger.valueOf(total));
+    return new long[] {result[0].longValueExact(), result[1].longValueExact()};
+  }
+
+  /**
+   * Sums over [from, to): drivers per center at [0, centers), direct cents per center at [centers,
+   * 2 * centers) and the pool at [2 * centers].
+   */
+  private static final class SumTask extends RecursiveTask<long[]> {
+
+    private final CostColumns columns;
+    private final byte category;
+    private final int[] costCenters;
+    private final int[] driver;
+    private final int centers;
+    private final int from;
+    private final int to;
+
+    SumTask(CostColumns columns, byte category, int[] costCenters, int[] driver, int centers, int from, int to) {
+      this.columns = columns;
+      this.category = category;
+      this.costCenters = costCenters;
+      this.driver = driver;
+      this.centers = centers;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected long[] compute() {
+      if (to - from <= THRESHOLD) {
+        return sum();
+      }
+      int middle = (from + to) >>> 1;
+      SumTask left = new SumTask(columns, category, costCenters, driver, centers, from, middle);
+      SumTask right = new SumTask(columns, category, costCenters, driver, centers, middle, to);
+      left.fork();
+      long[] sums = right.compute();
+      long[] other = left.join();
+      for (int i = 0; i < sums.length; i++) {
+        sums[i] += other[i];
+      }
+      return sums;
+    }
+
+    private long[] sum() {
+      long[] sums = new long[2 * centers + 1];
+      byte[] categories = columns.category;
+      long[] amounts = columns.amountCents;
+      for (int i = from; i < to; i++) {
+        if (categories[i] != category) {
+          continue;
+        }
+        int center = costCenters[i];
+        if (center < 0) {
+          sums[2 * centers] += amounts[i];
+        } else {
+          sums[center] += driver[i];
+          sums[centers + center] += amounts[i];
+        }
+      }
+      return sums;
+    }
+  }
+}
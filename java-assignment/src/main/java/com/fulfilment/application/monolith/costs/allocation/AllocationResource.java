@@ -0,0 +1,99 @@
+package com.fulfilment.application.monolith.costs.allocation;
+
+import com.fulfilment.application.monolith.costs.CostCategory;
+import com.fulfilment.application.monolith.errors.RequestRejectedException;
+import com.fulfilment.application.monolith.errors.ValidationResult;
+import io.quarkus.panache.common.Sort;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Response;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+@Path("costs")
+@ApplicationScoped
+@Produces("application/json")
+@Consumes("application/json")
+public class AllocationResource {
+
+  @Inject AllocationService allocationService;
+
+  public record RuleRequest(CostCategory category, AllocationBasis basis, AllocationTarget target, String account) {}
+
+  @GET
+  @Path("allocation-rules")
+  public List<AllocationRule> rules(@QueryParam("version") Integer version) {
+    Integer selected = version != null ? version : AllocationRule.latestVersion();
+    return selected == null ? List.of() : AllocationRule.list("version", Sort.by("id"), selected);
+  }
+
+  /** Stores the given rules as a new version; earlier versions stay available for reruns. */
+  @POST
+  @Path("allocation-rules")
+  @Transactional
+  public Response createVersion(List<RuleRequest> requests) {
+    if (requests == null || requests.isEmpty()) {
+      throw new RequestRejectedException(422, "At least one allocation rule must be provided.");
+    }
+    Integer latest = AllocationRule.latestVersion();
+    int version = latest == null ? 1 : latest + 1;
+    LocalDateTime now = LocalDateTime.now();
+
+    var validation = new ValidationResult();
+    for (int i = 0; i < requests.size(); i++) {
+      RuleRequest request = requests.get(i);
+      String prefix = "[" + i + "].";
+      validation
+          .require(request.category() != null, prefix + "category", "Rule " + i + ": category must be provided.")
+          .require(request.basis() != null, prefix + "basis", "Rule " + i + ": basis must be provided.")
+          .require(request.target() != null, prefix + "target", "Rule " + i + ": target must be provided.")
+          .require(
+              request.account() != null && !request.account().isBlank(),
+              prefix + "account",
+              "Rule " + i + ": account must be provided.");
+    }
+    validation.throwIfInvalid(422);
+
+    List<AllocationRule> rules = new ArrayList<>(requests.size());
+    for (RuleRequest request : requests) {
+      var rule = new AllocationRule();
+      rule.version = version;
+      rule.category = request.category();
+      rule.basis = request.basis();
+      rule.target = request.target();
+      rule.account = request.account().trim();
+      rule.createdAt = now;
+      rule.persist();
+      rules.add(rule);
+    }
+    return Response.ok(rules).status(201).build();
+  }
+
+  @POST
+  @Path("allocations")
+  public AllocationSummary allocate(
+      @QueryParam("from") String from, @QueryParam("to") String to, @QueryParam("version") Integer version) {
+    return allocationService.run(parseDate("from", from), parseDate("to", to), version);
+  }
+
+  private static LocalDate parseDate(String name, String value) {
+    if (value == null || value.isBlank()) {
+      throw new RequestRejectedException(400, name + " must be provided.");
+    }
+    try {
+      return LocalDate.parse(value.trim());
+    } catch (DateTimeParseException e) {
+      throw new RequestRejectedException(400, "Invalid " + name + ": " + value + ", expected an ISO date.");
+    }
+  }
+}
@@ -0,0 +1,70 @@
+package com.fulfilment.application.monolith.costs.allocation;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Cost of one cost center under one rule for a period: its own (direct) costs plus its share of the
+ * pool, in cents. Written in bulk by {@link AllocationService}; mapped for the schema and reads.
+ */
+@Entity
+@IdClass(AllocationResult.Key.class)
+@Table(name = "allocation_result", indexes = @Index(columnList = "periodFrom, periodTo, account"))
+public class AllocationResult {
+
+  @Id public LocalDate periodFrom;
+
+  @Id public LocalDate periodTo;
+
+  @Id public Long ruleId;
+
+  @Id
+  @Column(length = 64)
+  public String costCenter;
+
+  @Enumerated(EnumType.STRING)
+  @Column(length = 16, nullable = false)
+  public AllocationTarget target;
+
+  @Column(length = 32, nullable = false)
+  public String account;
+
+  public long driverQuantity;
+
+  public long directCents;
+
+  public long allocatedCents;
+
+  public AllocationResult() {}
+
+  public static class Key implements Serializable {
+
+    public LocalDate periodFrom;
+    public LocalDate periodTo;
+    public Long ruleId;
+    public String costCenter;
+
+    @Override
+    public boolean equals(Object other) {
+      return other instanceof Key key
+          && Objects.equals(periodFrom, key.periodFrom)
+          && Objects.equals(periodTo, key.periodTo)
+          && Objects.equals(ruleId, key.ruleId)
+          && Objects.equals(costCenter, key.costCenter);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(periodFrom, periodTo, ruleId, costCenter);
+    }
+  }
+}
@@ -0,0 +1,63 @@
+package com.fulfilment.application.monolith.costs.allocation;
+
+import com.fulfilment.application.monolith.costs.CostCategory;
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * Allocates the shared costs of one category (events without a cost center of the target type) to
+ * the target cost centers, proportional to the basis driver those centers reported on events of the
+ * same category. Rules are immutable; a changed rule set is stored as a new version.
+ */
+@Entity
+@Table(name = "allocation_rule", indexes = @Index(columnList = "version"))
+public class AllocationRule extends PanacheEntityBase {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "allocation_rule_seq")
+  @SequenceGenerator(name = "allocation_rule_seq", sequenceName = "allocation_rule_seq", allocationSize = 50)
+  public Long id;
+
+  public int version;
+
+  @Enumerated(EnumType.STRING)
+  @Column(length = 16, nullable = false)
+  public CostCategory category;
+
+  @Enumerated(EnumType.STRING)
+  @Column(length = 16, nullable = false)
+  public AllocationBasis basis;
+
+  @Enumerated(EnumType.STRING)
+  @Column(length = 16, nullable = false)
+  public AllocationTarget target;
+
+  // General ledger account the allocated amounts are booked on
+  @Column(length = 32, nullable = false)
+  public String account;
+
+  public LocalDateTime createdAt;
+
+  public AllocationRule() {}
+
+  public static Integer latestVersion() {
+    return getEntityManager()
+        .createQuery("select max(r.version) from AllocationRule r", Integer.class)
+        .getSingleResult();
+  }
+
+  /** Stable description of what the rule computes, part of the rerun fingerprint. */
+  String definition() {
+    return id + ":" + category + ":" + basis + ":" + target + ":" + account;
+  }
+}
@@ -0,0 +1,50 @@
+package com.fulfilment.application.monolith.costs.allocation;
+
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Last computation of one rule over one period. A rerun skips the rule when the fingerprint of its
+ * definition and input events is unchanged, and reports these totals instead.
+ */
+@Entity
+@Table(
+    name = "allocation_run",
+    uniqueConstraints = @UniqueConstraint(columnNames = {"periodFrom", "periodTo", "ruleId"}))
+public class AllocationRun extends PanacheEntityBase {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "allocation_run_seq")
+  @SequenceGenerator(name = "allocation_run_seq", sequenceName = "allocation_run_seq", allocationSize = 50)
+  public Long id;
+
+  public LocalDate periodFrom;
+
+  public LocalDate periodTo;
+
+  public Long ruleId;
+
+  @Column(length = 64, nullable = false)
+  public String fingerprint;
+
+  public int costCenters;
+
+  public long pooledCents;
+
+  public long directCents;
+
+  public long unallocatedCents;
+
+  public LocalDateTime computedAt;
+
+  public AllocationRun() {}
+}
@@ -0,0 +1,276 @@
+package com.fulfilment.application.monolith.costs.allocation;
+
+import com.fulfilment.application.monolith.costs.CostCategory;
+import com.fulfilment.application.monolith.errors.RequestRejectedException;
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.panache.common.Sort;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+/**
+ * Runs a version of the allocation rules over the cost events of a period [from, to). Each rule's
+ * inputs are the period's events of its category; a rule whose definition and input checksum match
+ * its last run for the period is not recomputed, so reruns after late events only redo the affected
+ * categories. Results replace the rule's previous results in one JDBC batch.
+ */
+@ApplicationScoped
+public class AllocationService {
+
+  private static final Logger LOGGER = Logger.getLogger(AllocationService.class.getName());
+
+  private static final String SELECT_EVENTS =
+      "SELECT category, amount, warehouseCode, storeId, productId, units, orderLines, laborMinutes"
+          + " FROM cost_event WHERE occurredAt >= ? AND occurredAt < ? AND category IN (%s)";
+  private static final String DELETE_RESULTS =
+      "DELETE FROM allocation_result WHERE periodFrom = ? AND periodTo = ? AND ruleId = ?";
+  private static final String INSERT_RESULT =
+      "INSERT INTO allocation_result (periodFrom, periodTo, ruleId, costCenter, target, account,"
+          + " driverQuantity, directCents, allocatedCents) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+  @Inject AgroalDataSource dataSource;
+
+  private final ForkJoinPool pool;
+  private final AllocationEngine engine;
+
+  public AllocationService(
+      @ConfigProperty(name = "cost-allocation.parallelism", defaultValue = "0") int parallelism) {
+    this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    this.engine = new AllocationEngine(pool);
+  }
+
+  @PreDestroy
+  void shutdown() {
+    pool.shutdown();
+  }
+
+  @Transactional
+  public AllocationSummary run(LocalDate from, LocalDate to, Integer requestedVersion) {
+    if (from == null || to == null || !from.isBefore(to)) {
+      throw new RequestRejectedException(400, "from and to must be dates with from before to.");
+    }
+    Integer version = requestedVersion != null ? requestedVersion : AllocationRule.latestVersion();
+    List<AllocationRule> rules =
+        version == null ? List.of() : AllocationRule.list("version", Sort.by("id"), version);
+    if (rules.isEmpty()) {
+      throw new RequestRejectedException(404, "No allocation rules found for version " + version + ".");
+    }
+
+    Map<Long, AllocationRun> previousRuns =
+        AllocationRun.<AllocationRun>list("periodFrom = ?1 and periodTo = ?2", from, to).stream()
+            .collect(Collectors.toMap(run -> run.ruleId, Function.identity()));
+    Map<CostCategory, String> checksums = inputChecksums(from, to);
+
+    try (Connection connection = dataSource.getConnection()) {
+      // Results of rules that are not part of this version no longer apply to the period
+      Set<Long> ruleIds = rules.stream().map(rule -> rule.id).collect(Collectors.toSet());
+      for (AllocationRun stale : previousRuns.values()) {
+        if (!ruleIds.contains(stale.ruleId)) {
+          deleteResults(connection, from, to, stale.ruleId);
+          stale.delete();
+        }
+      }
+
+      List<AllocationRule> changed = new ArrayList<>();
+      Map<Long, String> fingerprints = new HashMap<>();
+      for (AllocationRule rule : rules) {
+        String fingerprint = fingerprint(rule, checksums.getOrDefault(rule.category, "empty"));
+        fingerprints.put(rule.id, fingerprint);
+        AllocationRun previous = previousRuns.get(rule.id);
+        if (previous == null || !previous.fingerprint.equals(fingerprint)) {
+          changed.add(rule);
+        }
+      }
+
+      List<AllocationSummary.RuleSummary> summaries = new ArrayList<>();
+      Map<Long, AllocationEngine.Allocation> allocations = new HashMap<>();
+      Map<Long, Integer> written = new HashMap<>();
+      if (!changed.isEmpty()) {
+        Set<CostCategory> categories = EnumSet.noneOf(CostCategory.class);
+        changed.forEach(rule -> categories.add(rule.category));
+        CostColumns columns = load(connection, from, to, categories);
+        for (AllocationRule rule : changed) {
+          AllocationEngine.Allocation allocation =
+              engine.allocate(columns, rule.category, rule.basis, rule.target);
+          written.put(rule.id, writeResults(connection, from, to, rule, allocation));
+          allocations.put(rule.id, allocation);
+        }
+        LOGGER.infof(
+            "Allocated %d of %d rules over %d cost events for %s..%s", changed.size(), rules.size(), columns.size, from, to);
+      }
+
+      for (AllocationRule rule : rules) {
+        AllocationEngine.Allocation allocation = allocations.get(rule.id);
+        AllocationRun run = previousRuns.get(rule.id);
+        if (allocation != null) {
+          run = saveRun(run, from, to, rule, fingerprints.get(rule.id), allocation, written.get(rule.id));
+        }
+        summaries.add(
+            new AllocationSummary.RuleSummary(
+                rule.id, allocation != null, run.costCenters, run.pooledCents, run.directCents, run.unallocatedCents));
+      }
+      return new AllocationSummary(from, to, version, summaries);
+    } catch (SQLException e) {
+      throw new IllegalStateException("Allocation for " + from + ".." + to + " failed", e);
+    }
+  }
+
+  // Cost events are insert-only, so per category count, sums and latest arrival identify the input
+  private static Map<CostCategory, String> inputChecksums(LocalDate from, LocalDate to) {
+    List<Object[]> rows =
+        AllocationRule.getEntityManager()
+            .createQuery(
+                "select e.category, count(e), sum(e.amount), sum(e.units), sum(e.orderLines),"
+                    + " sum(e.laborMinutes), max(e.receivedAt) from CostEvent e"
+                    + " where e.occurredAt >= ?1 and e.occurredAt < ?2 group by e.category",
+                Object[].class)
+            .setParameter(1, from.atStartOfDay())
+            .setParameter(2, to.atStartOfDay())
+            .getResultList();
+    Map<CostCategory, String> checksums = new EnumMap<>(CostCategory.class);
+    for (Object[] row : rows) {
+      StringBuilder checksum = new StringBuilder();
+      for (int i = 1; i < row.length; i++) {
+        checksum.append(row[i]).append('|');
+      }
+      checksums.put((CostCategory) row[0], checksum.toString());
+    }
+    return checksums;
+  }
+
+  private static String fingerprint(AllocationRule rule, String inputChecksum) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      digest.update(rule.definition().getBytes(StandardCharsets.UTF_8));
+      digest.update((byte) 0);
+      digest.update(inputChecksum.getBytes(StandardCharsets.UTF_8));
+      return HexFormat.of().formatHex(digest.digest());
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static CostColumns load(Connection connection, LocalDate from, LocalDate to, Set<CostCategory> categories)
+      throws SQLException {
+    String placeholders = categories.stream().map(category -> "?").collect(Collectors.joining(", "));
+    try (PreparedStatement select = connection.prepareStatement(String.format(SELECT_EVENTS, placeholders))) {
+      select.setFetchSize(10_000);
+      select.setTimestamp(1, Timestamp.valueOf(from.atStartOfDay()));
+      select.setTimestamp(2, Timestamp.valueOf(to.atStartOfDay()));
+      int index = 3;
+      for (CostCategory category : categories) {
+        select.setString(index++, category.name());
+      }
+
+      CostColumns columns = new CostColumns(1 << 16);
+      try (ResultSet rs = select.executeQuery()) {
+        while (rs.next()) {
+          columns.add(
+              CostCategory.valueOf(rs.getString(1)),
+              rs.getBigDecimal(2).movePointRight(2).longValueExact(),
+              rs.getString(3),
+              rs.getObject(4, Long.class),
+              rs.getObject(5, Long.class),
+              rs.getInt(6),
+              rs.getInt(7),
+              rs.getInt(8));
+        }
+      }
+      return columns;
+    }
+  }
+
+  private static void deleteResults(Connection connection, LocalDate from, LocalDate to, long ruleId)
+      throws SQLException {
+    try (PreparedStatement delete = connection.prepareStatement(DELETE_RESULTS)) {
+      delete.setDate(1, Date.valueOf(from));
+      delete.setDate(2, Date.valueOf(to));
+      delete.setLong(3, ruleId);
+      delete.executeUpdate();
+    }
+  }
+
+  /** Replaces the rule's results for the period; returns the number of cost centers written. */
+  private static int writeResults(
+      Connection connection, LocalDate from, LocalDate to, AllocationRule rule, AllocationEngine.Allocation allocation)
+      throws SQLException {
+    deleteResults(connection, from, to, rule.id);
+    try (PreparedStatement insert = connection.prepareStatement(INSERT_RESULT)) {
+      int rows = 0;
+      int pending = 0;
+      for (int i = 0; i < allocation.costCenters().size(); i++) {
+        if (allocation.direct()[i] == 0 && allocation.allocated()[i] == 0) {
+          continue;
+        }
+        insert.setDate(1, Date.valueOf(from));
+        insert.setDate(2, Date.valueOf(to));
+        insert.setLong(3, rule.id);
+        insert.setString(4, allocation.costCenters().get(i));
+        insert.setString(5, rule.target.name());
+        insert.setString(6, rule.account);
+        insert.setLong(7, allocation.drivers()[i]);
+        insert.setLong(8, allocation.direct()[i]);
+        insert.setLong(9, allocation.allocated()[i]);
+        insert.addBatch();
+        rows++;
+        if (++pending == 1000) {
+          insert.executeBatch();
+          pending = 0;
+        }
+      }
+      if (pending > 0) {
+        insert.executeBatch();
+      }
+      return rows;
+    }
+  }
+
+  private static AllocationRun saveRun(
+      AllocationRun run,
+      LocalDate from,
+      LocalDate to,
+      AllocationRule rule,
+      String fingerprint,
+      AllocationEngine.Allocation allocation,
+      int costCenters) {
+    if (run == null) {
+      run = new AllocationRun();
+      run.periodFrom = from;
+      run.periodTo = to;
+      run.ruleId = rule.id;
+    }
+    run.fingerprint = fingerprint;
+    run.costCenters = costCenters;
+    run.pooledCents = allocation.pooledCents();
+    run.directCents = allocation.directCents();
+    run.unallocatedCents = allocation.unallocatedCents();
+    run.computedAt = LocalDateTime.now();
+    run.persist();
+    return run;
+  }
+}
@@ -0,0 +1,16 @@
+package com.fulfilment.application.monolith.costs.allocation;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record AllocationSummary(LocalDate from, LocalDate to, int version, List<RuleSummary> rules) {
+
+  /** {@code recomputed} is false when the rule's inputs were unchanged and the last run was kept. */
+  public record RuleSummary(
+      long ruleId,
+      boolean recomputed,
+      int costCenters,
+      long pooledCents,
+      long directCents,
+      long unallocatedCents) {}
+}
@@ -0,0 +1,8 @@
+package com.fulfilment.application.monolith.costs.allocation;
+
+/** Cost center dimension a rule allocates to. */
+public enum AllocationTarget {
+  WAREHOUSE,
+  STORE,
+  PRODUCT
+}
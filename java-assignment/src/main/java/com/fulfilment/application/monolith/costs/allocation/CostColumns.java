@@ -0,0 +1,119 @@
+package com.fulfilment.application.monolith.costs.allocation;
+
+import com.fulfilment.application.monolith.costs.CostCategory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cost events of a period in columnar primitive arrays, so the allocation passes scan flat memory
+ * instead of millions of objects. Cost centers are interned per target type; their columns hold the
+ * index into the dictionary or -1 when the event has no cost center of that type.
+ */
+final class CostColumns {
+
+  private static final int NONE = -1;
+
+  int size;
+  byte[] category;
+  long[] amountCents;
+  int[] warehouse;
+  int[] store;
+  int[] product;
+  int[] units;
+  int[] orderLines;
+  int[] laborMinutes;
+
+  private final Dictionary warehouses = new Dictionary();
+  private final Dictionary stores = new Dictionary();
+  private final Dictionary products = new Dictionary();
+
+  CostColumns(int initialCapacity) {
+    int capacity = Math.max(16, initialCapacity);
+    category = new byte[capacity];
+    amountCents = new long[capacity];
+    warehouse = new int[capacity];
+    store = new int[capacity];
+    product = new int[capacity];
+    units = new int[capacity];
+    orderLines = new int[capacity];
+    laborMinutes = new int[capacity];
+  }
+
+  void add(
+      CostCategory costCategory,
+      long cents,
+      String warehouseCode,
+      Long storeId,
+      Long productId,
+      int unitCount,
+      int lineCount,
+      int minutes) {
+    if (size == category.length) {
+      grow();
+    }
+    category[size] = (byte) costCategory.ordinal();
+    amountCents[size] = cents;
+    warehouse[size] = warehouseCode == null ? NONE : warehouses.intern(warehouseCode);
+    store[size] = storeId == null ? NONE : stores.intern(storeId.toString());
+    product[size] = productId == null ? NONE : products.intern(productId.toString());
+    units[size] = unitCount;
+    orderLines[size] = lineCount;
+    laborMinutes[size] = minutes;
+    size++;
+  }
+
+  int[] costCenters(AllocationTarget target) {
+    return switch (target) {
+      case WAREHOUSE -> warehouse;
+      case STORE -> store;
+      case PRODUCT -> product;
+    };
+  }
+
+  List<String> costCenterKeys(AllocationTarget target) {
+    return switch (target) {
+      case WAREHOUSE -> warehouses.keys;
+      case STORE -> stores.keys;
+      case PRODUCT -> products.keys;
+    };
+  }
+
+  int[] driver(AllocationBasis basis) {
+    return switch (basis) {
+      case UNITS -> units;
+      case ORDER_LINES -> orderLines;
+      case LABOR_MINUTES -> laborMinutes;
+    };
+  }
+
+  private void grow() {
+    int capacity = category.length * 2;
+    category = Arrays.copyOf(category, capacity);
+    amountCents = Arrays.copyOf(amountCents, capacity);
+    warehouse = Arrays.copyOf(warehouse, capacity);
+    store = Arrays.copyOf(store, capacity);
+    product = Arrays.copyOf(product, capacity);
+    units = Arrays.copyOf(units, capacity);
+    orderLines = Arrays.copyOf(orderLines, capacity);
+    laborMinutes = Arrays.copyOf(laborMinutes, capacity);
+  }
+
+  private static final class Dictionary {
+
+    final Map<String, Integer> index = new HashMap<>();
+    final List<String> keys = new ArrayList<>();
+
+    int intern(String key) {
+      Integer existing = index.get(key);
+      if (existing != null) {
+        return existing;
+      }
+      index.put(key, keys.size());
+      keys.add(key);
+      return keys.size() - 1;
+    }
+  }
+}
@@ -0,0 +1,323 @@
+package com.fulfilment.application.monolith.costs.ledger;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fulfilment.application.monolith.encoding.ApiMediaTypes;
+import com.fulfilment.application.monolith.errors.RequestRejectedException;
+import io.agroal.api.AgroalDataSource;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * General ledger export of a period's allocated costs per account and cost center. The database
+ * does the GROUP BY and rows are written to the response as they are fetched, so the period is
+ * never held in memory. The last line is a trailer with the row count, control totals and the CRC32
+ * of every byte before it, for reconciliation on the receiving side. {@code format} is csv
+ * (default), ndjson, or cbor/smile for service-to-service consumers.
+ */
+@Path("costs/gl-export")
+@ApplicationScoped
+public class LedgerExportResource {
+
+  public static final String CSV = "text/csv";
+  public static final String NDJSON = "application/x-ndjson";
+  // RFC 8742: CBOR data items back to back
+  public static final String CBOR_SEQ = "application/cbor-seq";
+
+  static final String SELECT =
+      "SELECT account, target, costCenter, SUM(directCents), SUM(allocatedCents)"
+          + " FROM allocation_result WHERE periodFrom = ? AND periodTo = ?"
+          + " GROUP BY account, target, costCenter ORDER BY account, target, costCenter";
+
+  // Shared, they are thread-safe once configured
+  private static final JsonFactory CBOR_FACTORY =
+      new CBORFactory().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+  private static final JsonFactory SMILE_FACTORY =
+      new SmileFactory().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+  @Inject AgroalDataSource dataSource;
+
+  @GET
+  public Response export(
+      @QueryParam("from") String from, @QueryParam("to") String to, @QueryParam("format") String format) {
+    LocalDate periodFrom = parseDate("from", from);
+    LocalDate periodTo = parseDate("to", to);
+    Format chosen = Format.parse(format);
+
+    StreamingOutput body = output -> write(output, periodFrom, periodTo, chosen);
+    String filename = "gl-" + periodFrom + "_" + periodTo + "." + chosen.extension;
+    return Response.ok(body, chosen.mediaType)
+        .header("Content-Disposition", "attachment; filename=\"" + filename + "\"")
+        .build();
+  }
+
+  /**
+   * Export formats. The binary ones write the NDJSON objects as a sequence of top-level CBOR or
+   * Smile values, with amounts as exact decimals.
+   */
+  enum Format {
+    CSV(LedgerExportResource.CSV, "csv"),
+    NDJSON(LedgerExportResource.NDJSON, "ndjson"),
+    CBOR(CBOR_SEQ, "cbor"),
+    SMILE(ApiMediaTypes.SMILE, "sml");
+
+    final String mediaType;
+    final String extension;
+
+    Format(String mediaType, String extension) {
+      this.mediaType = mediaType;
+      this.extension = extension;
+    }
+
+    static Format parse(String format) {
+      if (format == null || format.isBlank()) {
+        return CSV;
+      }
+      for (Format candidate : values()) {
+        if (candidate.name().equalsIgnoreCase(format.trim())) {
+          return candidate;
+        }
+      }
+      throw new RequestRejectedException(
+          400, "Invalid format: " + format + ", expected csv, ndjson, cbor or smile.");
+    }
+  }
+
+  private void write(OutputStream output, LocalDate from, LocalDate to, Format format) throws IOException {
+    CRC32 crc = new CRC32();
+    OutputStream checked = new CheckedOutputStream(new BufferedOutputStream(output, 64 * 1024), crc);
+    try (LineWriter writer =
+        switch (format) {
+          case CSV -> new CsvWriter(checked);
+          case NDJSON -> new NdjsonWriter(checked);
+          case CBOR -> new JacksonWriter(CBOR_FACTORY.createGenerator(checked));
+          case SMILE -> new JacksonWriter(SMILE_FACTORY.createGenerator(checked));
+        }) {
+      long rows = 0;
+      long directTotal = 0;
+      long allocatedTotal = 0;
+      writer.header();
+
+      try (Connection connection = dataSource.getConnection()) {
+        // PostgreSQL only streams with a fetch size inside a transaction
+        connection.setAutoCommit(false);
+        try (PreparedStatement select = connection.prepareStatement(SELECT)) {
+          select.setFetchSize(1_000);
+          select.setDate(1, Date.valueOf(from));
+          select.setDate(2, Date.valueOf(to));
+          try (ResultSet rs = select.executeQuery()) {
+            while (rs.next()) {
+              long direct = rs.getLong(4);
+              long allocated = rs.getLong(5);
+              writer.row(rs.getString(1), rs.getString(2), rs.getString(3), direct, allocated);
+              rows++;
+              directTotal += direct;
+              allocatedTotal += allocated;
+            }
+          }
+        } finally {
+          connection.rollback();
+        }
+      } catch (SQLException e) {
+        // Headers are gone already; the missing trailer tells the client the export is incomplete
+        throw new IOException("GL export for " + from + ".." + to + " failed", e);
+      }
+
+      writer.flush();
+      writer.trailer(rows, directTotal, allocatedTotal, String.format("%08x", crc.getValue()));
+    }
+  }
+
+  /**
+   * One export format; {@link #flush} pushes everything written so far into the CRC. Closing flushes
+   * and releases the writer's buffers but leaves the response stream to the container.
+   */
+  private interface LineWriter extends Closeable {
+
+    default void header() throws IOException {}
+
+    void row(String account, String target, String costCenter, long direct, long allocated) throws IOException;
+
+    void trailer(long rows, long direct, long allocated, String checksum) throws IOException;
+
+    void flush() throws IOException;
+
+    @Override
+    default void close() throws IOException {
+      flush();
+    }
+  }
+
+  private static class CsvWriter implements LineWriter {
+
+    private final Writer writer;
+
+    CsvWriter(OutputStream output) {
+      this.writer = new OutputStreamWriter(output, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void header() throws IOException {
+      writer.write("account,costCenterType,costCenter,direct,allocated,total\n");
+    }
+
+    @Override
+    public void row(String account, String target, String costCenter, long direct, long allocated)
+        throws IOException {
+      writer.write(
+          csvField(account) + "," + target + "," + csvField(costCenter) + "," + amount(direct) + ","
+              + amount(allocated) + "," + amount(direct + allocated) + "\n");
+    }
+
+    @Override
+    public void trailer(long rows, long direct, long allocated, String checksum) throws IOException {
+      writer.write(
+          "#trailer,rows=" + rows + ",direct=" + amount(direct) + ",allocated=" + amount(allocated)
+              + ",crc32=" + checksum + "\n");
+    }
+
+    @Override
+    public void flush() throws IOException {
+      writer.flush();
+    }
+  }
+
+  private static class NdjsonWriter implements LineWriter {
+
+    private final Writer writer;
+
+    NdjsonWriter(OutputStream output) {
+      this.writer = new OutputStreamWriter(output, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void row(String account, String target, String costCenter, long direct, long allocated)
+        throws IOException {
+      writer.write(
+          "{\"account\":" + jsonString(account) + ",\"costCenterType\":\"" + target + "\",\"costCenter\":"
+              + jsonString(costCenter) + ",\"direct\":" + amount(direct) + ",\"allocated\":"
+              + amount(allocated) + ",\"total\":" + amount(direct + allocated) + "}\n");
+    }
+
+    @Override
+    public void trailer(long rows, long direct, long allocated, String checksum) throws IOException {
+      writer.write(
+          "{\"trailer\":{\"rows\":" + rows + ",\"direct\":" + amount(direct) + ",\"allocated\":"
+              + amount(allocated) + ",\"crc32\":\"" + checksum + "\"}}\n");
+    }
+
+    @Override
+    public void flush() throws IOException {
+      writer.flush();
+    }
+  }
+
+  private static class JacksonWriter implements LineWriter {
+
+    private final JsonGenerator generator;
+
+    JacksonWriter(JsonGenerator generator) {
+      this.generator = generator;
+    }
+
+    @Override
+    public void row(String account, String target, String costCenter, long direct, long allocated)
+        throws IOException {
+      generator.writeStartObject();
+      generator.writeStringField("account", account);
+      generator.writeStringField("costCenterType", target);
+      generator.writeStringField("costCenter", costCenter);
+      generator.writeNumberField("direct", BigDecimal.valueOf(direct, 2));
+      generator.writeNumberField("allocated", BigDecimal.valueOf(allocated, 2));
+      generator.writeNumberField("total", BigDecimal.valueOf(direct + allocated, 2));
+      generator.writeEndObject();
+    }
+
+    @Override
+    public void trailer(long rows, long direct, long allocated, String checksum) throws IOException {
+      generator.writeStartObject();
+      generator.writeObjectFieldStart("trailer");
+      generator.writeNumberField("rows", rows);
+      generator.writeNumberField("direct", BigDecimal.valueOf(direct, 2));
+      generator.writeNumberField("allocated", BigDecimal.valueOf(allocated, 2));
+      generator.writeStringField("crc32", checksum);
+      generator.writeEndObject();
+      generator.writeEndObject();
+    }
+
+    @Override
+    public void flush() throws IOException {
+      generator.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+      // the factories don't auto-close the target, so this only flushes and recycles the buffers
+      generator.close();
+    }
+  }
+
+  // Cents to a plain decimal without going through BigDecimal per row
+  static String amount(long cents) {
+    long abs = Math.abs(cents);
+    long fraction = abs % 100;
+    return (cents < 0 ? "-" : "") + abs / 100 + (fraction < 10 ? ".0" : ".") + fraction;
+  }
+
+  private static String csvField(String value) {
+    if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+      return value;
+    }
+    return "\"" + value.replace("\"", "\"\"") + "\"";
+  }
+
+  private static String jsonString(String value) {
+    StringBuilder json = new StringBuilder(value.length() + 2).append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '"' || c == '\\') {
+        json.append('\\').append(c);
+      } else if (c < 0x20) {
+        json.append(String.format("\\u%04x", (int) c));
+      } else {
+        json.append(c);
+      }
+    }
+    return json.append('"').toString();
+  }
+
+  private static LocalDate parseDate(String name, String value) {
+    if (value == null || value.isBlank()) {
+      throw new RequestRejectedException(400, name + " must be provided.");
+    }
+    try {
+      return LocalDate.parse(value.trim());
+    } catch (DateTimeParseException e) {
+      throw new RequestRejectedException(400, "Invalid " + name + ": " + value + ", expected an ISO date.");
+    }
+  }
+}
@@ -0,0 +1,244 @@
+package com.fulfilment.application.monolith.datagen;
+
+import com.fulfilment.application.monolith.location.LocationCatalog;
+import com.fulfilment.application.monolith.warehouses.domain.models.Location;
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.interceptor.Interceptor;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+/**
+ * Bulk-loads a synthetic data set at startup ({@code datagen.enabled}, or the {@code datagen}
+ * profile): {@code datagen.locations} generated locations, {@code datagen.business-units} active
+ * warehouses spread over them and {@code datagen.warehouse-rows} warehouse rows in total (the rest
+ * is archived history), plus stores and products. Locations, history depth and store placement
+ * follow a Zipf distribution with exponent {@code datagen.skew}.
+ *
+ * <p>Generation is deterministic for a given configuration and seed, and skipped when the data is
+ * already there, so every node of a cluster can run with the same settings. Generated locations are
+ * derived from the configuration alone and registered in the {@link LocationCatalog} on every node;
+ * their limits leave room for a quarter more warehouses, so capacity checks still have work to do.
+ */
+@ApplicationScoped
+public class DataGenerator {
+
+  private static final Logger LOGGER = Logger.getLogger(DataGenerator.class.getName());
+
+  static final String BUSINESS_UNIT_PREFIX = "GEN.";
+  static final int MAX_WAREHOUSE_CAPACITY = 500;
+
+  private static final String WAREHOUSE_COLUMNS =
+      "id, businessUnitCode, location, capacity, stock, createdAt, archivedAt, version";
+
+  @ConfigProperty(name = "datagen.enabled", defaultValue = "false")
+  boolean enabled;
+
+  @ConfigProperty(name = "datagen.locations", defaultValue = "2000")
+  int locationCount;
+
+  @ConfigProperty(name = "datagen.business-units", defaultValue = "200000")
+  int businessUnits;
+
+  @ConfigProperty(name = "datagen.warehouse-rows", defaultValue = "2000000")
+  int warehouseRows;
+
+  @ConfigProperty(name = "datagen.stores", defaultValue = "20000")
+  int stores;
+
+  @ConfigProperty(name = "datagen.products", defaultValue = "50000")
+  int products;
+
+  @ConfigProperty(name = "datagen.skew", defaultValue = "1.0")
+  double skew;
+
+  @ConfigProperty(name = "datagen.seed", defaultValue = "42")
+  long seed;
+
+  @ConfigProperty(name = "datagen.batch-size", defaultValue = "5000")
+  int batchSize;
+
+  @Inject AgroalDataSource dataSource;
+
+  // Before the utilization and spatial index loaders, so they start from the generated data
+  void onStart(@Observes @Priority(Interceptor.Priority.PLATFORM_BEFORE) StartupEvent event) throws SQLException {
+    if (!enabled) {
+      return;
+    }
+    if (warehouseRows < businessUnits) {
+      throw new IllegalStateException("datagen.warehouse-rows must be at least datagen.business-units");
+    }
+
+    ZipfDistribution locationPopularity = new ZipfDistribution(locationCount, skew);
+    int[] activePerLocation = locationPopularity.apportion(businessUnits);
+    List<Location> locations = locations(activePerLocation, seed);
+    LocationCatalog.registerGenerated(locations);
+
+    try (Connection connection = dataSource.getConnection()) {
+      if (alreadyGenerated(connection)) {
+        LOGGER.infof("Generated data set already present, registered %d generated locations", locations.size());
+        return;
+      }
+      long started = System.nanoTime();
+      Random random = new Random(seed);
+      writeWarehouses(connection, locations, activePerLocation, random);
+      writeStores(connection, locations, locationPopularity, random);
+      writeProducts(connection, random);
+      LOGGER.infof(
+          "Generated %d warehouse rows (%d active) over %d locations, %d stores and %d products in %d ms",
+          warehouseRows,
+          businessUnits,
+          locations.size(),
+          stores,
+          products,
+          (System.nanoTime() - started) / 1_000_000);
+    }
+  }
+
+  /** Location limits follow from the active warehouses assigned to them, plus 25% headroom. */
+  static List<Location> locations(int[] activePerLocation, long seed) {
+    Random random = new Random(seed);
+    List<Location> locations = new ArrayList<>(activePerLocation.length);
+    for (int i = 0; i < activePerLocation.length; i++) {
+      int maxWarehouses = activePerLocation[i] + Math.max(1, activePerLocation[i] / 4);
+      locations.add(
+          new Location(
+              String.format("GEN-%05d", i + 1),
+              maxWarehouses,
+              maxWarehouses * MAX_WAREHOUSE_CAPACITY,
+              // roughly the Netherlands
+              50.8 + random.nextDouble() * 2.7,
+              3.4 + random.nextDouble() * 3.8));
+    }
+    return locations;
+  }
+
+  private boolean alreadyGenerated(Connection connection) throws SQLException {
+    try (Statement statement = connection.createStatement();
+        ResultSet rs =
+            statement.executeQuery(
+                "SELECT 1 FROM warehouse WHERE businessUnitCode = '" + businessUnitCode(0) + "'")) {
+      return rs.next();
+    }
+  }
+
+  /**
+   * One active row per business unit, in location order; the remaining rows are archived
+   * predecessors, handed out with the same skew so a few business units have a long history.
+   */
+  private void writeWarehouses(
+      Connection connection, List<Location> locations, int[] activePerLocation, Random random) throws SQLException {
+    int[] history = new int[businessUnits];
+    int[] byPopularity = shuffledIndexes(businessUnits, random);
+    ZipfDistribution replacements = new ZipfDistribution(businessUnits, skew);
+    for (int row = businessUnits; row < warehouseRows; row++) {
+      history[byPopularity[replacements.sample(random)]]++;
+    }
+
+    long id = nextId(connection, "warehouse");
+    LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+    try (RowSink sink = RowSink.open(connection, "warehouse", WAREHOUSE_COLUMNS, batchSize)) {
+      int unit = 0;
+      for (int l = 0; l < locations.size(); l++) {
+        String location = locations.get(l).identification;
+        for (int n = 0; n < activePerLocation[l]; n++, unit++) {
+          String code = businessUnitCode(unit);
+          LocalDateTime validFrom = now.minusMinutes(1 + random.nextInt(365 * 24 * 60));
+          int capacity = 50 + random.nextInt(MAX_WAREHOUSE_CAPACITY - 49);
+          sink.add(id++, code, location, capacity, random.nextInt(capacity + 1), validFrom, null, 0L);
+          for (int h = 0; h < history[unit]; h++) {
+            LocalDateTime archivedAt = validFrom;
+            validFrom = archivedAt.minusMinutes(1 + random.nextInt(365 * 24 * 60));
+            int oldCapacity = 50 + random.nextInt(MAX_WAREHOUSE_CAPACITY - 49);
+            sink.add(
+                id++, code, location, oldCapacity, random.nextInt(oldCapacity + 1), validFrom, archivedAt, 0L);
+          }
+        }
+      }
+    }
+    restartSequence(connection, "warehouse_seq", id);
+  }
+
+  /** Stores cluster around the popular locations. */
+  private void writeStores(
+      Connection connection, List<Location> locations, ZipfDistribution popularity, Random random)
+      throws SQLException {
+    long id = nextId(connection, "store");
+    try (RowSink sink =
+        RowSink.open(connection, "store", "id, name, quantityProductsInStock, latitude, longitude", batchSize)) {
+      for (int i = 0; i < stores; i++) {
+        Location near = locations.get(popularity.sample(random));
+        sink.add(
+            id++,
+            String.format("GEN-STORE-%07d", i + 1),
+            random.nextInt(1_000),
+            near.latitude + random.nextGaussian() * 0.05,
+            near.longitude + random.nextGaussian() * 0.05);
+      }
+    }
+    restartSequence(connection, "store_seq", id);
+  }
+
+  private void writeProducts(Connection connection, Random random) throws SQLException {
+    long id = nextId(connection, "product");
+    try (RowSink sink = RowSink.open(connection, "product", "id, name, description, price, stock", batchSize)) {
+      for (int i = 0; i < products; i++) {
+        sink.add(
+            id++,
+            String.format("GEN-PRODUCT-%07d", i + 1),
+            random.nextInt(4) == 0 ? null : "Generated product " + (i + 1),
+            BigDecimal.valueOf(99 + random.nextInt(99_900), 2),
+            random.nextInt(10_000));
+      }
+    }
+    restartSequence(connection, "product_seq", id);
+  }
+
+  static String businessUnitCode(int unit) {
+    return BUSINESS_UNIT_PREFIX + String.format("%07d", unit + 1);
+  }
+
+  private static int[] shuffledIndexes(int n, Random random) {
+    int[] indexes = new int[n];
+    for (int i = 0; i < n; i++) {
+      indexes[i] = i;
+    }
+    for (int i = n - 1; i > 0; i--) {
+      int j = random.nextInt(i + 1);
+      int swap = indexes[i];
+      indexes[i] = indexes[j];
+      indexes[j] = swap;
+    }
+    return indexes;
+  }
+
+  private static long nextId(Connection connection, String table) throws SQLException {
+    try (Statement statement = connection.createStatement();
+        ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) + 1 FROM " + table)) {
+      rs.next();
+      return rs.getLong(1);
+    }
+  }
+
+  // Ids are pooled-lo blocks starting at the sequence value, so restarting right above our ids is enough
+  private static void restartSequence(Connection connection, String sequence, long next) throws SQLException {
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + next);
+    }
+    connection.commit();
+  }
+}
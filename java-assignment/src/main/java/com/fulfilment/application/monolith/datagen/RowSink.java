@@ -0,0 +1,138 @@
+package com.fulfilment.application.monolith.datagen;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+/**
+ * Bulk row writer for one table: {@code COPY ... FROM STDIN} on PostgreSQL, JDBC batches of
+ * {@code batchSize} rows (committed per batch) elsewhere.
+ */
+interface RowSink extends AutoCloseable {
+
+  void add(Object... values) throws SQLException;
+
+  @Override
+  void close() throws SQLException;
+
+  static RowSink open(Connection connection, String table, String columns, int batchSize) throws SQLException {
+    if (connection.isWrapperFor(PGConnection.class)) {
+      return new Copy(connection, table, columns);
+    }
+    return new Batch(connection, table, columns, batchSize);
+  }
+
+  /** CSV rows streamed into a single COPY; an empty unquoted field is NULL. */
+  final class Copy implements RowSink {
+
+    private static final int FLUSH_BYTES = 1 << 16;
+
+    private final Connection connection;
+    private final CopyIn copy;
+    private final StringBuilder buffer = new StringBuilder(FLUSH_BYTES + 1024);
+
+    private Copy(Connection connection, String table, String columns) throws SQLException {
+      this.connection = connection;
+      connection.setAutoCommit(false);
+      this.copy =
+          connection
+              .unwrap(PGConnection.class)
+              .getCopyAPI()
+              .copyIn("COPY " + table + " (" + columns + ") FROM STDIN WITH (FORMAT csv)");
+    }
+
+    @Override
+    public void add(Object... values) throws SQLException {
+      for (int i = 0; i < values.length; i++) {
+        if (i > 0) {
+          buffer.append(',');
+        }
+        appendCsv(values[i]);
+      }
+      buffer.append('\n');
+      if (buffer.length() >= FLUSH_BYTES) {
+        flush();
+      }
+    }
+
+    private void appendCsv(Object value) {
+      if (value == null) {
+        return;
+      }
+      String text = value instanceof LocalDateTime time ? Timestamp.valueOf(time).toString() : value.toString();
+      if (text.isEmpty() || text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0) {
+        buffer.append('"').append(text.replace("\"", "\"\"")).append('"');
+      } else {
+        buffer.append(text);
+      }
+    }
+
+    private void flush() throws SQLException {
+      byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+      copy.writeToCopy(bytes, 0, bytes.length);
+      buffer.setLength(0);
+    }
+
+    @Override
+    public void close() throws SQLException {
+      flush();
+      copy.endCopy();
+      connection.commit();
+    }
+  }
+
+  final class Batch implements RowSink {
+
+    private final Connection connection;
+    private final PreparedStatement insert;
+    private final int batchSize;
+    private int pending;
+
+    private Batch(Connection connection, String table, String columns, int batchSize) throws SQLException {
+      this.connection = connection;
+      this.batchSize = batchSize;
+      connection.setAutoCommit(false);
+      int columnCount = columns.split(",").length;
+      this.insert =
+          connection.prepareStatement(
+              "INSERT INTO " + table + " (" + columns + ") VALUES ("
+                  + String.join(", ", Collections.nCopies(columnCount, "?"))
+                  + ")");
+    }
+
+    @Override
+    public void add(Object... values) throws SQLException {
+      for (int i = 0; i < values.length; i++) {
+        Object value = values[i];
+        insert.setObject(i + 1, value instanceof LocalDateTime time ? Timestamp.valueOf(time) : value);
+      }
+      insert.addBatch();
+      if (++pending == batchSize) {
+        flush();
+      }
+    }
+
+    private void flush() throws SQLException {
+      insert.executeBatch();
+      connection.commit();
+      pending = 0;
+    }
+
+    @Override
+    public void close() throws SQLException {
+      try {
+        if (pending > 0) {
+          flush();
+        }
+      } finally {
+        insert.close();
+      }
+    }
+  }
+}
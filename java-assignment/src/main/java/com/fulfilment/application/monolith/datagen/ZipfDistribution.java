@@ -0,0 +1,71 @@
+package com.fulfilment.application.monolith.datagen;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Zipf distribution over ranks {@code 0..n-1}: rank {@code r} has weight {@code 1 / (r + 1)^s}.
+ * An exponent of 0 is uniform; around 1 a few ranks dominate, as with real location and product
+ * popularity.
+ */
+final class ZipfDistribution {
+
+  private final double[] cumulative;
+
+  ZipfDistribution(int n, double exponent) {
+    if (n <= 0) {
+      throw new IllegalArgumentException("n must be positive");
+    }
+    if (exponent < 0) {
+      throw new IllegalArgumentException("exponent must not be negative");
+    }
+    cumulative = new double[n];
+    double sum = 0;
+    for (int rank = 0; rank < n; rank++) {
+      sum += 1 / Math.pow(rank + 1, exponent);
+      cumulative[rank] = sum;
+    }
+    for (int rank = 0; rank < n; rank++) {
+      cumulative[rank] /= sum;
+    }
+  }
+
+  int size() {
+    return cumulative.length;
+  }
+
+  double probability(int rank) {
+    return rank == 0 ? cumulative[0] : cumulative[rank] - cumulative[rank - 1];
+  }
+
+  int sample(RandomGenerator random) {
+    int index = Arrays.binarySearch(cumulative, random.nextDouble());
+    return Math.min(index < 0 ? -index - 1 : index, cumulative.length - 1);
+  }
+
+  /**
+   * Splits {@code total} over the ranks in proportion to their probability (largest remainder), so
+   * the shares add up to exactly {@code total} without any randomness.
+   */
+  int[] apportion(int total) {
+    int n = cumulative.length;
+    int[] shares = new int[n];
+    double[] remainders = new double[n];
+    int assigned = 0;
+    for (int rank = 0; rank < n; rank++) {
+      double exact = total * probability(rank);
+      shares[rank] = (int) exact;
+      remainders[rank] = exact - shares[rank];
+      assigned += shares[rank];
+    }
+    Integer[] byRemainder = new Integer[n];
+    for (int rank = 0; rank < n; rank++) {
+      byRemainder[rank] = rank;
+    }
+    Arrays.sort(byRemainder, (a, b) -> Double.compare(remainders[b], remainders[a]));
+    for (int i = 0; assigned < total; i = (i + 1) % n, assigned++) {
+      shares[byRemainder[i]]++;
+    }
+    return shares;
+  }
+}
@@ -0,0 +1,67 @@
+package com.fulfilment.application.monolith.encoding;
+
+import jakarta.ws.rs.core.MediaType;
+import java.util.List;
+
+/**
+ * Media types of the list and export endpoints. JSON stays the default; service-to-service
+ * consumers can ask for CBOR or Smile, which are the same Jackson data model in a binary encoding.
+ */
+public final class ApiMediaTypes {
+
+  public static final String CBOR = "application/cbor";
+  public static final String SMILE = "application/x-jackson-smile";
+
+  private static final List<String> SUPPORTED = List.of(MediaType.APPLICATION_JSON, CBOR, SMILE);
+
+  private ApiMediaTypes() {}
+
+  /**
+   * The supported type an {@code Accept} header selects: highest quality first, then the most
+   * specific match, then JSON before the binary types. {@code null} if none is acceptable.
+   */
+  public static String negotiate(String accept) {
+    if (accept == null || accept.isBlank()) {
+      return MediaType.APPLICATION_JSON;
+    }
+    String best = null;
+    double bestQuality = 0;
+    int bestSpecificity = -1;
+    for (String candidate : SUPPORTED) {
+      MediaType type = MediaType.valueOf(candidate);
+      double quality = -1;
+      int specificity = -1;
+      for (String range : accept.split(",")) {
+        MediaType accepted;
+        try {
+          accepted = MediaType.valueOf(range.trim());
+        } catch (IllegalArgumentException e) {
+          continue;
+        }
+        if (!accepted.isCompatible(type)) {
+          continue;
+        }
+        int rangeSpecificity = accepted.isWildcardType() ? 0 : accepted.isWildcardSubtype() ? 1 : 2;
+        if (rangeSpecificity > specificity) {
+          specificity = rangeSpecificity;
+          quality = quality(accepted);
+        }
+      }
+      if (quality > bestQuality || (quality == bestQuality && quality > 0 && specificity > bestSpecificity)) {
+        best = candidate;
+        bestQuality = quality;
+        bestSpecificity = specificity;
+      }
+    }
+    return best;
+  }
+
+  private static double quality(MediaType range) {
+    String q = range.getParameters().get("q");
+    try {
+      return q == null ? 1 : Double.parseDouble(q);
+    } catch (NumberFormatException e) {
+      return 1;
+    }
+  }
+}
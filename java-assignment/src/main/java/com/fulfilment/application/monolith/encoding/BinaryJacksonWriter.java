@@ -0,0 +1,43 @@
+package com.fulfilment.application.monolith.encoding;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+import jakarta.ws.rs.ext.Provider;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+/** Writes response entities of resources that produce CBOR or Smile. */
+@Provider
+@Produces({ApiMediaTypes.CBOR, ApiMediaTypes.SMILE})
+public class BinaryJacksonWriter implements MessageBodyWriter<Object> {
+
+  @Inject JacksonEncodings encodings;
+
+  @Override
+  public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+    return JacksonEncodings.isBinary(mediaType) && !byte[].class.equals(type);
+  }
+
+  @Override
+  public void writeTo(
+      Object entity,
+      Class<?> type,
+      Type genericType,
+      Annotation[] annotations,
+      MediaType mediaType,
+      MultivaluedMap<String, Object> httpHeaders,
+      OutputStream entityStream)
+      throws IOException {
+    var mapper = encodings.forMediaType(mediaType);
+    mapper
+        .writerFor(mapper.constructType(genericType))
+        .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+        .writeValue(entityStream, entity);
+  }
+}
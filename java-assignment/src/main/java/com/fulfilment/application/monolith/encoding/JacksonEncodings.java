@@ -0,0 +1,45 @@
+package com.fulfilment.application.monolith.encoding;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.MediaType;
+
+/**
+ * CBOR and Smile mappers derived from the application's {@link ObjectMapper}, so the binary
+ * encodings carry exactly the fields and formats of the JSON responses.
+ */
+@ApplicationScoped
+public class JacksonEncodings {
+
+  @Inject ObjectMapper json;
+
+  private ObjectMapper cbor;
+  private ObjectMapper smile;
+
+  @PostConstruct
+  void init() {
+    cbor = json.copyWith(new CBORFactory());
+    smile = json.copyWith(new SmileFactory());
+  }
+
+  /** The mapper for {@code mediaType}; JSON for anything that isn't CBOR or Smile. */
+  public ObjectMapper forMediaType(MediaType mediaType) {
+    if (mediaType != null && mediaType.isCompatible(MediaType.valueOf(ApiMediaTypes.CBOR))) {
+      return cbor;
+    }
+    if (mediaType != null && mediaType.isCompatible(MediaType.valueOf(ApiMediaTypes.SMILE))) {
+      return smile;
+    }
+    return json;
+  }
+
+  public static boolean isBinary(MediaType mediaType) {
+    return mediaType != null
+        && (mediaType.isCompatible(MediaType.valueOf(ApiMediaTypes.CBOR))
+            || mediaType.isCompatible(MediaType.valueOf(ApiMediaTypes.SMILE)));
+  }
+}
@@ -0,0 +1,25 @@
+package com.fulfilment.application.monolith.errors;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import jakarta.ws.rs.core.Response;
+import java.util.List;
+
+/**
+ * RFC 9457 problem details body, served as {@code application/problem+json}. It is serialized by
+ * hand rather than returned from a resource, so the native image does not register it on its own.
+ */
+@RegisterForReflection
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public record ProblemDetails(
+    String type, String title, int status, String detail, List<ValidationResult.Violation> errors) {
+
+  public static final String MEDIA_TYPE = "application/problem+json";
+
+  /** A problem without a specific type, titled by the reason phrase of {@code status}. */
+  public static ProblemDetails of(int status, String detail, List<ValidationResult.Violation> errors) {
+    Response.Status known = Response.Status.fromStatusCode(status);
+    return new ProblemDetails(
+        "about:blank", known == null ? "HTTP " + status : known.getReasonPhrase(), status, detail, errors);
+  }
+}
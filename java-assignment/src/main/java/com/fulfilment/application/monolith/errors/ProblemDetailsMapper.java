@@ -0,0 +1,87 @@
+package com.fulfilment.application.monolith.errors;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fulfilment.application.monolith.warehouses.domain.usecases.WarehouseOperationException;
+import jakarta.annotation.PostConstruct;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.ExceptionMapper;
+import jakarta.ws.rs.ext.Provider;
+import java.util.List;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+/**
+ * Maps every exception to a problem details response. Server errors are always logged with their
+ * stack; client errors are logged without one, through a {@link SampledLog} so a flood of bad
+ * requests cannot turn into a log storm.
+ */
+@Provider
+public class ProblemDetailsMapper implements ExceptionMapper<Exception> {
+
+  private static final Logger LOGGER = Logger.getLogger(ProblemDetailsMapper.class.getName());
+
+  @Inject ObjectMapper objectMapper;
+
+  @ConfigProperty(name = "error-log.client.burst-per-second", defaultValue = "10")
+  int burstPerSecond;
+
+  @ConfigProperty(name = "error-log.client.sample-rate", defaultValue = "100")
+  int sampleRate;
+
+  private SampledLog clientErrors;
+
+  @PostConstruct
+  void init() {
+    clientErrors = new SampledLog(burstPerSecond, sampleRate);
+  }
+
+  @Override
+  public Response toResponse(Exception exception) {
+    Response.ResponseBuilder response = null;
+    int status = 500;
+    String detail = exception.getMessage();
+    List<ValidationResult.Violation> violations = List.of();
+    if (exception instanceof RequestRejectedException rejected) {
+      status = rejected.status;
+      violations = rejected.violations;
+    } else if (exception instanceof WarehouseOperationException operation) {
+      status = operation.status;
+    } else if (exception instanceof WebApplicationException web) {
+      status = web.getResponse().getStatus();
+      if (status < 400) {
+        // redirects and the like are thrown on purpose, they are not errors
+        return web.getResponse();
+      }
+      // keeps headers such as Allow, Retry-After or WWW-Authenticate that belong to the status
+      response = Response.fromResponse(web.getResponse());
+    } else {
+      // do not leak internals of unexpected failures to the client
+      detail = "Unexpected error while handling the request.";
+    }
+
+    if (status >= 500) {
+      LOGGER.error("Failed to handle request", exception);
+    } else if (LOGGER.isInfoEnabled()) {
+      long suppressed = clientErrors.tryAcquire();
+      if (suppressed >= 0) {
+        LOGGER.infof(
+            "Rejected request with %d: %s (%d similar rejections not logged)",
+            status, exception.getMessage(), suppressed);
+      }
+    }
+
+    var problem = ProblemDetails.of(status, detail, violations);
+    if (response == null) {
+      response = Response.status(status);
+    }
+    try {
+      return response.type(ProblemDetails.MEDIA_TYPE).entity(objectMapper.writeValueAsBytes(problem)).build();
+    } catch (JsonProcessingException e) {
+      return response.type(MediaType.TEXT_PLAIN_TYPE).entity(String.valueOf(detail)).build();
+    }
+  }
+}
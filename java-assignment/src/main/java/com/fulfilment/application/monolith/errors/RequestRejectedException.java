@@ -0,0 +1,23 @@
+package com.fulfilment.application.monolith.errors;
+
+import java.util.List;
+
+/**
+ * A request rejected with a client error status. Stackless: rejections are expected traffic, so
+ * throwing one must cost about as much as returning a value.
+ */
+public class RequestRejectedException extends RuntimeException {
+
+  public final int status;
+  public final List<ValidationResult.Violation> violations;
+
+  public RequestRejectedException(int status, String message) {
+    this(status, message, List.of());
+  }
+
+  public RequestRejectedException(int status, String message, List<ValidationResult.Violation> violations) {
+    super(message, null, false, false);
+    this.status = status;
+    this.violations = violations;
+  }
+}
@@ -0,0 +1,55 @@
+package com.fulfilment.application.monolith.errors;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free log throttle: the first {@code burst} events of every second are logged, after that
+ * one in {@code sampleRate}. Skipped events are counted so the next logged line can report them.
+ */
+public class SampledLog {
+
+  private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  private final int burst;
+  private final int sampleRate;
+  private final LongSupplier nanoClock;
+
+  private final AtomicLong window = new AtomicLong(Long.MIN_VALUE);
+  private final AtomicInteger inWindow = new AtomicInteger();
+  private final AtomicLong overBurst = new AtomicLong();
+  private final LongAdder suppressed = new LongAdder();
+
+  public SampledLog(int burst, int sampleRate) {
+    this(burst, sampleRate, System::nanoTime);
+  }
+
+  SampledLog(int burst, int sampleRate, LongSupplier nanoClock) {
+    this.burst = burst;
+    this.sampleRate = sampleRate;
+    this.nanoClock = nanoClock;
+  }
+
+  /**
+   * Returns -1 when this event should not be logged, otherwise the number of events suppressed
+   * since the last one that was.
+   */
+  public long tryAcquire() {
+    long current = nanoClock.getAsLong() / WINDOW_NANOS;
+    long seen = window.get();
+    if (current != seen && window.compareAndSet(seen, current)) {
+      inWindow.set(0);
+    }
+    boolean log =
+        inWindow.incrementAndGet() <= burst
+            || (sampleRate > 0 && overBurst.incrementAndGet() % sampleRate == 0);
+    if (!log) {
+      suppressed.increment();
+      return -1;
+    }
+    return suppressed.sumThenReset();
+  }
+}
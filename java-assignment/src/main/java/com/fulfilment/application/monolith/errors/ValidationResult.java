@@ -0,0 +1,47 @@
+package com.fulfilment.application.monolith.errors;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects every violation of a request so a client sees all of them in one response. The
+ * violation list is only allocated once something fails.
+ */
+public final class ValidationResult {
+
+  @RegisterForReflection
+  public record Violation(String field, String message) {}
+
+  private List<Violation> violations;
+
+  public ValidationResult require(boolean condition, String field, String message) {
+    if (!condition) {
+      if (violations == null) {
+        violations = new ArrayList<>(4);
+      }
+      violations.add(new Violation(field, message));
+    }
+    return this;
+  }
+
+  public boolean isValid() {
+    return violations == null;
+  }
+
+  public List<Violation> violations() {
+    return violations == null ? List.of() : List.copyOf(violations);
+  }
+
+  /** Throws a {@link RequestRejectedException} with {@code status} carrying all violations, if any. */
+  public void throwIfInvalid(int status) {
+    if (violations == null) {
+      return;
+    }
+    StringBuilder message = new StringBuilder();
+    for (Violation violation : violations) {
+      message.append(message.length() == 0 ? "" : " ").append(violation.message());
+    }
+    throw new RequestRejectedException(status, message.toString(), List.copyOf(violations));
+  }
+}
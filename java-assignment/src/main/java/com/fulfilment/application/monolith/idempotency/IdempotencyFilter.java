@@ -0,0 +1,171 @@
+package com.fulfilment.application.monolith.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fulfilment.application.monolith.errors.ProblemDetails;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.Provider;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * {@code Idempotency-Key} support for POST requests: the first response for a key is stored, and a
+ * retry with the same key and request gets it back without the resource method running again. The
+ * key is claimed in the database before the resource method runs, so a concurrent request with the
+ * same key, on this node or another, gets a 409 instead of running it a second time. A replay
+ * restores the status, the body and the {@link #REPLAYED_HEADERS}; other headers of the original
+ * response, such as cookies, are not stored.
+ */
+@Provider
+public class IdempotencyFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+  public static final String HEADER = "Idempotency-Key";
+  public static final String REPLAYED_HEADER = "Idempotency-Replayed";
+  static final int MAX_KEY_LENGTH = 128;
+
+  // Headers that describe the outcome of the request, a retry needs them as much as the body
+  static final List<String> REPLAYED_HEADERS =
+      List.of(HttpHeaders.LOCATION, HttpHeaders.CONTENT_LOCATION, HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED);
+
+  private static final String CLAIM_PROPERTY = IdempotencyFilter.class.getName() + ".claim";
+
+  @Inject IdempotencyStore idempotencyStore;
+  @Inject ObjectMapper objectMapper;
+
+  @Override
+  public void filter(ContainerRequestContext requestContext) throws IOException {
+    String key = requestContext.getHeaderString(HEADER);
+    if (key == null || !"POST".equals(requestContext.getMethod())) {
+      return;
+    }
+    if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+      requestContext.abortWith(error(400, HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters."));
+      return;
+    }
+
+    byte[] body = requestContext.getEntityStream().readAllBytes();
+    requestContext.setEntityStream(new ByteArrayInputStream(body));
+    String fingerprint = fingerprint(requestContext.getMethod(), requestContext.getUriInfo().getPath(), body);
+
+    // Completed responses are cached, so most retries are replayed without touching the table
+    IdempotencyRecord record = idempotencyStore.find(key);
+    if (record == null) {
+      IdempotencyStore.Claim claim = idempotencyStore.claim(key, fingerprint);
+      if (claim.claimed()) {
+        requestContext.setProperty(CLAIM_PROPERTY, claim);
+        return;
+      }
+      record = claim.record();
+    }
+
+    if (record.pending) {
+      requestContext.abortWith(
+          Response.fromResponse(error(409, "A request with this " + HEADER + " is still in progress."))
+              .header("Retry-After", "1")
+              .build());
+      return;
+    }
+    if (!record.fingerprint.equals(fingerprint)) {
+      requestContext.abortWith(error(422, HEADER + " was already used for a different request."));
+      return;
+    }
+    Response.ResponseBuilder replay =
+        Response.status(record.status)
+            .type(record.contentType)
+            .entity(record.responseBody)
+            .header(REPLAYED_HEADER, "true");
+    decodeHeaders(record.responseHeaders).forEach(header -> replay.header(header[0], header[1]));
+    requestContext.abortWith(replay.build());
+  }
+
+  @Override
+  public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext)
+      throws IOException {
+    IdempotencyStore.Claim claim = (IdempotencyStore.Claim) requestContext.getProperty(CLAIM_PROPERTY);
+    if (claim == null) {
+      return;
+    }
+    // Server errors may be transient, let the client retry those for real
+    if (responseContext.getStatus() >= 500) {
+      idempotencyStore.release(claim);
+      return;
+    }
+    byte[] body;
+    try {
+      body = serialize(responseContext.getEntity());
+    } catch (IOException | RuntimeException e) {
+      idempotencyStore.release(claim);
+      throw e;
+    }
+    MediaType mediaType = responseContext.getMediaType();
+    idempotencyStore.save(
+        claim,
+        responseContext.getStatus(),
+        mediaType == null ? MediaType.APPLICATION_JSON : mediaType.toString(),
+        encodeHeaders(responseContext.getStringHeaders()),
+        body);
+  }
+
+  static String encodeHeaders(MultivaluedMap<String, String> headers) {
+    StringBuilder encoded = new StringBuilder();
+    for (String name : REPLAYED_HEADERS) {
+      List<String> values = headers.get(name);
+      if (values != null) {
+        // header values cannot contain line breaks, so one per line is unambiguous
+        values.forEach(value -> encoded.append(name).append(": ").append(value).append('\n'));
+      }
+    }
+    return encoded.isEmpty() ? null : encoded.toString();
+  }
+
+  static List<String[]> decodeHeaders(String encoded) {
+    if (encoded == null) {
+      return List.of();
+    }
+    return encoded.lines().map(line -> line.split(": ", 2)).filter(header -> header.length == 2).toList();
+  }
+
+  private byte[] serialize(Object entity) throws JsonProcessingException {
+    if (entity == null) {
+      return new byte[0];
+    }
+    if (entity instanceof byte[] bytes) {
+      return bytes;
+    }
+    if (entity instanceof String text) {
+      return text.getBytes(StandardCharsets.UTF_8);
+    }
+    return objectMapper.writeValueAsBytes(entity);
+  }
+
+  private Response error(int status, String message) throws JsonProcessingException {
+    return Response.status(status)
+        .type(ProblemDetails.MEDIA_TYPE)
+        .entity(objectMapper.writeValueAsBytes(ProblemDetails.of(status, message, List.of())))
+        .build();
+  }
+
+  static String fingerprint(String method, String path, byte[] body) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      digest.update((method + ' ' + path + '\n').getBytes(StandardCharsets.UTF_8));
+      digest.update(body);
+      return HexFormat.of().formatHex(digest.digest());
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+}
@@ -0,0 +1,51 @@
+package com.fulfilment.application.monolith.idempotency;
+
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * Response of a POST, stored under its {@code Idempotency-Key} so a retry can be answered by replay.
+ * While the first request is still running the row is a {@link #pending} claim on the key, which
+ * the primary key makes exclusive across all nodes.
+ */
+@Entity
+@Table(name = "idempotency_record", indexes = @Index(columnList = "createdAt"))
+public class IdempotencyRecord extends PanacheEntityBase {
+
+  @Id
+  @Column(length = IdempotencyFilter.MAX_KEY_LENGTH)
+  public String idempotencyKey;
+
+  // SHA-256 of method, path and body, to detect a key reused for a different request
+  @Column(length = 64, nullable = false)
+  public String fingerprint;
+
+  // Claimed by a request that has not completed yet; expiresAt is then when the claim is abandoned
+  public boolean pending;
+
+  public int status;
+
+  public String contentType;
+
+  // Headers replayed along with the body, one "Name: value" per line, see IdempotencyFilter#REPLAYED_HEADERS
+  @Column(length = 2048)
+  public String responseHeaders;
+
+  @Column(length = 1_048_576)
+  public byte[] responseBody;
+
+  public LocalDateTime createdAt;
+
+  public LocalDateTime expiresAt;
+
+  public IdempotencyRecord() {}
+
+  public boolean isExpired(LocalDateTime now) {
+    return expiresAt != null && expiresAt.isBefore(now);
+  }
+}
@@ -0,0 +1,200 @@
+package com.fulfilment.application.monolith.idempotency;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.transaction.Transactional;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.exception.ConstraintViolationException;
+import org.jboss.logging.Logger;
+
+/**
+ * Stored responses by idempotency key: a bounded in-memory LRU in front of the {@code
+ * idempotency_record} table, which also holds the claims of keys whose first request is still being
+ * processed.
+ */
+@ApplicationScoped
+public class IdempotencyStore {
+
+  private static final Logger LOGGER = Logger.getLogger(IdempotencyStore.class.getName());
+
+  private final Map<String, IdempotencyRecord> cache;
+
+  private final Duration ttl;
+  private final Duration inFlightTimeout;
+  private final int maxRecords;
+
+  public IdempotencyStore(
+      @ConfigProperty(name = "idempotency.ttl", defaultValue = "24h") Duration ttl,
+      @ConfigProperty(name = "idempotency.cache-size", defaultValue = "10000") int cacheSize,
+      @ConfigProperty(name = "idempotency.max-records", defaultValue = "100000") int maxRecords,
+      @ConfigProperty(name = "idempotency.in-flight-timeout", defaultValue = "60s") Duration inFlightTimeout) {
+    this.ttl = ttl;
+    this.maxRecords = maxRecords;
+    this.inFlightTimeout = inFlightTimeout;
+    this.cache =
+        new LinkedHashMap<>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<String, IdempotencyRecord> eldest) {
+            return size() > cacheSize;
+          }
+        };
+  }
+
+  /**
+   * Outcome of {@link #claim}: when {@code claimed}, {@code record} is this request's pending claim,
+   * otherwise the completed record to replay or the pending claim of another request.
+   */
+  public record Claim(IdempotencyRecord record, boolean claimed) {}
+
+  /** The completed, unexpired record for {@code key}, if any; answered from memory when possible. */
+  public IdempotencyRecord find(String key) {
+    LocalDateTime now = LocalDateTime.now();
+    IdempotencyRecord record;
+    synchronized (cache) {
+      record = cache.get(key);
+    }
+    if (record == null) {
+      record = IdempotencyRecord.findById(key);
+      if (record == null || record.pending) {
+        return null;
+      }
+      cacheRecord(record);
+    }
+    return record.isExpired(now) ? null : record;
+  }
+
+  /**
+   * Claims {@code key} by inserting a pending row in its own transaction. The insert is the check:
+   * if it fails on the primary key, the row that is there decides, whether it was written by this
+   * node or another one. Expired records and abandoned claims are removed and the insert retried.
+   */
+  public Claim claim(String key, String fingerprint) {
+    for (int attempt = 1; attempt <= 2; attempt++) {
+      // Truncated to what the column stores, the claim is later matched by it
+      LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+      var claim = new IdempotencyRecord();
+      claim.idempotencyKey = key;
+      claim.fingerprint = fingerprint;
+      claim.pending = true;
+      claim.createdAt = now;
+      claim.expiresAt = now.plus(inFlightTimeout);
+      try {
+        QuarkusTransaction.requiringNew()
+            .run(
+                () -> {
+                  claim.persist();
+                  IdempotencyRecord.flush();
+                });
+        return new Claim(claim, true);
+      } catch (RuntimeException e) {
+        if (!isDuplicateKey(e)) {
+          throw e;
+        }
+      }
+
+      IdempotencyRecord existing = QuarkusTransaction.requiringNew().call(() -> IdempotencyRecord.findById(key));
+      if (existing == null) {
+        continue; // removed in between, try again
+      }
+      if (!existing.isExpired(now)) {
+        if (!existing.pending) {
+          cacheRecord(existing);
+        }
+        return new Claim(existing, false);
+      }
+      // Only remove the row that was found, a concurrent request may already have replaced it
+      QuarkusTransaction.requiringNew()
+          .run(() -> IdempotencyRecord.delete("idempotencyKey = ?1 and expiresAt = ?2", key, existing.expiresAt));
+    }
+    // Lost the race for an expired key twice, the winner is still running
+    var other = new IdempotencyRecord();
+    other.idempotencyKey = key;
+    other.pending = true;
+    return new Claim(other, false);
+  }
+
+  /** Replaces the claim with the stored response, or releases it if that fails. */
+  public void save(Claim claim, int status, String contentType, String headers, byte[] body) {
+    String key = claim.record().idempotencyKey;
+    var record = new IdempotencyRecord();
+    record.idempotencyKey = key;
+    record.fingerprint = claim.record().fingerprint;
+    record.status = status;
+    record.contentType = contentType;
+    record.responseHeaders = headers;
+    record.responseBody = body;
+    record.createdAt = LocalDateTime.now();
+    record.expiresAt = record.createdAt.plus(ttl);
+
+    try {
+      // The business transaction has already committed, store the response in its own one
+      QuarkusTransaction.requiringNew()
+          .run(
+              () -> {
+                deleteClaim(claim);
+                record.persist();
+              });
+    } catch (RuntimeException e) {
+      LOGGER.warnf(e, "Failed to store response for Idempotency-Key %s", key);
+      release(claim);
+      return;
+    }
+    cacheRecord(record);
+  }
+
+  /** Drops the claim without a response, so a retry runs the request again. */
+  public void release(Claim claim) {
+    try {
+      QuarkusTransaction.requiringNew().run(() -> deleteClaim(claim));
+    } catch (RuntimeException e) {
+      LOGGER.warnf(
+          e,
+          "Failed to release Idempotency-Key %s, it stays blocked until the claim expires",
+          claim.record().idempotencyKey);
+    }
+  }
+
+  // A claim that expired may have been taken over by another request, whose row must stay
+  private static void deleteClaim(Claim claim) {
+    IdempotencyRecord.delete(
+        "idempotencyKey = ?1 and pending = true and createdAt = ?2",
+        claim.record().idempotencyKey,
+        claim.record().createdAt);
+  }
+
+  private static boolean isDuplicateKey(Throwable e) {
+    for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+      if (cause instanceof ConstraintViolationException) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Scheduled(every = "${idempotency.purge-interval:10m}", delayed = "1m")
+  @Transactional
+  void purge() {
+    long expired = IdempotencyRecord.delete("expiresAt < ?1", LocalDateTime.now());
+
+    // Keep the table bounded even if keys arrive faster than they expire
+    IdempotencyRecord oldestKept =
+        IdempotencyRecord.find("order by createdAt desc").page(maxRecords - 1, 1).firstResult();
+    long evicted = oldestKept == null ? 0 : IdempotencyRecord.delete("createdAt < ?1", oldestKept.createdAt);
+
+    if (expired + evicted > 0) {
+      LOGGER.infof("Purged %d expired and %d excess idempotency records", expired, evicted);
+    }
+  }
+
+  private void cacheRecord(IdempotencyRecord record) {
+    synchronized (cache) {
+      cache.put(record.idempotencyKey, record);
+    }
+  }
+}
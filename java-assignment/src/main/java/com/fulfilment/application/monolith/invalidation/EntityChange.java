@@ -0,0 +1,56 @@
+package com.fulfilment.application.monolith.invalidation;
+
+import com.fulfilment.application.monolith.conditional.Aggregate;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseEvent;
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * A committed write to a store, product or warehouse, for the other nodes to evict what they
+ * cached. Rows are inserted and polled with plain JDBC ({@link EntityChangePublisher}, {@link
+ * EntityChangePoller}); the entity defines the table and is used to purge it.
+ */
+@Entity
+@Table(name = "entity_change", indexes = @Index(columnList = "changedAt"))
+public class EntityChange extends PanacheEntityBase {
+
+  // An identity column rather than a pooled sequence: pollers rely on ids growing in insert order
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  public Long id;
+
+  // EntityChangePublisher#node() of the writer
+  @Column(length = 36, nullable = false)
+  public String node;
+
+  @Enumerated(EnumType.STRING)
+  @Column(length = 16, nullable = false)
+  public Aggregate aggregate;
+
+  // Store or product id, warehouse business unit code; null when the whole aggregate changed
+  public String entityId;
+
+  // The warehouse event, so other nodes can apply it to their utilization totals and spatial index
+  @Enumerated(EnumType.STRING)
+  @Column(length = 16)
+  public WarehouseEvent.Type eventType;
+
+  public String location;
+
+  public Integer capacity;
+
+  public Integer stock;
+
+  public LocalDateTime changedAt;
+
+  public EntityChange() {}
+}
@@ -0,0 +1,198 @@
+package com.fulfilment.application.monolith.invalidation;
+
+import com.fulfilment.application.monolith.coalescing.HotReadCaches;
+import com.fulfilment.application.monolith.coalescing.SingleFlightCache;
+import com.fulfilment.application.monolith.conditional.Aggregate;
+import com.fulfilment.application.monolith.conditional.ChangeCounters;
+import com.fulfilment.application.monolith.products.Product;
+import com.fulfilment.application.monolith.spatial.WarehouseSpatialIndex;
+import com.fulfilment.application.monolith.stores.Store;
+import com.fulfilment.application.monolith.utilization.UtilizationAggregates;
+import com.fulfilment.application.monolith.warehouses.adapters.database.DbWarehouse;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseEvent;
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.transaction.Transactional;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+/**
+ * Applies the changes other nodes published to {@code entity_change} to the caches of this one:
+ * single-entity reads are evicted from the hot read caches and the Hibernate second-level cache,
+ * list change counters bumped (which also retires the cached list responses and their ETags) and
+ * warehouse events applied to the utilization totals and the spatial index, the same way local
+ * writes are.
+ *
+ * <p>Each poll reads the rows above a high-water mark. Ids are taken before the commit, so a row can
+ * become visible after one with a higher id; the mark therefore only moves past rows that have been
+ * visible for {@code entity-changes.settle}, and rows above it that were already applied are
+ * remembered rather than applied again. A change reaches every node within the poll interval.
+ */
+@ApplicationScoped
+public class EntityChangePoller {
+
+  private static final Logger LOGGER = Logger.getLogger(EntityChangePoller.class.getName());
+
+  private static final String SELECT =
+      "SELECT id, node, aggregate, entityId, eventType, location, capacity, stock FROM entity_change"
+          + " WHERE id > ? ORDER BY id";
+  private static final int MAX_ROWS = 10_000;
+
+  @Inject AgroalDataSource dataSource;
+  @Inject EntityChangePublisher publisher;
+  @Inject HotReadCaches hotReadCaches;
+  @Inject ChangeCounters changeCounters;
+  @Inject UtilizationAggregates utilization;
+  @Inject WarehouseSpatialIndex spatialIndex;
+  @Inject EntityManagerFactory entityManagerFactory;
+
+  @ConfigProperty(name = "entity-changes.enabled", defaultValue = "true")
+  boolean enabled;
+
+  @ConfigProperty(name = "entity-changes.settle", defaultValue = "5s")
+  Duration settle;
+
+  @ConfigProperty(name = "entity-changes.retention", defaultValue = "1h")
+  Duration retention;
+
+  private long highWaterMark;
+  // Applied rows above the high-water mark, by the nanoTime they were first seen
+  private final Map<Long, Long> applied = new HashMap<>();
+
+  record Row(long id, String node, EntityChangePublisher.Change change) {}
+
+  // A starting node has nothing cached yet, so the changes before it started don't concern it
+  void onStart(@Observes StartupEvent event) {
+    if (!enabled) {
+      return;
+    }
+    try (Connection connection = dataSource.getConnection();
+        PreparedStatement statement = connection.prepareStatement("SELECT COALESCE(MAX(id), 0) FROM entity_change");
+        ResultSet rs = statement.executeQuery()) {
+      rs.next();
+      synchronized (this) {
+        highWaterMark = rs.getLong(1);
+      }
+    } catch (SQLException e) {
+      throw new IllegalStateException("Failed to read the entity change high-water mark", e);
+    }
+  }
+
+  @Scheduled(
+      every = "${entity-changes.poll-interval:1s}",
+      delayed = "${entity-changes.poll-interval:1s}",
+      concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+  public synchronized void poll() {
+    if (!enabled) {
+      return;
+    }
+    List<Row> rows;
+    try {
+      rows = load(highWaterMark);
+    } catch (SQLException e) {
+      LOGGER.warnf(e, "Failed to poll entity changes above %d", highWaterMark);
+      return;
+    }
+
+    long now = System.nanoTime();
+    Set<Aggregate> changed = EnumSet.noneOf(Aggregate.class);
+    List<WarehouseEvent> warehouseEvents = new ArrayList<>();
+    for (Row row : rows) {
+      if (applied.putIfAbsent(row.id(), now) == null && !publisher.node().equals(row.node())) {
+        EntityChangePublisher.Change change = row.change();
+        switch (change.aggregate()) {
+          case STORE -> evict(hotReadCaches.stores(), Store.class, change.entityId());
+          case PRODUCT -> evict(hotReadCaches.products(), Product.class, change.entityId());
+          case WAREHOUSE -> {
+            if (change.event() != null) {
+              warehouseEvents.add(change.event());
+            }
+          }
+        }
+        changed.add(change.aggregate());
+      }
+    }
+    if (changed.contains(Aggregate.WAREHOUSE)) {
+      utilization.applyAll(warehouseEvents);
+      spatialIndex.applyAll(warehouseEvents);
+      // both caches are keyed by row id, events only carry the business unit code
+      hotReadCaches.warehouses().invalidateAll();
+      entityManagerFactory.getCache().evict(DbWarehouse.class);
+    }
+    changed.forEach(changeCounters::bump);
+
+    for (Row row : rows) {
+      if (now - applied.get(row.id()) < settle.toNanos()) {
+        break;
+      }
+      applied.remove(row.id());
+      highWaterMark = row.id();
+    }
+  }
+
+  @Scheduled(every = "${entity-changes.purge-interval:10m}", delayed = "1m")
+  @Transactional
+  void purge() {
+    long purged = EntityChange.delete("changedAt < ?1", LocalDateTime.now().minus(retention));
+    if (purged > 0) {
+      LOGGER.debugf("Purged %d entity changes older than %s", purged, retention);
+    }
+  }
+
+  // The second-level cache of this node still holds the row as it was before the other node wrote it
+  private void evict(SingleFlightCache<Long, ?> cache, Class<?> entity, String id) {
+    if (id == null) {
+      cache.invalidateAll();
+      entityManagerFactory.getCache().evict(entity);
+    } else {
+      cache.invalidate(Long.valueOf(id));
+      entityManagerFactory.getCache().evict(entity, Long.valueOf(id));
+    }
+  }
+
+  private List<Row> load(long after) throws SQLException {
+    try (Connection connection = dataSource.getConnection();
+        PreparedStatement statement = connection.prepareStatement(SELECT)) {
+      statement.setLong(1, after);
+      statement.setMaxRows(MAX_ROWS);
+      try (ResultSet rs = statement.executeQuery()) {
+        List<Row> rows = new ArrayList<>();
+        while (rs.next()) {
+          String eventType = rs.getString(5);
+          WarehouseEvent event =
+              eventType == null
+                  ? null
+                  : new WarehouseEvent(
+                      WarehouseEvent.Type.valueOf(eventType),
+                      rs.getString(4),
+                      rs.getString(6),
+                      rs.getInt(7),
+                      rs.getInt(8));
+          rows.add(
+              new Row(
+                  rs.getLong(1),
+                  rs.getString(2),
+                  new EntityChangePublisher.Change(Aggregate.valueOf(rs.getString(3)), rs.getString(4), event)));
+        }
+        return rows;
+      }
+    }
+  }
+}
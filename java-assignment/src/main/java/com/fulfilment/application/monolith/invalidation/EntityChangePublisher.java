@@ -0,0 +1,138 @@
+package com.fulfilment.application.monolith.invalidation;
+
+import com.fulfilment.application.monolith.conditional.Aggregate;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseEvent;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseEvents;
+import io.agroal.api.AgroalDataSource;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+/**
+ * Publishes writes to stores, products and warehouses to the other nodes through the {@code
+ * entity_change} table. The changes of a transaction are collected and inserted in one batch right
+ * before it commits, in the same transaction: a row becomes visible exactly when the change does, a
+ * rollback publishes nothing, and the ids are taken so close to the commit that rows rarely become
+ * visible out of id order (see {@link EntityChangePoller} for when they do).
+ */
+@ApplicationScoped
+public class EntityChangePublisher {
+
+  private static final Logger LOGGER = Logger.getLogger(EntityChangePublisher.class.getName());
+
+  private static final String INSERT =
+      "INSERT INTO entity_change (node, aggregate, entityId, eventType, location, capacity, stock, changedAt)"
+          + " VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+  // Key of the changes collected for the current transaction in the synchronization registry
+  private static final Object PENDING = new Object();
+
+  record Change(Aggregate aggregate, String entityId, WarehouseEvent event) {}
+
+  @Inject AgroalDataSource dataSource;
+  @Inject TransactionSynchronizationRegistry transactionSynchronizationRegistry;
+
+  @ConfigProperty(name = "entity-changes.enabled", defaultValue = "true")
+  boolean enabled;
+
+  private final String node = UUID.randomUUID().toString();
+
+  /** Identifies this process in the rows it writes, so its own poller can skip them. */
+  public String node() {
+    return node;
+  }
+
+  /** Publishes a change of the store or product {@code id}, once the current transaction commits. */
+  public void publish(Aggregate aggregate, Long id) {
+    publish(new Change(aggregate, id == null ? null : id.toString(), null));
+  }
+
+  // Fired by the use cases inside the transaction of the change, once per warehouse created or archived
+  void onWarehouseEvent(@Observes WarehouseEvent event) {
+    publish(new Change(Aggregate.WAREHOUSE, event.businessUnitCode(), event));
+  }
+
+  void onWarehouseEvents(@Observes WarehouseEvents batch) {
+    batch.events().forEach(this::onWarehouseEvent);
+  }
+
+  @SuppressWarnings("unchecked")
+  private void publish(Change change) {
+    if (!enabled) {
+      return;
+    }
+    if (transactionSynchronizationRegistry.getTransactionKey() == null) {
+      // The reactive warehouse stack has no JTA transaction, it publishes from a worker after its commit
+      insertQuietly(List.of(change));
+      return;
+    }
+
+    List<Change> pending = (List<Change>) transactionSynchronizationRegistry.getResource(PENDING);
+    if (pending == null) {
+      List<Change> changes = new ArrayList<>();
+      transactionSynchronizationRegistry.putResource(PENDING, changes);
+      transactionSynchronizationRegistry.registerInterposedSynchronization(
+          new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+              if (transactionSynchronizationRegistry.getTransactionStatus() == Status.STATUS_ACTIVE) {
+                insert(changes);
+              }
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+              // no-op
+            }
+          });
+      pending = changes;
+    }
+    pending.add(change);
+  }
+
+  private void insertQuietly(List<Change> changes) {
+    try {
+      insert(changes);
+    } catch (RuntimeException e) {
+      LOGGER.warnf(
+          e, "Failed to publish %d entity change(s), other nodes catch up on their next reload", changes.size());
+    }
+  }
+
+  // Inside a transaction the connection is enlisted in it, so a failure here rolls the change back
+  private void insert(List<Change> changes) {
+    Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+    try (Connection connection = dataSource.getConnection();
+        PreparedStatement statement = connection.prepareStatement(INSERT)) {
+      for (Change change : changes) {
+        WarehouseEvent event = change.event();
+        statement.setString(1, node);
+        statement.setString(2, change.aggregate().name());
+        statement.setString(3, change.entityId());
+        statement.setString(4, event == null ? null : event.type().name());
+        statement.setString(5, event == null ? null : event.location());
+        statement.setObject(6, event == null ? null : event.capacity(), Types.INTEGER);
+        statement.setObject(7, event == null ? null : event.stock(), Types.INTEGER);
+        statement.setTimestamp(8, now);
+        statement.addBatch();
+      }
+      statement.executeBatch();
+    } catch (SQLException e) {
+      throw new IllegalStateException("Failed to publish " + changes.size() + " entity change(s)", e);
+    }
+  }
+}
@@ -0,0 +1,68 @@
+package com.fulfilment.application.monolith.location;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.Location;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Static catalog of the known locations. It has no dependencies so the native build initializes it
+ * at build time (see {@code quarkus.native.additional-build-args}) and the catalog ends up in the
+ * image heap instead of being rebuilt on every cold start.
+ */
+public final class LocationCatalog {
+
+  private static final Map<String, Location> LOCATIONS;
+
+  // Locations that only exist in a generated data set (see datagen), empty otherwise
+  private static volatile Map<String, Location> generated = Map.of();
+
+  static {
+    Map<String, Location> locations = new LinkedHashMap<>();
+    add(locations, new Location("ZWOLLE-001", 1, 40, 52.5168, 6.0830));
+    add(locations, new Location("ZWOLLE-002", 2, 50, 52.4950, 6.1310));
+    add(locations, new Location("AMSTERDAM-001", 5, 100, 52.3676, 4.9041));
+    add(locations, new Location("AMSTERDAM-002", 3, 75, 52.3105, 4.7683));
+    add(locations, new Location("TILBURG-001", 1, 40, 51.5555, 5.0913));
+    add(locations, new Location("HELMOND-001", 1, 45, 51.4793, 5.6570));
+    add(locations, new Location("EINDHOVEN-001", 2, 70, 51.4416, 5.4697));
+    add(locations, new Location("VETSBY-001", 1, 90, 56.5510, 14.1374));
+    LOCATIONS = Collections.unmodifiableMap(locations);
+  }
+
+  private LocationCatalog() {}
+
+  public static Location find(String identifier) {
+    Location location = LOCATIONS.get(key(identifier));
+    return location != null ? location : generated.get(key(identifier));
+  }
+
+  public static Collection<Location> all() {
+    Map<String, Location> extra = generated;
+    if (extra.isEmpty()) {
+      return LOCATIONS.values();
+    }
+    List<Location> all = new ArrayList<>(LOCATIONS.values());
+    all.addAll(extra.values());
+    return Collections.unmodifiableList(all);
+  }
+
+  /** Replaces the generated locations; catalog locations with the same identifier take precedence. */
+  public static void registerGenerated(Collection<Location> locations) {
+    Map<String, Location> extra = new LinkedHashMap<>();
+    locations.forEach(location -> add(extra, location));
+    generated = Collections.unmodifiableMap(extra);
+  }
+
+  private static void add(Map<String, Location> locations, Location location) {
+    locations.put(key(location.identification), location);
+  }
+
+  private static String key(String identifier) {
+    return identifier.toUpperCase(Locale.ROOT);
+  }
+}
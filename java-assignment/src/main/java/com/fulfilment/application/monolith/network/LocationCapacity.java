@@ -0,0 +1,10 @@
+package com.fulfilment.application.monolith.network;
+
+/** Usage of one location at a point in time, next to its limits from the location catalog. */
+public record LocationCapacity(
+    String location,
+    int warehouses,
+    int capacity,
+    int stock,
+    int maxNumberOfWarehouses,
+    int maxCapacity) {}
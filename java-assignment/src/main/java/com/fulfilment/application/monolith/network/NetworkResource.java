@@ -0,0 +1,128 @@
+package com.fulfilment.application.monolith.network;
+
+import com.fulfilment.application.monolith.encoding.ApiMediaTypes;
+import com.fulfilment.application.monolith.errors.RequestRejectedException;
+import com.fulfilment.application.monolith.errors.ValidationResult;
+import com.fulfilment.application.monolith.location.LocationCatalog;
+import com.fulfilment.application.monolith.warehouses.adapters.database.WarehouseHistoryView;
+import com.fulfilment.application.monolith.warehouses.adapters.database.WarehouseRepository;
+import com.fulfilment.application.monolith.warehouses.domain.models.Location;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+@Path("network")
+@ApplicationScoped
+@Produces("application/json")
+public class NetworkResource {
+
+  @Inject WarehouseRepository warehouseRepository;
+  @Inject NetworkSimulator networkSimulator;
+
+  @ConfigProperty(name = "network-simulation.max-steps", defaultValue = "100000")
+  int maxSteps;
+
+  /**
+   * Active warehouses and per-location usage as of {@code at} (ISO date or date-time, defaults to
+   * now). A date means the start of that day.
+   */
+  @GET
+  @Produces({MediaType.APPLICATION_JSON, ApiMediaTypes.CBOR, ApiMediaTypes.SMILE})
+  @Path("snapshot")
+  public NetworkSnapshot snapshot(@QueryParam("at") String at) {
+    LocalDateTime asOf = parseAt(at);
+    List<WarehouseHistoryView> warehouses = warehouseRepository.listActiveAt(asOf);
+    return new NetworkSnapshot(asOf, warehouses, capacityByLocation(warehouses));
+  }
+
+  /**
+   * Runs each scenario's create/replace/archive steps with the warehouse validation rules against a
+   * snapshot of the current network and reports whether it is feasible and the resulting usage.
+   * Nothing is written.
+   */
+  @POST
+  @Path("simulations")
+  @Consumes("application/json")
+  public List<SimulationResult> simulate(SimulationRequest request) {
+    List<SimulationRequest.Scenario> scenarios = request == null ? null : request.scenarios();
+    if (scenarios == null || scenarios.isEmpty()) {
+      throw new RequestRejectedException(422, "At least one scenario must be provided.");
+    }
+
+    var validation = new ValidationResult();
+    long steps = 0;
+    for (int i = 0; i < scenarios.size(); i++) {
+      SimulationRequest.Scenario scenario = scenarios.get(i);
+      String prefix = "scenarios[" + i + "].";
+      boolean hasSteps = scenario != null && scenario.steps() != null && !scenario.steps().isEmpty();
+      validation.require(hasSteps, prefix + "steps", "Scenario " + i + ": at least one step must be provided.");
+      if (!hasSteps) {
+        continue;
+      }
+      steps += scenario.steps().size();
+      for (int j = 0; j < scenario.steps().size(); j++) {
+        SimulationRequest.Step step = scenario.steps().get(j);
+        validation.require(
+            step != null && step.action() != null,
+            prefix + "steps[" + j + "].action",
+            "Scenario " + i + ", step " + j + ": action must be one of CREATE, REPLACE, ARCHIVE.");
+      }
+    }
+    validation.require(
+        steps <= maxSteps, "scenarios", "A simulation may have at most " + maxSteps + " steps in total.");
+    validation.throwIfInvalid(422);
+
+    return networkSimulator.simulate(scenarios);
+  }
+
+  static List<LocationCapacity> capacityByLocation(List<WarehouseHistoryView> warehouses) {
+    Map<String, int[]> totals = new LinkedHashMap<>();
+    for (WarehouseHistoryView warehouse : warehouses) {
+      int[] total = totals.computeIfAbsent(warehouse.location(), location -> new int[3]);
+      total[0]++;
+      total[1] += warehouse.capacity() == null ? 0 : warehouse.capacity();
+      total[2] += warehouse.stock() == null ? 0 : warehouse.stock();
+    }
+
+    List<LocationCapacity> locations = new ArrayList<>(totals.size());
+    totals.forEach(
+        (identifier, total) -> {
+          Location location = identifier == null ? null : LocationCatalog.find(identifier);
+          locations.add(
+              new LocationCapacity(
+                  identifier,
+                  total[0],
+                  total[1],
+                  total[2],
+                  location == null ? 0 : location.maxNumberOfWarehouses,
+                  location == null ? 0 : location.maxCapacity));
+        });
+    return locations;
+  }
+
+  private static LocalDateTime parseAt(String at) {
+    if (at == null || at.isBlank()) {
+      return LocalDateTime.now();
+    }
+    String value = at.trim();
+    try {
+      return value.length() == 10 ? LocalDate.parse(value).atStartOfDay() : LocalDateTime.parse(value);
+    } catch (DateTimeParseException e) {
+      throw new RequestRejectedException(400, "Invalid at: " + at + ", expected an ISO date or date-time.");
+    }
+  }
+}
@@ -0,0 +1,134 @@
+package com.fulfilment.application.monolith.network;
+
+import com.fulfilment.application.monolith.location.LocationCatalog;
+import com.fulfilment.application.monolith.warehouses.adapters.database.WarehouseRepository;
+import com.fulfilment.application.monolith.warehouses.domain.models.Location;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.ports.LocationResolver;
+import com.fulfilment.application.monolith.warehouses.domain.usecases.ArchiveWarehouseUseCase;
+import com.fulfilment.application.monolith.warehouses.domain.usecases.CreateWarehouseUseCase;
+import com.fulfilment.application.monolith.warehouses.domain.usecases.ReplaceWarehouseUseCase;
+import com.fulfilment.application.monolith.warehouses.domain.usecases.WarehouseOperationException;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+/**
+ * Runs what-if scenarios through the real create/replace/archive use cases. The active warehouses
+ * are read once per batch into an immutable {@link NetworkState}; every scenario then runs on the
+ * pool against its own {@link SimulatedWarehouseStore}, so nothing is written to the database and
+ * scenarios never see each other's steps.
+ */
+@ApplicationScoped
+public class NetworkSimulator {
+
+  private static final Logger LOGGER = Logger.getLogger(NetworkSimulator.class.getName());
+
+  @Inject WarehouseRepository warehouseRepository;
+
+  private final ForkJoinPool pool;
+
+  public NetworkSimulator(
+      @ConfigProperty(name = "network-simulation.parallelism", defaultValue = "0") int parallelism) {
+    this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+  }
+
+  @PreDestroy
+  void shutdown() {
+    pool.shutdown();
+  }
+
+  public List<SimulationResult> simulate(List<SimulationRequest.Scenario> scenarios) {
+    long start = System.nanoTime();
+    NetworkState state =
+        new NetworkState(
+            warehouseRepository.listActive(), warehouseRepository.listBusinessUnitCodes(), LocationCatalog.all());
+    long loaded = System.nanoTime();
+
+    List<SimulationResult> results =
+        pool.submit(() -> scenarios.parallelStream().map(scenario -> run(state, scenario)).toList()).join();
+    LOGGER.debugf(
+        "Simulated %d scenarios against %d active warehouses: snapshot %d ms, scenarios %d ms",
+        scenarios.size(),
+        state.warehouses,
+        (loaded - start) / 1_000_000,
+        (System.nanoTime() - loaded) / 1_000_000);
+    return results;
+  }
+
+  static SimulationResult run(NetworkState state, SimulationRequest.Scenario scenario) {
+    SimulatedWarehouseStore store = new SimulatedWarehouseStore(state);
+    LocationResolver resolver = state::location;
+    var create = new CreateWarehouseUseCase(store, resolver);
+    var replace = new ReplaceWarehouseUseCase(store, resolver);
+    var archive = new ArchiveWarehouseUseCase(store);
+
+    List<SimulationRequest.Step> steps = scenario.steps();
+    Integer failedStep = null;
+    WarehouseOperationException rejection = null;
+    for (int i = 0; i < steps.size() && rejection == null; i++) {
+      SimulationRequest.Step step = steps.get(i);
+      Warehouse warehouse = toWarehouse(step);
+      try {
+        switch (step.action()) {
+          case CREATE -> create.create(warehouse);
+          case REPLACE -> replace.replace(warehouse);
+          case ARCHIVE -> archive.archive(warehouse);
+        }
+      } catch (WarehouseOperationException e) {
+        failedStep = i;
+        rejection = e;
+      }
+    }
+
+    long[] totals = store.networkTotals();
+    return new SimulationResult(
+        scenario.name(),
+        rejection == null,
+        failedStep,
+        rejection == null ? null : rejection.status,
+        rejection == null ? null : rejection.getMessage(),
+        usage(state, store),
+        totals[0],
+        totals[1],
+        totals[2]);
+  }
+
+  private static List<LocationCapacity> usage(NetworkState state, SimulatedWarehouseStore store) {
+    List<LocationCapacity> locations = new ArrayList<>(store.touchedLocations().size());
+    for (String identifier : store.touchedLocations()) {
+      int count = 0;
+      int capacity = 0;
+      int stock = 0;
+      for (Warehouse warehouse : store.listActiveAtLocation(identifier)) {
+        count++;
+        capacity += warehouse.capacity == null ? 0 : warehouse.capacity;
+        stock += warehouse.stock == null ? 0 : warehouse.stock;
+      }
+      Location location = state.location(identifier);
+      locations.add(
+          new LocationCapacity(
+              identifier,
+              count,
+              capacity,
+              stock,
+              location == null ? 0 : location.maxNumberOfWarehouses,
+              location == null ? 0 : location.maxCapacity));
+    }
+    return locations;
+  }
+
+  private static Warehouse toWarehouse(SimulationRequest.Step step) {
+    Warehouse warehouse = new Warehouse();
+    warehouse.businessUnitCode = step.businessUnitCode();
+    warehouse.location = step.location();
+    warehouse.capacity = step.capacity();
+    warehouse.stock = step.stock();
+    return warehouse;
+  }
+}
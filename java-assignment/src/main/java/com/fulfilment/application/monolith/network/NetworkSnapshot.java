@@ -0,0 +1,8 @@
+package com.fulfilment.application.monolith.network;
+
+import com.fulfilment.application.monolith.warehouses.adapters.database.WarehouseHistoryView;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record NetworkSnapshot(
+    LocalDateTime at, List<WarehouseHistoryView> warehouses, List<LocationCapacity> locations) {}
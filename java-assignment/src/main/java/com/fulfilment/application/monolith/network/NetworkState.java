@@ -0,0 +1,87 @@
+package com.fulfilment.application.monolith.network;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.Location;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable snapshot of the active warehouses and the location catalog that simulations run
+ * against. It is shared by all scenarios of a batch, each scenario writes to its own {@link
+ * SimulatedWarehouseStore} on top of it; the warehouses held here must never be handed out
+ * without copying them.
+ */
+final class NetworkState {
+
+  private final Map<String, Warehouse> activeByCode;
+  private final Map<String, List<Warehouse>> activeByLocation;
+  private final Set<String> archivedCodes;
+  private final Map<String, Location> locations;
+  final int warehouses;
+  final long capacity;
+  final long stock;
+
+  NetworkState(Collection<Warehouse> active, Collection<String> businessUnitCodes, Collection<Location> catalog) {
+    Map<String, Warehouse> byCode = new HashMap<>();
+    Map<String, List<Warehouse>> byLocation = new HashMap<>();
+    long totalCapacity = 0;
+    long totalStock = 0;
+    for (Warehouse warehouse : active) {
+      byCode.put(warehouse.businessUnitCode, warehouse);
+      byLocation.computeIfAbsent(key(warehouse.location), location -> new ArrayList<>()).add(warehouse);
+      totalCapacity += warehouse.capacity == null ? 0 : warehouse.capacity;
+      totalStock += warehouse.stock == null ? 0 : warehouse.stock;
+    }
+    byLocation.replaceAll((location, warehouses) -> Collections.unmodifiableList(warehouses));
+
+    Set<String> archived = new HashSet<>();
+    for (String code : businessUnitCodes) {
+      if (!byCode.containsKey(code)) {
+        archived.add(code);
+      }
+    }
+    Map<String, Location> byIdentifier = new HashMap<>();
+    catalog.forEach(location -> byIdentifier.put(key(location.identification), location));
+
+    this.activeByCode = Collections.unmodifiableMap(byCode);
+    this.activeByLocation = Collections.unmodifiableMap(byLocation);
+    this.archivedCodes = Collections.unmodifiableSet(archived);
+    this.locations = Collections.unmodifiableMap(byIdentifier);
+    this.warehouses = byCode.size();
+    this.capacity = totalCapacity;
+    this.stock = totalStock;
+  }
+
+  Collection<Warehouse> active() {
+    return activeByCode.values();
+  }
+
+  Warehouse active(String businessUnitCode) {
+    return activeByCode.get(businessUnitCode);
+  }
+
+  /** Whether {@code businessUnitCode} only has archived warehouses in the history. */
+  boolean isArchived(String businessUnitCode) {
+    return archivedCodes.contains(businessUnitCode);
+  }
+
+  List<Warehouse> activeAt(String location) {
+    return location == null ? List.of() : activeByLocation.getOrDefault(key(location), List.of());
+  }
+
+  /** Resolves like the location gateway, against the catalog as it was when the snapshot was taken. */
+  Location location(String identifier) {
+    return identifier == null || identifier.isBlank() ? null : locations.get(key(identifier.trim()));
+  }
+
+  private static String key(String identifier) {
+    return identifier == null ? "" : identifier.toUpperCase(Locale.ROOT);
+  }
+}
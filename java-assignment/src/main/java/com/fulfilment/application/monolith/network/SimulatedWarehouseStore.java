@@ -0,0 +1,174 @@
+package com.fulfilment.application.monolith.network;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Copy-on-write {@link WarehouseStore} for one scenario: reads fall through to the shared {@link
+ * NetworkState} unless the scenario has written or removed the business unit, writes only go to the
+ * overlay. The use cases modify the warehouses they read, so every read returns a copy.
+ */
+final class SimulatedWarehouseStore implements WarehouseStore {
+
+  // Stands in for the unknown createdAt/archivedAt of a business unit that is archived in the history
+  private static final LocalDateTime ARCHIVED_BEFORE_SNAPSHOT = LocalDateTime.MIN;
+
+  private final NetworkState state;
+  private final Map<String, Warehouse> written = new LinkedHashMap<>();
+  // Business units the scenario deleted, hiding their snapshot rows and archived history
+  private final Set<String> removed = new LinkedHashSet<>();
+  private final Set<String> touchedLocations = new LinkedHashSet<>();
+
+  SimulatedWarehouseStore(NetworkState state) {
+    this.state = state;
+  }
+
+  /** The snapshot's active warehouses with this scenario's writes applied, plus what it archived. */
+  @Override
+  public List<Warehouse> getAll() {
+    List<Warehouse> all = new ArrayList<>();
+    for (Warehouse warehouse : state.active()) {
+      if (!overlaid(warehouse.businessUnitCode)) {
+        all.add(copy(warehouse));
+      }
+    }
+    for (Warehouse warehouse : written.values()) {
+      all.add(copy(warehouse));
+    }
+    return all;
+  }
+
+  @Override
+  public void create(Warehouse warehouse) {
+    write(warehouse);
+  }
+
+  /** There are no concurrent writers in a simulation, so the version guard always holds. */
+  @Override
+  public void update(Warehouse warehouse) {
+    write(warehouse);
+  }
+
+  /** Deletes every row of the business unit, like the database store, by hiding it in the overlay. */
+  @Override
+  public void remove(Warehouse warehouse) {
+    if (warehouse == null) {
+      throw new IllegalArgumentException("warehouse must not be null");
+    }
+    String code = warehouse.businessUnitCode;
+    Warehouse before = written.remove(code);
+    if (before == null) {
+      before = state.active(code);
+    }
+    if (before != null && before.archivedAt == null && before.location != null) {
+      touchedLocations.add(before.location);
+    }
+    removed.add(code);
+  }
+
+  @Override
+  public Warehouse findByBusinessUnitCode(String buCode) {
+    if (buCode == null || buCode.isBlank()) {
+      return null;
+    }
+    String code = buCode.trim();
+    if (removed.contains(code)) {
+      return null;
+    }
+    Warehouse warehouse = written.get(code);
+    if (warehouse == null) {
+      warehouse = state.active(code);
+    }
+    if (warehouse != null) {
+      return copy(warehouse);
+    }
+    if (state.isArchived(code)) {
+      Warehouse archived = new Warehouse();
+      archived.businessUnitCode = code;
+      archived.createdAt = ARCHIVED_BEFORE_SNAPSHOT;
+      archived.archivedAt = ARCHIVED_BEFORE_SNAPSHOT;
+      return archived;
+    }
+    return null;
+  }
+
+  @Override
+  public List<Warehouse> listActiveAtLocation(String location) {
+    List<Warehouse> active = new ArrayList<>();
+    for (Warehouse warehouse : state.activeAt(location)) {
+      if (!overlaid(warehouse.businessUnitCode)) {
+        active.add(copy(warehouse));
+      }
+    }
+    for (Warehouse warehouse : written.values()) {
+      if (warehouse.archivedAt == null && location.equalsIgnoreCase(warehouse.location)) {
+        active.add(copy(warehouse));
+      }
+    }
+    return active;
+  }
+
+  /** Locations whose active warehouses this scenario changed, in the order they were first written. */
+  Set<String> touchedLocations() {
+    return touchedLocations;
+  }
+
+  /** Active warehouses, capacity and stock of the whole network with this scenario's writes applied. */
+  long[] networkTotals() {
+    long[] totals = {state.warehouses, state.capacity, state.stock};
+    for (String code : removed) {
+      Warehouse before = state.active(code);
+      if (before != null && !written.containsKey(code)) {
+        add(totals, before, -1);
+      }
+    }
+    for (Warehouse warehouse : written.values()) {
+      Warehouse before = state.active(warehouse.businessUnitCode);
+      if (before != null) {
+        add(totals, before, -1);
+      }
+      if (warehouse.archivedAt == null) {
+        add(totals, warehouse, 1);
+      }
+    }
+    return totals;
+  }
+
+  private boolean overlaid(String businessUnitCode) {
+    return written.containsKey(businessUnitCode) || removed.contains(businessUnitCode);
+  }
+
+  private void write(Warehouse warehouse) {
+    // a replacement archives and creates the same business unit, the last write is the current row
+    removed.remove(warehouse.businessUnitCode);
+    written.put(warehouse.businessUnitCode, copy(warehouse));
+    if (warehouse.location != null) {
+      touchedLocations.add(warehouse.location);
+    }
+  }
+
+  private static void add(long[] totals, Warehouse warehouse, int sign) {
+    totals[0] += sign;
+    totals[1] += sign * (long) (warehouse.capacity == null ? 0 : warehouse.capacity);
+    totals[2] += sign * (long) (warehouse.stock == null ? 0 : warehouse.stock);
+  }
+
+  private static Warehouse copy(Warehouse warehouse) {
+    Warehouse copy = new Warehouse();
+    copy.businessUnitCode = warehouse.businessUnitCode;
+    copy.location = warehouse.location;
+    copy.capacity = warehouse.capacity;
+    copy.stock = warehouse.stock;
+    copy.createdAt = warehouse.createdAt;
+    copy.archivedAt = warehouse.archivedAt;
+    copy.version = warehouse.version;
+    return copy;
+  }
+}
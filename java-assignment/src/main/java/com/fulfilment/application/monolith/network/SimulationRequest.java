@@ -0,0 +1,19 @@
+package com.fulfilment.application.monolith.network;
+
+import java.util.List;
+
+/** A batch of what-if scenarios; each one starts from the same snapshot of the network. */
+public record SimulationRequest(List<Scenario> scenarios) {
+
+  public enum Action {
+    CREATE,
+    REPLACE,
+    ARCHIVE
+  }
+
+  /** Steps are applied in order and the scenario stops at the first one that is rejected. */
+  public record Scenario(String name, List<Step> steps) {}
+
+  /** {@code location}, {@code capacity} and {@code stock} are ignored for {@link Action#ARCHIVE}. */
+  public record Step(Action action, String businessUnitCode, String location, Integer capacity, Integer stock) {}
+}
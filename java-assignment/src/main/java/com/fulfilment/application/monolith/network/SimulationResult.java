@@ -0,0 +1,21 @@
+package com.fulfilment.application.monolith.network;
+
+import java.util.List;
+
+/**
+ * Outcome of one scenario. When a step is rejected, {@code failedStep} is its index with the status
+ * and message the warehouse API would have answered; the usage then reflects the steps before it.
+ *
+ * @param locations usage of every location the applied steps changed
+ * @param warehouses active warehouses in the whole network afterwards
+ */
+public record SimulationResult(
+    String name,
+    boolean feasible,
+    Integer failedStep,
+    Integer status,
+    String message,
+    List<LocationCapacity> locations,
+    long warehouses,
+    long capacity,
+    long stock) {}
@@ -2,6 +2,15 @@ package com.fulfilment.application.monolith.products;
 
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import org.hibernate.jpa.HibernateHints;
 
 @ApplicationScoped
-public class ProductRepository implements PanacheRepository<Product> {}
+public class ProductRepository implements PanacheRepository<Product> {
+
+  public ProductView findViewById(Long id) {
+    return find("id", id)
+        .project(ProductView.class)
+        .withHint(HibernateHints.HINT_READ_ONLY, true)
+        .firstResult();
+  }
+}
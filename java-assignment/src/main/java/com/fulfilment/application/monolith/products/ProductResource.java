@@ -1,7 +1,13 @@
 package com.fulfilment.application.monolith.products;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fulfilment.application.monolith.coalescing.HotReadCaches;
+import com.fulfilment.application.monolith.conditional.Aggregate;
+import com.fulfilment.application.monolith.conditional.ChangeCounters;
+import com.fulfilment.application.monolith.encoding.ApiMediaTypes;
+import com.fulfilment.application.monolith.errors.RequestRejectedException;
+import com.fulfilment.application.monolith.invalidation.EntityChangePublisher;
+import com.fulfilment.application.monolith.replica.ReadRouting;
+import com.fulfilment.application.monolith.replica.ReplicaQueries;
 import io.quarkus.panache.common.Sort;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -13,12 +19,9 @@ import jakarta.ws.rs.POST;
 import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
-import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
-import jakarta.ws.rs.ext.ExceptionMapper;
-import jakarta.ws.rs.ext.Provider;
 import java.util.List;
-import org.jboss.logging.Logger;
 
 @Path("product")
 @ApplicationScoped
@@ -27,32 +30,44 @@ import org.jboss.logging.Logger;
 public class ProductResource {
 
   @Inject ProductRepository productRepository;
-
-  private static final Logger LOGGER = Logger.getLogger(ProductResource.class.getName());
+  @Inject ReadRouting readRouting;
+  @Inject ReplicaQueries replicaQueries;
+  @Inject HotReadCaches hotReadCaches;
+  @Inject ChangeCounters changeCounters;
+  @Inject EntityChangePublisher entityChanges;
 
   @GET
+  @Produces({MediaType.APPLICATION_JSON, ApiMediaTypes.CBOR, ApiMediaTypes.SMILE})
   public List<Product> get() {
-    return productRepository.listAll(Sort.by("name"));
+    return readRouting.read(replicaQueries::listProducts, () -> productRepository.listAll(Sort.by("name")));
   }
 
   @GET
   @Path("{id}")
-  public Product getSingle(Long id) {
-    Product entity = productRepository.findById(id);
-    if (entity == null) {
-      throw new WebApplicationException("Product with id of " + id + " does not exist.", 404);
-    }
-    return entity;
+  public ProductView getSingle(Long id) {
+    return hotReadCaches
+        .products()
+        .get(
+            id,
+            () -> {
+              ProductView view = productRepository.findViewById(id);
+              if (view == null) {
+                throw new RequestRejectedException(404, "Product with id of " + id + " does not exist.");
+              }
+              return view;
+            });
   }
 
   @POST
   @Transactional
   public Response create(Product product) {
     if (product.id != null) {
-      throw new WebApplicationException("Id was invalidly set on request.", 422);
+      throw new RequestRejectedException(422, "Id was invalidly set on request.");
     }
 
     productRepository.persist(product);
+    changeCounters.bumpAfterCommit(Aggregate.PRODUCT);
+    entityChanges.publish(Aggregate.PRODUCT, product.id);
     return Response.ok(product).status(201).build();
   }
 
@@ -61,13 +76,13 @@ public class ProductResource {
   @Transactional
   public Product update(Long id, Product product) {
     if (product.name == null) {
-      throw new WebApplicationException("Product Name was not set on request.", 422);
+      throw new RequestRejectedException(422, "Product Name was not set on request.");
     }
 
     Product entity = productRepository.findById(id);
 
     if (entity == null) {
-      throw new WebApplicationException("Product with id of " + id + " does not exist.", 404);
+      throw new RequestRejectedException(404, "Product with id of " + id + " does not exist.");
     }
 
     entity.name = product.name;
@@ -76,6 +91,9 @@ public class ProductResource {
     entity.stock = product.stock;
 
     productRepository.persist(entity);
+    hotReadCaches.invalidate(hotReadCaches.products(), id);
+    changeCounters.bumpAfterCommit(Aggregate.PRODUCT);
+    entityChanges.publish(Aggregate.PRODUCT, id);
 
     return entity;
   }
@@ -86,35 +104,12 @@ public class ProductResource {
   public Response delete(Long id) {
     Product entity = productRepository.findById(id);
     if (entity == null) {
-      throw new WebApplicationException("Product with id of " + id + " does not exist.", 404);
+      throw new RequestRejectedException(404, "Product with id of " + id + " does not exist.");
     }
     productRepository.delete(entity);
+    hotReadCaches.invalidate(hotReadCaches.products(), id);
+    changeCounters.bumpAfterCommit(Aggregate.PRODUCT);
+    entityChanges.publish(Aggregate.PRODUCT, id);
     return Response.status(204).build();
   }
-
-  @Provider
-  public static class ErrorMapper implements ExceptionMapper<Exception> {
-
-    @Inject ObjectMapper objectMapper;
-
-    @Override
-    public Response toResponse(Exception exception) {
-      LOGGER.error("Failed to handle request", exception);
-
-      int code = 500;
-      if (exception instanceof WebApplicationException) {
-        code = ((WebApplicationException) exception).getResponse().getStatus();
-      }
-
-      ObjectNode exceptionJson = objectMapper.createObjectNode();
-      exceptionJson.put("exceptionType", exception.getClass().getName());
-      exceptionJson.put("code", code);
-
-      if (exception.getMessage() != null) {
-        exceptionJson.put("error", exception.getMessage());
-      }
-
-      return Response.status(code).entity(exceptionJson).build();
-    }
-  }
 }
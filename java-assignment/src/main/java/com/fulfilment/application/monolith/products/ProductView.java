@@ -0,0 +1,9 @@
+package com.fulfilment.application.monolith.products;
+
+import java.math.BigDecimal;
+
+/**
+ * Read-only projection of a product row, serialized like {@link Product}. Immutable, so it can be
+ * cached and shared between requests, unlike an entity attached to one request's session.
+ */
+public record ProductView(Long id, String name, String description, BigDecimal price, int stock) {}
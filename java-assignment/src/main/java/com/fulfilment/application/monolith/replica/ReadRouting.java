@@ -0,0 +1,42 @@
+package com.fulfilment.application.monolith.replica;
+
+import jakarta.enterprise.context.RequestScoped;
+import java.util.function.Supplier;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+/**
+ * Decides, per request, whether a read-only query may go to the read replica. Reads stay on the
+ * primary when the replica is disabled or when the client wrote recently (read-your-writes, see
+ * {@link ReadYourWritesFilter}), and fall back to the primary when the replica can't be reached.
+ */
+@RequestScoped
+public class ReadRouting {
+
+  private static final Logger LOGGER = Logger.getLogger(ReadRouting.class.getName());
+
+  @ConfigProperty(name = "read-replica.enabled", defaultValue = "false")
+  boolean replicaEnabled;
+
+  private boolean pinnedToPrimary;
+
+  public void pinToPrimary() {
+    this.pinnedToPrimary = true;
+  }
+
+  public boolean useReplica() {
+    return replicaEnabled && !pinnedToPrimary;
+  }
+
+  public <T> T read(Supplier<T> replicaRead, Supplier<T> primaryRead) {
+    if (!useReplica()) {
+      return primaryRead.get();
+    }
+    try {
+      return replicaRead.get();
+    } catch (ReplicaUnavailableException e) {
+      LOGGER.warn("Read replica unavailable, falling back to the primary datasource", e);
+      return primaryRead.get();
+    }
+  }
+}
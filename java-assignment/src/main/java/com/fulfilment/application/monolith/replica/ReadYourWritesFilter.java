@@ -0,0 +1,70 @@
+package com.fulfilment.application.monolith.replica;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.core.Cookie;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.NewCookie;
+import jakarta.ws.rs.ext.Provider;
+import java.time.Duration;
+import java.util.Set;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Read-your-writes stickiness: a successful write sets a short-lived cookie holding the time until
+ * which the client's reads must go to the primary, long enough to cover the replication lag.
+ */
+@Provider
+public class ReadYourWritesFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+  static final String COOKIE_NAME = "primary-until";
+
+  private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+  @Inject ReadRouting readRouting;
+
+  @ConfigProperty(name = "read-replica.enabled", defaultValue = "false")
+  boolean replicaEnabled;
+
+  @ConfigProperty(name = "read-replica.stickiness", defaultValue = "5s")
+  Duration stickiness;
+
+  @Override
+  public void filter(ContainerRequestContext requestContext) {
+    if (!replicaEnabled) {
+      return;
+    }
+    Cookie cookie = requestContext.getCookies().get(COOKIE_NAME);
+    if (cookie != null && parseMillis(cookie.getValue()) > System.currentTimeMillis()) {
+      readRouting.pinToPrimary();
+    }
+  }
+
+  @Override
+  public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+    if (!replicaEnabled
+        || READ_METHODS.contains(requestContext.getMethod())
+        || responseContext.getStatus() >= 400) {
+      return;
+    }
+    NewCookie cookie =
+        new NewCookie.Builder(COOKIE_NAME)
+            .value(Long.toString(System.currentTimeMillis() + stickiness.toMillis()))
+            .path("/")
+            .maxAge((int) Math.max(1, stickiness.toSeconds()))
+            .httpOnly(true)
+            .build();
+    responseContext.getHeaders().add(HttpHeaders.SET_COOKIE, cookie);
+  }
+
+  private static long parseMillis(String value) {
+    try {
+      return Long.parseLong(value);
+    } catch (NumberFormatException e) {
+      return 0L;
+    }
+  }
+}
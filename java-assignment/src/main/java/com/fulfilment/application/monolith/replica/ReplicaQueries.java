@@ -0,0 +1,80 @@
+package com.fulfilment.application.monolith.replica;
+
+import com.fulfilment.application.monolith.products.Product;
+import com.fulfilment.application.monolith.stores.Store;
+import com.fulfilment.application.monolith.warehouses.adapters.database.WarehouseView;
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.agroal.DataSource;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read-only list queries against the {@code replica} datasource. They map rows straight to the
+ * response types; entities built here are never attached to a persistence context.
+ */
+@ApplicationScoped
+public class ReplicaQueries {
+
+  @Inject
+  @DataSource("replica")
+  AgroalDataSource replica;
+
+  public List<Store> listStores() {
+    return query(
+        "SELECT id, name, quantityProductsInStock, latitude, longitude FROM store ORDER BY name",
+        rs -> {
+          Store store = new Store(rs.getString(2));
+          store.id = rs.getLong(1);
+          store.quantityProductsInStock = rs.getInt(3);
+          store.latitude = rs.getObject(4, Double.class);
+          store.longitude = rs.getObject(5, Double.class);
+          return store;
+        });
+  }
+
+  public List<Product> listProducts() {
+    return query(
+        "SELECT id, name, description, price, stock FROM product ORDER BY name",
+        rs -> {
+          Product product = new Product(rs.getString(2));
+          product.id = rs.getLong(1);
+          product.description = rs.getString(3);
+          product.price = rs.getBigDecimal(4);
+          product.stock = rs.getInt(5);
+          return product;
+        });
+  }
+
+  public List<WarehouseView> listActiveWarehouses() {
+    return query(
+        "SELECT businessUnitCode, location, capacity, stock FROM warehouse WHERE archivedAt IS NULL",
+        rs ->
+            new WarehouseView(
+                rs.getString(1), rs.getString(2), (Integer) rs.getObject(3), (Integer) rs.getObject(4)));
+  }
+
+  private <T> List<T> query(String sql, RowMapper<T> mapper) {
+    try (Connection connection = replica.getConnection();
+        PreparedStatement statement = connection.prepareStatement(sql);
+        ResultSet rs = statement.executeQuery()) {
+      List<T> result = new ArrayList<>();
+      while (rs.next()) {
+        result.add(mapper.map(rs));
+      }
+      return result;
+    } catch (SQLException e) {
+      throw new ReplicaUnavailableException("Replica query failed: " + sql, e);
+    }
+  }
+
+  @FunctionalInterface
+  private interface RowMapper<T> {
+    T map(ResultSet rs) throws SQLException;
+  }
+}
@@ -0,0 +1,8 @@
+package com.fulfilment.application.monolith.replica;
+
+public class ReplicaUnavailableException extends RuntimeException {
+
+  public ReplicaUnavailableException(String message, Throwable cause) {
+    super(message, cause);
+  }
+}
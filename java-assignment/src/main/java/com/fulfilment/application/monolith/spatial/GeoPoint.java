@@ -0,0 +1,26 @@
+package com.fulfilment.application.monolith.spatial;
+
+/**
+ * Latitude/longitude helpers. Points are indexed as unit vectors: the straight-line (chord)
+ * distance between two of them grows with the great-circle distance, so a Euclidean nearest
+ * neighbour search is exact on the sphere, also across the antimeridian.
+ */
+final class GeoPoint {
+
+  static final double EARTH_RADIUS_KM = 6371.0088;
+
+  private GeoPoint() {}
+
+  static double[] toUnitVector(double latitude, double longitude) {
+    double lat = Math.toRadians(latitude);
+    double lon = Math.toRadians(longitude);
+    double cosLat = Math.cos(lat);
+    return new double[] {cosLat * Math.cos(lon), cosLat * Math.sin(lon), Math.sin(lat)};
+  }
+
+  /** Great-circle distance for a squared chord length between two unit vectors. */
+  static double chordToKm(double chordSquared) {
+    double chord = Math.sqrt(chordSquared);
+    return 2 * Math.asin(Math.min(1, chord / 2)) * EARTH_RADIUS_KM;
+  }
+}
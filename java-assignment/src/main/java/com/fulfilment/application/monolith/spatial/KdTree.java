@@ -0,0 +1,119 @@
+package com.fulfilment.application.monolith.spatial;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Immutable 3-d tree. The items are laid out in one array so that the median of every subrange is
+ * its node, which keeps the tree pointer-free: a build is a series of range sorts, a query walks
+ * index ranges.
+ */
+final class KdTree<T> {
+
+  private static final int DIMENSIONS = 3;
+
+  private final List<T> items;
+  private final double[] coordinates;
+
+  private KdTree(List<T> items, double[] coordinates) {
+    this.items = items;
+    this.coordinates = coordinates;
+  }
+
+  static <T> KdTree<T> build(List<T> source, Function<T, double[]> position) {
+    int size = source.size();
+    Integer[] order = new Integer[size];
+    double[][] positions = new double[size][];
+    for (int i = 0; i < size; i++) {
+      order[i] = i;
+      positions[i] = position.apply(source.get(i));
+    }
+    arrange(order, positions, 0, size, 0);
+
+    List<T> items = new ArrayList<>(size);
+    double[] coordinates = new double[size * DIMENSIONS];
+    for (int i = 0; i < size; i++) {
+      items.add(source.get(order[i]));
+      System.arraycopy(positions[order[i]], 0, coordinates, i * DIMENSIONS, DIMENSIONS);
+    }
+    return new KdTree<>(items, coordinates);
+  }
+
+  private static void arrange(Integer[] order, double[][] positions, int from, int to, int depth) {
+    if (to - from <= 1) {
+      return;
+    }
+    int axis = depth % DIMENSIONS;
+    Arrays.sort(order, from, to, Comparator.comparingDouble(i -> positions[i][axis]));
+    int mid = (from + to) >>> 1;
+    arrange(order, positions, from, mid, depth + 1);
+    arrange(order, positions, mid + 1, to, depth + 1);
+  }
+
+  int size() {
+    return items.size();
+  }
+
+  /** Up to {@code k} items matching {@code filter}, nearest first, with their squared distances. */
+  List<Neighbour<T>> nearest(double[] target, int k, Predicate<T> filter) {
+    if (k <= 0 || items.isEmpty()) {
+      return List.of();
+    }
+    // max-heap on distance, so the current worst candidate is the one to evict
+    PriorityQueue<Neighbour<T>> best =
+        new PriorityQueue<>(k + 1, Comparator.comparingDouble(Neighbour<T>::distanceSquared).reversed());
+    search(0, items.size(), 0, target, k, filter, best);
+
+    List<Neighbour<T>> result = new ArrayList<>(best);
+    result.sort(Comparator.comparingDouble(Neighbour::distanceSquared));
+    return result;
+  }
+
+  private void search(
+      int from, int to, int depth, double[] target, int k, Predicate<T> filter, PriorityQueue<Neighbour<T>> best) {
+    if (from >= to) {
+      return;
+    }
+    int mid = (from + to) >>> 1;
+    T item = items.get(mid);
+    if (filter.test(item)) {
+      double distance = distanceSquared(mid, target);
+      if (best.size() < k) {
+        best.add(new Neighbour<>(item, distance));
+      } else if (distance < best.peek().distanceSquared()) {
+        best.poll();
+        best.add(new Neighbour<>(item, distance));
+      }
+    }
+
+    int axis = depth % DIMENSIONS;
+    double delta = target[axis] - coordinates[mid * DIMENSIONS + axis];
+    if (delta < 0) {
+      search(from, mid, depth + 1, target, k, filter, best);
+      if (best.size() < k || delta * delta < best.peek().distanceSquared()) {
+        search(mid + 1, to, depth + 1, target, k, filter, best);
+      }
+    } else {
+      search(mid + 1, to, depth + 1, target, k, filter, best);
+      if (best.size() < k || delta * delta < best.peek().distanceSquared()) {
+        search(from, mid, depth + 1, target, k, filter, best);
+      }
+    }
+  }
+
+  private double distanceSquared(int index, double[] target) {
+    double sum = 0;
+    for (int axis = 0; axis < DIMENSIONS; axis++) {
+      double delta = coordinates[index * DIMENSIONS + axis] - target[axis];
+      sum += delta * delta;
+    }
+    return sum;
+  }
+
+  record Neighbour<T>(T item, double distanceSquared) {}
+}
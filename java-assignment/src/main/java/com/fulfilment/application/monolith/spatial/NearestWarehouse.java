@@ -0,0 +1,4 @@
+package com.fulfilment.application.monolith.spatial;
+
+public record NearestWarehouse(
+    String businessUnitCode, String location, int capacity, int stock, int remainingCapacity, double distanceKm) {}
@@ -0,0 +1,31 @@
+package com.fulfilment.application.monolith.spatial;
+
+import com.fulfilment.application.monolith.warehouses.adapters.database.WarehouseRepository;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+
+/** Fills the {@link WarehouseSpatialIndex} at startup and periodically replaces it with the database view. */
+@ApplicationScoped
+public class SpatialIndexLoader {
+
+  @Inject WarehouseRepository warehouseRepository;
+  @Inject WarehouseSpatialIndex index;
+
+  void onStart(@Observes StartupEvent event) {
+    reload();
+  }
+
+  @Scheduled(
+      every = "${spatial-index.reload-interval:5m}",
+      delayed = "${spatial-index.reload-interval:5m}",
+      concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+  @Transactional
+  void reload() {
+    long since = index.sequence();
+    index.reset(warehouseRepository.listActiveViews(), since);
+  }
+}
@@ -0,0 +1,162 @@
+package com.fulfilment.application.monolith.spatial;
+
+import com.fulfilment.application.monolith.location.LocationCatalog;
+import com.fulfilment.application.monolith.warehouses.adapters.database.WarehouseView;
+import com.fulfilment.application.monolith.warehouses.adapters.events.WarehouseEventLog;
+import com.fulfilment.application.monolith.warehouses.domain.models.Location;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseEvent;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseEvents;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.jboss.logging.Logger;
+
+/**
+ * Active warehouses positioned at their location's coordinates, for nearest-warehouse queries.
+ * Kept in sync by committed {@link WarehouseEvent}s and reloaded from the database by {@link
+ * SpatialIndexLoader}, replaying the events that raced its read. Writes only touch a map; the k-d
+ * tree is rebuilt lazily by the first query after a change, so a burst of warehouse writes costs
+ * one rebuild.
+ */
+@ApplicationScoped
+public class WarehouseSpatialIndex {
+
+  private static final Logger LOGGER = Logger.getLogger(WarehouseSpatialIndex.class.getName());
+  private static final int REPLAY_CAPACITY = 10_000;
+
+  private final Map<String, Indexed> byBusinessUnitCode = new HashMap<>();
+  private final WarehouseEventLog log = new WarehouseEventLog(REPLAY_CAPACITY);
+  private KdTree<Indexed> tree = KdTree.build(List.of(), Indexed::position);
+  private boolean stale;
+
+  void onWarehouseEvent(@Observes(during = TransactionPhase.AFTER_SUCCESS) WarehouseEvent event) {
+    apply(event);
+  }
+
+  void onWarehouseEvents(@Observes(during = TransactionPhase.AFTER_SUCCESS) WarehouseEvents batch) {
+    applyAll(batch.events());
+  }
+
+  public synchronized void apply(WarehouseEvent event) {
+    log.append(event);
+    put(event);
+  }
+
+  /** Applies the events under one lock; the tree is rebuilt once for all of them. */
+  public synchronized void applyAll(List<WarehouseEvent> events) {
+    for (WarehouseEvent event : events) {
+      log.append(event);
+      put(event);
+    }
+  }
+
+  /** To be taken before reading the warehouses that are passed to {@link #reset}. */
+  public synchronized long sequence() {
+    return log.sequence();
+  }
+
+  private void put(WarehouseEvent event) {
+    if (event.type() == WarehouseEvent.Type.ARCHIVED) {
+      // after a replace the code may already be indexed again at another location
+      Indexed indexed = byBusinessUnitCode.get(event.businessUnitCode());
+      if (indexed != null && indexed.location().equalsIgnoreCase(event.location())) {
+        byBusinessUnitCode.remove(event.businessUnitCode());
+        stale = true;
+      }
+      return;
+    }
+    Indexed indexed =
+        Indexed.of(event.businessUnitCode(), event.location(), event.capacity(), event.stock());
+    if (indexed != null) {
+      byBusinessUnitCode.put(indexed.businessUnitCode(), indexed);
+      stale = true;
+    }
+  }
+
+  /**
+   * Replaces the whole index with the given active warehouses, then applies again the events applied
+   * after {@code since}, whose transactions may have committed after the warehouses were read. An
+   * event that the read already saw puts or removes the same entry again.
+   */
+  public synchronized void reset(List<WarehouseView> active, long since) {
+    byBusinessUnitCode.clear();
+    for (WarehouseView view : active) {
+      Indexed indexed =
+          Indexed.of(
+              view.businessUnitCode(),
+              view.location(),
+              view.capacity() == null ? 0 : view.capacity(),
+              view.stock() == null ? 0 : view.stock());
+      if (indexed != null) {
+        byBusinessUnitCode.put(indexed.businessUnitCode(), indexed);
+      }
+    }
+    List<WarehouseEvent> missed = log.since(since);
+    if (missed == null) {
+      LOGGER.warnf("Over %d warehouse events during the reload, the next one corrects them", REPLAY_CAPACITY);
+    } else {
+      missed.forEach(this::put);
+    }
+    stale = true;
+  }
+
+  /**
+   * The {@code k} active warehouses closest to the given point that have at least {@code
+   * minRemainingCapacity} free capacity and {@code minStock} stock, nearest first.
+   */
+  public List<NearestWarehouse> nearest(
+      double latitude, double longitude, int k, int minRemainingCapacity, int minStock) {
+    double[] target = GeoPoint.toUnitVector(latitude, longitude);
+    List<NearestWarehouse> result = new ArrayList<>(k);
+    for (KdTree.Neighbour<Indexed> neighbour :
+        currentTree()
+            .nearest(
+                target,
+                k,
+                w -> w.capacity() - w.stock() >= minRemainingCapacity && w.stock() >= minStock)) {
+      Indexed w = neighbour.item();
+      result.add(
+          new NearestWarehouse(
+              w.businessUnitCode(),
+              w.location(),
+              w.capacity(),
+              w.stock(),
+              w.capacity() - w.stock(),
+              GeoPoint.chordToKm(neighbour.distanceSquared())));
+    }
+    return result;
+  }
+
+  public synchronized int size() {
+    return byBusinessUnitCode.size();
+  }
+
+  private synchronized KdTree<Indexed> currentTree() {
+    if (stale) {
+      tree = KdTree.build(new ArrayList<>(byBusinessUnitCode.values()), Indexed::position);
+      stale = false;
+    }
+    return tree;
+  }
+
+  private record Indexed(String businessUnitCode, String location, int capacity, int stock, double[] position) {
+
+    /** Returns {@code null} for warehouses whose location has no known coordinates. */
+    static Indexed of(String businessUnitCode, String location, int capacity, int stock) {
+      Location known = location == null ? null : LocationCatalog.find(location);
+      if (known == null || !known.hasCoordinates()) {
+        return null;
+      }
+      return new Indexed(
+          businessUnitCode,
+          known.identification,
+          capacity,
+          stock,
+          GeoPoint.toUnitVector(known.latitude, known.longitude));
+    }
+  }
+}
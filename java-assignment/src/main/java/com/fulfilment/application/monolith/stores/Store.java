@@ -1,19 +1,34 @@
 package com.fulfilment.application.monolith.stores;
 
-import io.quarkus.hibernate.orm.panache.PanacheEntity;
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
 import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 
 @Entity
 @Cacheable
-public class Store extends PanacheEntity {
+public class Store extends PanacheEntityBase {
+
+  // Same id as PanacheEntity, but with an explicit sequence so the allocation size is ours to tune
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "store_seq")
+  @SequenceGenerator(name = "store_seq", sequenceName = "store_seq", allocationSize = 50)
+  public Long id;
 
   @Column(length = 40, unique = true)
   public String name;
 
   public int quantityProductsInStock;
 
+  // WGS84 position, used to find the nearest warehouses; both null when unknown
+  public Double latitude;
+
+  public Double longitude;
+
   public Store() {}
 
   public Store(String name) {
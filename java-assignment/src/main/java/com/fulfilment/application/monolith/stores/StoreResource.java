@@ -1,7 +1,17 @@
 package com.fulfilment.application.monolith.stores;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fulfilment.application.monolith.admission.AdmissionControlled;
+import com.fulfilment.application.monolith.coalescing.HotReadCaches;
+import com.fulfilment.application.monolith.conditional.Aggregate;
+import com.fulfilment.application.monolith.conditional.ChangeCounters;
+import com.fulfilment.application.monolith.encoding.ApiMediaTypes;
+import com.fulfilment.application.monolith.errors.RequestRejectedException;
+import com.fulfilment.application.monolith.errors.ValidationResult;
+import com.fulfilment.application.monolith.invalidation.EntityChangePublisher;
+import com.fulfilment.application.monolith.replica.ReadRouting;
+import com.fulfilment.application.monolith.replica.ReplicaQueries;
+import com.fulfilment.application.monolith.spatial.NearestWarehouse;
+import com.fulfilment.application.monolith.spatial.WarehouseSpatialIndex;
 import io.quarkus.panache.common.Sort;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -11,17 +21,18 @@ import jakarta.transaction.Status;
 import jakarta.transaction.Synchronization;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.DefaultValue;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.PATCH;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
-import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
-import jakarta.ws.rs.ext.ExceptionMapper;
-import jakarta.ws.rs.ext.Provider;
 import java.util.List;
+import org.hibernate.jpa.HibernateHints;
 import org.jboss.logging.Logger;
 
 @Path("store")
@@ -32,33 +43,56 @@ public class StoreResource {
 
   @Inject LegacyStoreManagerGateway legacyStoreManagerGateway;
   @Inject TransactionSynchronizationRegistry transactionSynchronizationRegistry;
+  @Inject ReadRouting readRouting;
+  @Inject ReplicaQueries replicaQueries;
+  @Inject HotReadCaches hotReadCaches;
+  @Inject ChangeCounters changeCounters;
+  @Inject EntityChangePublisher entityChanges;
+  @Inject WarehouseSpatialIndex spatialIndex;
+
+  private static final int MAX_NEAREST = 100;
 
   private static final Logger LOGGER = Logger.getLogger(StoreResource.class.getName());
 
   @GET
+  @Produces({MediaType.APPLICATION_JSON, ApiMediaTypes.CBOR, ApiMediaTypes.SMILE})
   public List<Store> get() {
-    return Store.listAll(Sort.by("name"));
+    return readRouting.read(replicaQueries::listStores, () -> Store.<Store>listAll(Sort.by("name")));
   }
 
   @GET
   @Path("{id}")
-  public Store getSingle(Long id) {
-    Store entity = Store.findById(id);
-    if (entity == null) {
-      throw new WebApplicationException("Store with id of " + id + " does not exist.", 404);
-    }
-    return entity;
+  public StoreView getSingle(Long id) {
+    return hotReadCaches
+        .stores()
+        .get(
+            id,
+            () -> {
+              StoreView view =
+                  Store.find("id", id)
+                      .project(StoreView.class)
+                      .withHint(HibernateHints.HINT_READ_ONLY, true)
+                      .firstResult();
+              if (view == null) {
+                throw new RequestRejectedException(404, "Store with id of " + id + " does not exist.");
+              }
+              return view;
+            });
   }
 
   @POST
+  @AdmissionControlled("store-create")
   @Transactional
   public Response create(Store store) {
     if (store.id != null) {
-      throw new WebApplicationException("Id was invalidly set on request.", 422);
+      throw new RequestRejectedException(422, "Id was invalidly set on request.");
     }
+    validateCoordinates(store);
 
     store.persist();
     Store.flush();
+    changeCounters.bumpAfterCommit(Aggregate.STORE);
+    entityChanges.publish(Aggregate.STORE, store.id);
 
     runAfterCommit(() -> legacyStoreManagerGateway.createStoreOnLegacySystem(store));
 
@@ -67,22 +101,29 @@ public class StoreResource {
 
   @PUT
   @Path("{id}")
+  @AdmissionControlled("store-update")
   @Transactional
   public Store update(Long id, Store updatedStore) {
     if (updatedStore.name == null) {
-      throw new WebApplicationException("Store Name was not set on request.", 422);
+      throw new RequestRejectedException(422, "Store Name was not set on request.");
     }
+    validateCoordinates(updatedStore);
 
     Store entity = Store.findById(id);
 
     if (entity == null) {
-      throw new WebApplicationException("Store with id of " + id + " does not exist.", 404);
+      throw new RequestRejectedException(404, "Store with id of " + id + " does not exist.");
     }
 
     entity.name = updatedStore.name;
     entity.quantityProductsInStock = updatedStore.quantityProductsInStock;
+    entity.latitude = updatedStore.latitude;
+    entity.longitude = updatedStore.longitude;
 
     Store.flush();
+    hotReadCaches.invalidate(hotReadCaches.stores(), id);
+    changeCounters.bumpAfterCommit(Aggregate.STORE);
+    entityChanges.publish(Aggregate.STORE, id);
 
     runAfterCommit(() -> legacyStoreManagerGateway.updateStoreOnLegacySystem(entity));
 
@@ -91,16 +132,23 @@ public class StoreResource {
 
   @PATCH
   @Path("{id}")
+  @AdmissionControlled("store-patch")
   @Transactional
   public Store patch(Long id, Store updatedStore) {
     if (updatedStore.name == null) {
-      throw new WebApplicationException("Store Name was not set on request.", 422);
+      throw new RequestRejectedException(422, "Store Name was not set on request.");
     }
+    validateCoordinates(updatedStore);
 
     Store entity = Store.findById(id);
 
     if (entity == null) {
-      throw new WebApplicationException("Store with id of " + id + " does not exist.", 404);
+      throw new RequestRejectedException(404, "Store with id of " + id + " does not exist.");
+    }
+
+    if (updatedStore.latitude != null) {
+      entity.latitude = updatedStore.latitude;
+      entity.longitude = updatedStore.longitude;
     }
 
     if (entity.name != null) {
@@ -112,6 +160,9 @@ public class StoreResource {
     }
 
     Store.flush();
+    hotReadCaches.invalidate(hotReadCaches.stores(), id);
+    changeCounters.bumpAfterCommit(Aggregate.STORE);
+    entityChanges.publish(Aggregate.STORE, id);
 
     runAfterCommit(() -> legacyStoreManagerGateway.updateStoreOnLegacySystem(entity));
 
@@ -120,16 +171,58 @@ public class StoreResource {
 
   @DELETE
   @Path("{id}")
+  @AdmissionControlled("store-delete")
   @Transactional
   public Response delete(Long id) {
     Store entity = Store.findById(id);
     if (entity == null) {
-      throw new WebApplicationException("Store with id of " + id + " does not exist.", 404);
+      throw new RequestRejectedException(404, "Store with id of " + id + " does not exist.");
     }
     entity.delete();
+    hotReadCaches.invalidate(hotReadCaches.stores(), id);
+    changeCounters.bumpAfterCommit(Aggregate.STORE);
+    entityChanges.publish(Aggregate.STORE, id);
     return Response.status(204).build();
   }
 
+  /** Active warehouses nearest to the store, optionally only those with room or stock to spare. */
+  @GET
+  @Path("{id}/nearest-warehouses")
+  public List<NearestWarehouse> nearestWarehouses(
+      Long id,
+      @QueryParam("k") @DefaultValue("5") int k,
+      @QueryParam("minRemainingCapacity") @DefaultValue("0") int minRemainingCapacity,
+      @QueryParam("minStock") @DefaultValue("0") int minStock) {
+    new ValidationResult()
+        .require(k >= 1 && k <= MAX_NEAREST, "k", "k must be between 1 and " + MAX_NEAREST + ".")
+        .require(minRemainingCapacity >= 0, "minRemainingCapacity", "minRemainingCapacity must not be negative.")
+        .require(minStock >= 0, "minStock", "minStock must not be negative.")
+        .throwIfInvalid(400);
+
+    StoreView store = getSingle(id);
+    if (store.latitude() == null || store.longitude() == null) {
+      throw new RequestRejectedException(422, "Store with id of " + id + " has no coordinates.");
+    }
+    return spatialIndex.nearest(store.latitude(), store.longitude(), k, minRemainingCapacity, minStock);
+  }
+
+  private static void validateCoordinates(Store store) {
+    new ValidationResult()
+        .require(
+            (store.latitude == null) == (store.longitude == null),
+            "latitude",
+            "latitude and longitude must be set together.")
+        .require(
+            store.latitude == null || (store.latitude >= -90 && store.latitude <= 90),
+            "latitude",
+            "latitude must be between -90 and 90.")
+        .require(
+            store.longitude == null || (store.longitude >= -180 && store.longitude <= 180),
+            "longitude",
+            "longitude must be between -180 and 180.")
+        .throwIfInvalid(422);
+  }
+
   private void runAfterCommit(Runnable runnable) {
     transactionSynchronizationRegistry.registerInterposedSynchronization(
         new Synchronization() {
@@ -150,30 +243,4 @@ public class StoreResource {
           }
         });
   }
-
-  @Provider
-  public static class ErrorMapper implements ExceptionMapper<Exception> {
-
-    @Inject ObjectMapper objectMapper;
-
-    @Override
-    public Response toResponse(Exception exception) {
-      LOGGER.error("Failed to handle request", exception);
-
-      int code = 500;
-      if (exception instanceof WebApplicationException) {
-        code = ((WebApplicationException) exception).getResponse().getStatus();
-      }
-
-      ObjectNode exceptionJson = objectMapper.createObjectNode();
-      exceptionJson.put("exceptionType", exception.getClass().getName());
-      exceptionJson.put("code", code);
-
-      if (exception.getMessage() != null) {
-        exceptionJson.put("error", exception.getMessage());
-      }
-
-      return Response.status(code).entity(exceptionJson).build();
-    }
-  }
 }
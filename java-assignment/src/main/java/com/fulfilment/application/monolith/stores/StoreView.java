@@ -0,0 +1,8 @@
+package com.fulfilment.application.monolith.stores;
+
+/**
+ * Read-only projection of a store row, serialized like {@link Store}. Immutable, so it can be
+ * cached and shared between requests, unlike an entity attached to one request's session.
+ */
+public record StoreView(
+    Long id, String name, int quantityProductsInStock, Double latitude, Double longitude) {}
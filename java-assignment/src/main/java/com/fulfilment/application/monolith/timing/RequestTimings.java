@@ -0,0 +1,95 @@
+package com.fulfilment.application.monolith.timing;
+
+import jakarta.enterprise.context.RequestScoped;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Request-scoped timing collector. It is a no-op unless {@link #enable()} was called for the
+ * current request, so the regular request path only pays for a boolean check.
+ */
+@RequestScoped
+public class RequestTimings {
+
+  private boolean enabled;
+  private long startedAt;
+
+  private final Map<String, Long> phases = new LinkedHashMap<>();
+
+  private int statements;
+  private int batches;
+  private long sqlNanos;
+
+  public void enable() {
+    this.enabled = true;
+    this.startedAt = System.nanoTime();
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public <T> T time(String phase, Supplier<T> work) {
+    if (!enabled) {
+      return work.get();
+    }
+    long sqlBefore = sqlNanos;
+    long start = System.nanoTime();
+    try {
+      return work.get();
+    } finally {
+      // SQL executed inside the phase is already reported under "db", don't count it twice
+      long elapsed = System.nanoTime() - start - (sqlNanos - sqlBefore);
+      phases.merge(phase, Math.max(0L, elapsed), Long::sum);
+    }
+  }
+
+  public void run(String phase, Runnable work) {
+    time(
+        phase,
+        () -> {
+          work.run();
+          return null;
+        });
+  }
+
+  public void recordStatement(long nanos) {
+    statements++;
+    sqlNanos += nanos;
+  }
+
+  public void recordBatch(long nanos) {
+    batches++;
+    sqlNanos += nanos;
+  }
+
+  public int statementCount() {
+    return statements;
+  }
+
+  public int batchCount() {
+    return batches;
+  }
+
+  /** Renders the collected timings as a W3C {@code Server-Timing} header value. */
+  public String toServerTiming() {
+    StringBuilder header = new StringBuilder();
+    header
+        .append("db;dur=")
+        .append(millis(sqlNanos))
+        .append(";desc=\"")
+        .append(statements)
+        .append(" statements, ")
+        .append(batches)
+        .append(" batches\"");
+    phases.forEach((phase, nanos) -> header.append(", ").append(phase).append(";dur=").append(millis(nanos)));
+    header.append(", total;dur=").append(millis(System.nanoTime() - startedAt));
+    return header.toString();
+  }
+
+  private static String millis(long nanos) {
+    return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+  }
+}
@@ -0,0 +1,46 @@
+package com.fulfilment.application.monolith.timing;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.ext.Provider;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+@Provider
+public class ServerTimingFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+  public static final String ENABLE_HEADER = "X-Debug-Timing";
+  public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+  private static final Logger LOGGER = Logger.getLogger(ServerTimingFilter.class.getName());
+
+  @Inject RequestTimings timings;
+
+  @ConfigProperty(name = "server-timing.enabled", defaultValue = "false")
+  boolean allowed;
+
+  @Override
+  public void filter(ContainerRequestContext requestContext) {
+    if (allowed && "true".equalsIgnoreCase(requestContext.getHeaderString(ENABLE_HEADER))) {
+      timings.enable();
+    }
+  }
+
+  @Override
+  public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+    if (!timings.isEnabled()) {
+      return;
+    }
+    String serverTiming = timings.toServerTiming();
+    responseContext.getHeaders().putSingle(SERVER_TIMING_HEADER, serverTiming);
+    LOGGER.debugf(
+        "%s %s -> %d [%s]",
+        requestContext.getMethod(),
+        requestContext.getUriInfo().getPath(),
+        responseContext.getStatus(),
+        serverTiming);
+  }
+}
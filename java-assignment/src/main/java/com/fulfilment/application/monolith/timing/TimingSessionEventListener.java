@@ -0,0 +1,57 @@
+package com.fulfilment.application.monolith.timing;
+
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.ArcContainer;
+import org.hibernate.SessionEventListener;
+
+/**
+ * Hibernate session statistics hook, registered through {@code hibernate.session.events.auto}.
+ * Hibernate creates one instance per session and calls it around every JDBC statement and batch;
+ * the durations are forwarded to the {@link RequestTimings} of the current request when enabled.
+ */
+public class TimingSessionEventListener implements SessionEventListener {
+
+  private transient RequestTimings timings;
+  private transient boolean resolved;
+
+  private long statementStart;
+  private long batchStart;
+
+  @Override
+  public void jdbcExecuteStatementStart() {
+    statementStart = System.nanoTime();
+  }
+
+  @Override
+  public void jdbcExecuteStatementEnd() {
+    RequestTimings current = timings();
+    if (current != null) {
+      current.recordStatement(System.nanoTime() - statementStart);
+    }
+  }
+
+  @Override
+  public void jdbcExecuteBatchStart() {
+    batchStart = System.nanoTime();
+  }
+
+  @Override
+  public void jdbcExecuteBatchEnd() {
+    RequestTimings current = timings();
+    if (current != null) {
+      current.recordBatch(System.nanoTime() - batchStart);
+    }
+  }
+
+  private RequestTimings timings() {
+    if (!resolved) {
+      resolved = true;
+      ArcContainer container = Arc.container();
+      if (container != null && container.requestContext().isActive()) {
+        RequestTimings candidate = container.instance(RequestTimings.class).get();
+        timings = candidate.isEnabled() ? candidate : null;
+      }
+    }
+    return timings;
+  }
+}
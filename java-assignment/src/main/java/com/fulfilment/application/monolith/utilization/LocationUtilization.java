@@ -0,0 +1,11 @@
+package com.fulfilment.application.monolith.utilization;
+
+public record LocationUtilization(
+    String location,
+    long activeWarehouses,
+    int maxNumberOfWarehouses,
+    long usedCapacity,
+    int maxCapacity,
+    double capacityUtilization,
+    long stock,
+    double stockToCapacity) {}
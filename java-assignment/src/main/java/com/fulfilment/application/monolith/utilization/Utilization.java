@@ -0,0 +1,6 @@
+package com.fulfilment.application.monolith.utilization;
+
+import java.util.List;
+
+public record Utilization(
+    List<LocationUtilization> locations, long capacity, long stock, double stockToCapacity) {}
@@ -0,0 +1,213 @@
+package com.fulfilment.application.monolith.utilization;
+
+import com.fulfilment.application.monolith.location.LocationCatalog;
+import com.fulfilment.application.monolith.warehouses.adapters.database.WarehouseView;
+import com.fulfilment.application.monolith.warehouses.adapters.events.WarehouseEventLog;
+import com.fulfilment.application.monolith.warehouses.domain.models.Location;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseEvent;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseEvents;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.jboss.logging.Logger;
+
+/**
+ * Per-location totals of the active warehouses, kept up to date from committed {@link
+ * WarehouseEvent}s so the utilization endpoint never has to scan the warehouse table.
+ * {@link UtilizationReconciler} periodically replaces them with the database state to correct any
+ * drift (missed events, writes outside the use cases). The active warehouses are tracked by
+ * business unit code, which makes applying an event twice harmless; that is what lets a reconcile
+ * replay the events that raced its database read.
+ */
+@ApplicationScoped
+public class UtilizationAggregates {
+
+  private static final Logger LOGGER = Logger.getLogger(UtilizationAggregates.class.getName());
+  private static final int REPLAY_CAPACITY = 10_000;
+
+  private record Member(String location, int capacity, int stock) {}
+
+  private final Map<String, Member> active = new HashMap<>();
+  private final Map<String, Totals> byLocation = new HashMap<>();
+  private final WarehouseEventLog log = new WarehouseEventLog(REPLAY_CAPACITY);
+
+  void onWarehouseEvent(@Observes(during = TransactionPhase.AFTER_SUCCESS) WarehouseEvent event) {
+    apply(event);
+  }
+
+  void onWarehouseEvents(@Observes(during = TransactionPhase.AFTER_SUCCESS) WarehouseEvents batch) {
+    applyAll(batch.events());
+  }
+
+  public synchronized void apply(WarehouseEvent event) {
+    log.append(event);
+    update(event);
+  }
+
+  /** Applies the events under one lock, so readers never see part of them. */
+  public synchronized void applyAll(List<WarehouseEvent> events) {
+    for (WarehouseEvent event : events) {
+      log.append(event);
+      update(event);
+    }
+  }
+
+  /** To be taken before reading the database state that is passed to {@link #reset}. */
+  public synchronized long sequence() {
+    return log.sequence();
+  }
+
+  /**
+   * Replaces all totals with the given active warehouses, then applies again the events applied
+   * after {@code since}: their transactions may have committed after the warehouses were read.
+   * Returns the number of locations whose totals had drifted.
+   */
+  public synchronized int reset(List<WarehouseView> snapshot, long since) {
+    Map<String, Totals> before = new HashMap<>(byLocation);
+    active.clear();
+    byLocation.clear();
+    for (WarehouseView view : snapshot) {
+      if (view.location() != null) {
+        put(
+            view.businessUnitCode(),
+            new Member(
+                view.location(),
+                view.capacity() == null ? 0 : view.capacity(),
+                view.stock() == null ? 0 : view.stock()));
+      }
+    }
+    List<WarehouseEvent> missed = log.since(since);
+    if (missed == null) {
+      LOGGER.warnf("Over %d warehouse events during the reconcile, the next one corrects them", REPLAY_CAPACITY);
+    } else {
+      missed.forEach(this::update);
+    }
+
+    int drifted = 0;
+    for (String location : union(byLocation, before)) {
+      Totals expected = byLocation.getOrDefault(location, Totals.EMPTY);
+      Totals actual = before.getOrDefault(location, Totals.EMPTY);
+      if (!expected.equals(actual)) {
+        drifted++;
+        LOGGER.debugf("Utilization of %s drifted: %s, database has %s", location, actual, expected);
+      }
+    }
+    return drifted;
+  }
+
+  private void update(WarehouseEvent event) {
+    if (event.location() == null) {
+      return;
+    }
+    if (event.type() == WarehouseEvent.Type.CREATED) {
+      put(event.businessUnitCode(), new Member(event.location(), event.capacity(), event.stock()));
+      return;
+    }
+    // after a replace the code may already be active again at another location
+    Member member = active.get(event.businessUnitCode());
+    if (member != null && member.location().equals(event.location())) {
+      active.remove(event.businessUnitCode());
+      add(member, -1);
+    }
+  }
+
+  private void put(String businessUnitCode, Member member) {
+    Member previous = active.put(businessUnitCode, member);
+    if (previous != null) {
+      add(previous, -1);
+    }
+    add(member, 1);
+  }
+
+  private void add(Member member, int sign) {
+    Totals totals = byLocation.computeIfAbsent(member.location(), location -> new Totals());
+    totals.warehouses += sign;
+    totals.capacity += sign * (long) member.capacity();
+    totals.stock += sign * (long) member.stock();
+    if (totals.warehouses == 0) {
+      byLocation.remove(member.location());
+    }
+  }
+
+  /** Utilization of every catalog location, plus any location only known from warehouse data. */
+  public synchronized Utilization snapshot() {
+    List<LocationUtilization> locations = new ArrayList<>();
+    long capacity = 0;
+    long stock = 0;
+
+    for (Location location : LocationCatalog.all()) {
+      Totals totals = byLocation.getOrDefault(location.identification, Totals.EMPTY);
+      locations.add(toUtilization(location.identification, totals, location));
+    }
+    for (Map.Entry<String, Totals> entry : byLocation.entrySet()) {
+      if (LocationCatalog.find(entry.getKey()) == null) {
+        locations.add(toUtilization(entry.getKey(), entry.getValue(), null));
+      }
+    }
+    for (Totals totals : byLocation.values()) {
+      capacity += totals.capacity;
+      stock += totals.stock;
+    }
+    return new Utilization(locations, capacity, stock, ratio(stock, capacity));
+  }
+
+  private static LocationUtilization toUtilization(String identifier, Totals totals, Location location) {
+    int maxWarehouses = location == null ? 0 : location.maxNumberOfWarehouses;
+    int maxCapacity = location == null ? 0 : location.maxCapacity;
+    return new LocationUtilization(
+        identifier,
+        totals.warehouses,
+        maxWarehouses,
+        totals.capacity,
+        maxCapacity,
+        ratio(totals.capacity, maxCapacity),
+        totals.stock,
+        ratio(totals.stock, totals.capacity));
+  }
+
+  private static double ratio(long used, long available) {
+    return available == 0 ? 0 : (double) used / available;
+  }
+
+  private static Iterable<String> union(Map<String, ?> first, Map<String, ?> second) {
+    List<String> keys = new ArrayList<>(first.keySet());
+    for (String key : second.keySet()) {
+      if (!first.containsKey(key)) {
+        keys.add(key);
+      }
+    }
+    return keys;
+  }
+
+  private static final class Totals {
+
+    static final Totals EMPTY = new Totals();
+
+    long warehouses;
+    long capacity;
+    long stock;
+
+    @Override
+    public boolean equals(Object other) {
+      return other instanceof Totals totals
+          && warehouses == totals.warehouses
+          && capacity == totals.capacity
+          && stock == totals.stock;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(warehouses, capacity, stock);
+    }
+
+    @Override
+    public String toString() {
+      return warehouses + " warehouses, capacity " + capacity + ", stock " + stock;
+    }
+  }
+}
@@ -0,0 +1,42 @@
+package com.fulfilment.application.monolith.utilization;
+
+import com.fulfilment.application.monolith.warehouses.adapters.database.WarehouseRepository;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.jboss.logging.Logger;
+
+@ApplicationScoped
+public class UtilizationReconciler {
+
+  private static final Logger LOGGER = Logger.getLogger(UtilizationReconciler.class.getName());
+
+  @Inject WarehouseRepository warehouseRepository;
+  @Inject UtilizationAggregates aggregates;
+
+  @Transactional
+  void onStart(@Observes StartupEvent event) {
+    // The aggregates start out empty, so the first load differs everywhere without anything having drifted
+    reload(false);
+  }
+
+  @Scheduled(
+      every = "${utilization.reconcile-interval:5m}",
+      delayed = "${utilization.reconcile-interval:5m}",
+      concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+  @Transactional
+  void reconcile() {
+    reload(true);
+  }
+
+  private void reload(boolean reportDrift) {
+    long since = aggregates.sequence();
+    int drifted = aggregates.reset(warehouseRepository.listActiveViews(), since);
+    if (reportDrift && drifted > 0) {
+      LOGGER.warnf("Corrected utilization drift for %d location(s)", drifted);
+    }
+  }
+}
@@ -0,0 +1,20 @@
+package com.fulfilment.application.monolith.utilization;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+
+@Path("utilization")
+@ApplicationScoped
+@Produces("application/json")
+public class UtilizationResource {
+
+  @Inject UtilizationAggregates aggregates;
+
+  @GET
+  public Utilization get() {
+    return aggregates.snapshot();
+  }
+}
@@ -4,16 +4,27 @@ import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
 import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "warehouse")
+// Validity interval index for as-of queries, led by archivedAt: the active rows are one slice of it
+// (archivedAt is null) ordered by createdAt, the rows archived after a given time a range on it
+@Table(
+    name = "warehouse",
+    indexes = @Index(name = "warehouse_validity_idx", columnList = "archivedAt, createdAt"))
 @Cacheable
 public class DbWarehouse {
 
-  @Id @GeneratedValue public Long id;
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "warehouse_seq")
+  @SequenceGenerator(name = "warehouse_seq", sequenceName = "warehouse_seq", allocationSize = 50)
+  public Long id;
 
   public String businessUnitCode;
 
@@ -27,6 +38,8 @@ public class DbWarehouse {
 
   public LocalDateTime archivedAt;
 
+  @Version public Long version;
+
   public DbWarehouse() {}
 
   public static DbWarehouse fromWarehouse(Warehouse warehouse) {
@@ -57,6 +70,7 @@ public class DbWarehouse {
     warehouse.stock = this.stock;
     warehouse.createdAt = this.createdAt;
     warehouse.archivedAt = this.archivedAt;
+    warehouse.version = this.version;
     return warehouse;
   }
 }
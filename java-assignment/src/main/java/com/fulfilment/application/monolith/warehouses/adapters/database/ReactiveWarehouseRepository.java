@@ -0,0 +1,177 @@
+package com.fulfilment.application.monolith.warehouses.adapters.database;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.ports.ReactiveWarehouseStore;
+import com.fulfilment.application.monolith.warehouses.domain.usecases.WarehouseConflictException;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.pgclient.PgPool;
+import io.vertx.mutiny.sqlclient.Row;
+import io.vertx.mutiny.sqlclient.RowSet;
+import io.vertx.mutiny.sqlclient.SqlClient;
+import io.vertx.mutiny.sqlclient.Tuple;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * {@link ReactiveWarehouseStore} on top of the Vert.x reactive PostgreSQL client, working on the
+ * same {@code warehouse} table as {@link WarehouseRepository}.
+ */
+@ApplicationScoped
+@IfBuildProperty(name = "warehouse.stack", stringValue = "reactive")
+public class ReactiveWarehouseRepository implements ReactiveWarehouseStore {
+
+  private static final String COLUMNS =
+      "id, businessUnitCode, location, capacity, stock, createdAt, archivedAt, version";
+
+  private final PgPool pool;
+  private final SqlClient client;
+
+  @Inject
+  public ReactiveWarehouseRepository(PgPool pool) {
+    this(pool, pool);
+  }
+
+  private ReactiveWarehouseRepository(PgPool pool, SqlClient client) {
+    this.pool = pool;
+    this.client = client;
+  }
+
+  @Override
+  public Uni<List<Warehouse>> getActive() {
+    return client
+        .query("SELECT " + COLUMNS + " FROM warehouse WHERE archivedAt IS NULL")
+        .execute()
+        .map(ReactiveWarehouseRepository::toWarehouses);
+  }
+
+  @Override
+  public Uni<List<Warehouse>> getActiveAtLocation(String location) {
+    return client
+        .preparedQuery("SELECT " + COLUMNS + " FROM warehouse WHERE location = $1 AND archivedAt IS NULL")
+        .execute(Tuple.of(location))
+        .map(ReactiveWarehouseRepository::toWarehouses);
+  }
+
+  @Override
+  public Uni<Void> create(Warehouse warehouse) {
+    if (warehouse == null) {
+      return Uni.createFrom().failure(new IllegalArgumentException("warehouse must not be null"));
+    }
+    return client
+        .preparedQuery(
+            "INSERT INTO warehouse (" + COLUMNS + ") VALUES (nextval('warehouse_seq'), $1, $2, $3, $4, $5, $6, 0)")
+        .execute(
+            Tuple.of(
+                warehouse.businessUnitCode,
+                warehouse.location,
+                warehouse.capacity,
+                warehouse.stock,
+                warehouse.createdAt,
+                warehouse.archivedAt))
+        .replaceWithVoid();
+  }
+
+  @Override
+  public Uni<Void> update(Warehouse warehouse) {
+    if (warehouse == null) {
+      return Uni.createFrom().failure(new IllegalArgumentException("warehouse must not be null"));
+    }
+    // with a version the update only matches the row as it was read, see WarehouseStore#update
+    boolean guarded = warehouse.version != null;
+    Tuple params =
+        Tuple.of(
+            warehouse.location,
+            warehouse.capacity,
+            warehouse.stock,
+            warehouse.archivedAt,
+            warehouse.businessUnitCode,
+            warehouse.createdAt);
+    if (guarded) {
+      params.addLong(warehouse.version);
+    }
+    return client
+        .preparedQuery(
+            "UPDATE warehouse SET location = $1, capacity = $2, stock = $3, archivedAt = $4,"
+                + " version = version + 1 WHERE businessUnitCode = $5 AND createdAt = $6"
+                + (guarded ? " AND version = $7" : ""))
+        .execute(params)
+        .invoke(
+            rows -> {
+              if (rows.rowCount() == 0) {
+                if (guarded) {
+                  throw new WarehouseConflictException(warehouse.businessUnitCode);
+                }
+                throw new IllegalArgumentException(
+                    "Warehouse with businessUnitCode=" + warehouse.businessUnitCode + " does not exist");
+              }
+              if (guarded) {
+                warehouse.version = warehouse.version + 1;
+              }
+            })
+        .replaceWithVoid();
+  }
+
+  @Override
+  public Uni<List<Warehouse>> archiveActiveAtLocation(String location, LocalDateTime archivedAt) {
+    return client
+        .preparedQuery(
+            "UPDATE warehouse SET archivedAt = $1, version = version + 1"
+                + " WHERE location = $2 AND archivedAt IS NULL RETURNING " + COLUMNS)
+        .execute(Tuple.of(archivedAt, location))
+        .map(ReactiveWarehouseRepository::toWarehouses);
+  }
+
+  @Override
+  public Uni<Warehouse> findByBusinessUnitCode(String buCode) {
+    if (buCode == null || buCode.isBlank()) {
+      return Uni.createFrom().nullItem();
+    }
+    return client
+        .preparedQuery(
+            "SELECT " + COLUMNS + " FROM warehouse WHERE businessUnitCode = $1 ORDER BY createdAt DESC LIMIT 1")
+        .execute(Tuple.of(buCode.trim()))
+        .map(ReactiveWarehouseRepository::firstOrNull);
+  }
+
+  public Uni<Warehouse> findById(long id) {
+    return client
+        .preparedQuery("SELECT " + COLUMNS + " FROM warehouse WHERE id = $1")
+        .execute(Tuple.of(id))
+        .map(ReactiveWarehouseRepository::firstOrNull);
+  }
+
+  @Override
+  public <T> Uni<T> withTransaction(Function<ReactiveWarehouseStore, Uni<T>> work) {
+    return pool.withTransaction(connection -> work.apply(new ReactiveWarehouseRepository(pool, connection)));
+  }
+
+  private static Warehouse firstOrNull(RowSet<Row> rows) {
+    var iterator = rows.iterator();
+    return iterator.hasNext() ? toWarehouse(iterator.next()) : null;
+  }
+
+  private static List<Warehouse> toWarehouses(RowSet<Row> rows) {
+    List<Warehouse> warehouses = new ArrayList<>(rows.size());
+    for (Row row : rows) {
+      warehouses.add(toWarehouse(row));
+    }
+    return warehouses;
+  }
+
+  private static Warehouse toWarehouse(Row row) {
+    var warehouse = new Warehouse();
+    warehouse.businessUnitCode = row.getString(1);
+    warehouse.location = row.getString(2);
+    warehouse.capacity = row.getInteger(3);
+    warehouse.stock = row.getInteger(4);
+    warehouse.createdAt = row.getLocalDateTime(5);
+    warehouse.archivedAt = row.getLocalDateTime(6);
+    warehouse.version = row.getLong(7);
+    return warehouse;
+  }
+}
@@ -0,0 +1,12 @@
+package com.fulfilment.application.monolith.warehouses.adapters.database;
+
+import java.time.LocalDateTime;
+
+/** Read-only projection of a warehouse row including its validity interval [createdAt, archivedAt). */
+public record WarehouseHistoryView(
+    String businessUnitCode,
+    String location,
+    Integer capacity,
+    Integer stock,
+    LocalDateTime createdAt,
+    LocalDateTime archivedAt) {}
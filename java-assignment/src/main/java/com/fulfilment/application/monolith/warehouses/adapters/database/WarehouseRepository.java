@@ -2,14 +2,32 @@ package com.fulfilment.application.monolith.warehouses.adapters.database;
 
 import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
 import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
+import com.fulfilment.application.monolith.warehouses.domain.usecases.WarehouseConflictException;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import io.quarkus.panache.common.Sort;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.Cache;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.jpa.HibernateHints;
 
 @ApplicationScoped
 public class WarehouseRepository implements WarehouseStore, PanacheRepository<DbWarehouse> {
 
+  private static final String ARCHIVED_COLUMNS =
+      "id, businessUnitCode, location, capacity, stock, createdAt, archivedAt, version";
+
+  private volatile String archiveStatement;
+
   @Override
   public List<Warehouse> getAll() {
     return this.listAll().stream().map(DbWarehouse::toWarehouse).toList();
@@ -32,6 +50,10 @@ public class WarehouseRepository implements WarehouseStore, PanacheRepository<Db
     if (warehouse == null) {
       throw new IllegalArgumentException("warehouse must not be null");
     }
+    if (warehouse.version != null) {
+      updateIfCurrent(warehouse);
+      return;
+    }
     DbWarehouse entity = find("businessUnitCode = ?1 and createdAt = ?2", warehouse.businessUnitCode, warehouse.createdAt)
         .firstResult();
 
@@ -49,6 +71,34 @@ public class WarehouseRepository implements WarehouseStore, PanacheRepository<Db
     persist(entity);
   }
 
+  /**
+   * Guarded update: a single statement that only matches the row while it still has the version the
+   * caller read. It runs immediately rather than at flush, so a lost race shows up here and the
+   * caller can retry inside the same transaction.
+   */
+  private void updateIfCurrent(Warehouse warehouse) {
+    flush();
+    int updated =
+        update(
+            "location = ?1, capacity = ?2, stock = ?3, archivedAt = ?4, version = version + 1"
+                + " where businessUnitCode = ?5 and createdAt = ?6 and version = ?7",
+            warehouse.location,
+            warehouse.capacity,
+            warehouse.stock,
+            warehouse.archivedAt,
+            warehouse.businessUnitCode,
+            warehouse.createdAt,
+            warehouse.version);
+    // the bulk update bypassed the persistence context, drop the now stale managed copy of the row
+    detachManaged(
+        entity ->
+            warehouse.businessUnitCode.equals(entity.businessUnitCode) && warehouse.createdAt.equals(entity.createdAt));
+    if (updated == 0) {
+      throw new WarehouseConflictException(warehouse.businessUnitCode);
+    }
+    warehouse.version = warehouse.version + 1;
+  }
+
   @Override
   public void remove(Warehouse warehouse) {
     if (warehouse == null) {
@@ -62,10 +112,101 @@ public class WarehouseRepository implements WarehouseStore, PanacheRepository<Db
     if (buCode == null || buCode.isBlank()) {
       return null;
     }
-    DbWarehouse entity = find("businessUnitCode", buCode.trim()).firstResult();
+    // after a replace the BU has several rows, the newest one is the current warehouse
+    DbWarehouse entity =
+        find(
+                "businessUnitCode",
+                Sort.descending("createdAt").and("id", Sort.Direction.Descending),
+                buCode.trim())
+            .firstResult();
     return entity == null ? null : entity.toWarehouse();
   }
 
+  /** Locations are stored by their catalog identification, so this is an exact match on the column. */
+  @Override
+  public List<Warehouse> listActiveAtLocation(String location) {
+    return listActiveByLocation(location).stream().map(DbWarehouse::toWarehouse).toList();
+  }
+
+  /**
+   * One statement archives the whole location and returns the rows it changed: {@code UPDATE ...
+   * RETURNING} on PostgreSQL, like the reactive repository, and the equivalent data change delta
+   * table on H2.
+   */
+  @Override
+  public List<Warehouse> archiveActiveAtLocation(String location, LocalDateTime archivedAt) {
+    flush();
+    @SuppressWarnings("unchecked")
+    List<Object[]> rows =
+        getEntityManager()
+            .createNativeQuery(archiveStatement())
+            .setParameter(1, archivedAt)
+            .setParameter(2, location)
+            .getResultList();
+    if (rows.isEmpty()) {
+      return List.of();
+    }
+
+    // The statement bypassed the persistence context and the second-level cache
+    Cache cache = getEntityManager().getEntityManagerFactory().getCache();
+    Set<Long> ids = new HashSet<>();
+    List<Warehouse> archived = new ArrayList<>(rows.size());
+    for (Object[] row : rows) {
+      long id = ((Number) row[0]).longValue();
+      ids.add(id);
+      cache.evict(DbWarehouse.class, id);
+      archived.add(toWarehouse(row));
+    }
+    detachManaged(entity -> ids.contains(entity.id));
+    return archived;
+  }
+
+  /** Detaches the managed warehouses a bulk statement changed, the rest of the persistence context stays. */
+  private void detachManaged(Predicate<DbWarehouse> changed) {
+    var persistenceContext = getEntityManager().unwrap(SessionImplementor.class).getPersistenceContextInternal();
+    List<DbWarehouse> stale = new ArrayList<>();
+    for (var entry : persistenceContext.reentrantSafeEntityEntries()) {
+      if (entry.getKey() instanceof DbWarehouse entity && changed.test(entity)) {
+        stale.add(entity);
+      }
+    }
+    stale.forEach(getEntityManager()::detach);
+  }
+
+  private String archiveStatement() {
+    if (archiveStatement == null) {
+      Dialect dialect =
+          getEntityManager()
+              .getEntityManagerFactory()
+              .unwrap(SessionFactoryImplementor.class)
+              .getJdbcServices()
+              .getDialect();
+      String update =
+          "UPDATE warehouse SET archivedAt = ?1, version = version + 1 WHERE location = ?2 AND archivedAt IS NULL";
+      archiveStatement =
+          dialect instanceof PostgreSQLDialect
+              ? update + " RETURNING " + ARCHIVED_COLUMNS
+              : "SELECT " + ARCHIVED_COLUMNS + " FROM FINAL TABLE (" + update + ")";
+    }
+    return archiveStatement;
+  }
+
+  private static Warehouse toWarehouse(Object[] row) {
+    var warehouse = new Warehouse();
+    warehouse.businessUnitCode = (String) row[1];
+    warehouse.location = (String) row[2];
+    warehouse.capacity = row[3] == null ? null : ((Number) row[3]).intValue();
+    warehouse.stock = row[4] == null ? null : ((Number) row[4]).intValue();
+    warehouse.createdAt = toLocalDateTime(row[5]);
+    warehouse.archivedAt = toLocalDateTime(row[6]);
+    warehouse.version = row[7] == null ? null : ((Number) row[7]).longValue();
+    return warehouse;
+  }
+
+  private static LocalDateTime toLocalDateTime(Object value) {
+    return value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) value;
+  }
+
   public DbWarehouse findActiveDbByBusinessUnitCode(String buCode) {
     if (buCode == null || buCode.isBlank()) {
       return null;
@@ -77,7 +218,43 @@ public class WarehouseRepository implements WarehouseStore, PanacheRepository<Db
     return find("location = ?1 and archivedAt is null", location).list();
   }
 
-  public List<DbWarehouse> listActiveAll() {
-    return find("archivedAt is null").list();
+  public List<Warehouse> listActive() {
+    return find("archivedAt is null").list().stream().map(DbWarehouse::toWarehouse).toList();
+  }
+
+  /** Every business unit code in the history, archived ones included. */
+  public List<String> listBusinessUnitCodes() {
+    return getEntityManager()
+        .createQuery("select distinct w.businessUnitCode from DbWarehouse w", String.class)
+        .getResultList();
+  }
+
+  public List<WarehouseView> listActiveViews() {
+    return find("archivedAt is null")
+        .project(WarehouseView.class)
+        .withHint(HibernateHints.HINT_READ_ONLY, true)
+        .list();
+  }
+
+  public WarehouseView findViewById(Long id) {
+    return find("id", id)
+        .project(WarehouseView.class)
+        .withHint(HibernateHints.HINT_READ_ONLY, true)
+        .firstResult();
+  }
+
+  /**
+   * Warehouses whose validity interval [createdAt, archivedAt) contains {@code at}. Written as the
+   * still active rows plus the ones archived after {@code at}, two range scans on the validity index;
+   * a range on createdAt alone would read every warehouse ever created before {@code at}.
+   */
+  public List<WarehouseHistoryView> listActiveAt(LocalDateTime at) {
+    return find(
+            "(archivedAt is null and createdAt <= ?1) or (archivedAt > ?1 and createdAt <= ?1)",
+            Sort.by("location").and("businessUnitCode"),
+            at)
+        .project(WarehouseHistoryView.class)
+        .withHint(HibernateHints.HINT_READ_ONLY, true)
+        .list();
   }
 }
@@ -0,0 +1,8 @@
+package com.fulfilment.application.monolith.warehouses.adapters.database;
+
+/**
+ * Read-only projection of a warehouse row with just the columns the API returns. Queries select
+ * straight into it, so no entity is hydrated, snapshotted for dirty checking or put in the L2
+ * cache.
+ */
+public record WarehouseView(String businessUnitCode, String location, Integer capacity, Integer stock) {}
@@ -0,0 +1,36 @@
+package com.fulfilment.application.monolith.warehouses.adapters.events;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseEvent;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseEvents;
+import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseEventPublisher;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import java.util.List;
+
+/**
+ * Fires the events as CDI events. Observers declared with {@code during =
+ * TransactionPhase.AFTER_SUCCESS} run once the surrounding transaction commits, and right away
+ * when there is none (the reactive stack publishes after its own transaction completed). Several
+ * events are fired together as one {@link WarehouseEvents}.
+ */
+@ApplicationScoped
+public class CdiWarehouseEventPublisher implements WarehouseEventPublisher {
+
+  @Inject Event<WarehouseEvent> events;
+  @Inject Event<WarehouseEvents> batches;
+
+  @Override
+  public void publish(WarehouseEvent event) {
+    events.fire(event);
+  }
+
+  @Override
+  public void publishAll(List<WarehouseEvent> events) {
+    switch (events.size()) {
+      case 0 -> {}
+      case 1 -> publish(events.get(0));
+      default -> batches.fire(new WarehouseEvents(events));
+    }
+  }
+}
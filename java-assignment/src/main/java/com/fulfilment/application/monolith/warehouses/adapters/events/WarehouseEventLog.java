@@ -0,0 +1,55 @@
+package com.fulfilment.application.monolith.warehouses.adapters.events;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseEvent;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The most recent events applied to an in-memory view of the warehouses, numbered in the order they
+ * were applied. A view that is rebuilt from the database takes the {@link #sequence} before reading
+ * and replays what was applied since on top of what it read: an event can be applied after its
+ * transaction committed but before the read, or the other way round, and only the view knows how to
+ * apply it again without counting it twice. Not thread-safe, the view guards it with its own lock.
+ */
+public final class WarehouseEventLog {
+
+  private record Entry(long sequence, WarehouseEvent event) {}
+
+  private final int capacity;
+  private final ArrayDeque<Entry> entries = new ArrayDeque<>();
+  private long sequence;
+
+  public WarehouseEventLog(int capacity) {
+    this.capacity = capacity;
+  }
+
+  /** Number of the last event appended. */
+  public long sequence() {
+    return sequence;
+  }
+
+  public void append(WarehouseEvent event) {
+    if (entries.size() == capacity) {
+      entries.removeFirst();
+    }
+    entries.addLast(new Entry(++sequence, event));
+  }
+
+  /**
+   * The events appended after {@code sequence}, oldest first, or {@code null} when some of them have
+   * already been dropped to stay within the capacity.
+   */
+  public List<WarehouseEvent> since(long sequence) {
+    if (sequence < this.sequence - entries.size()) {
+      return null;
+    }
+    List<WarehouseEvent> events = new ArrayList<>((int) (this.sequence - sequence));
+    for (Entry entry : entries) {
+      if (entry.sequence() > sequence) {
+        events.add(entry.event());
+      }
+    }
+    return events;
+  }
+}
@@ -0,0 +1,32 @@
+package com.fulfilment.application.monolith.warehouses.adapters.grpc;
+
+import com.fulfilment.application.monolith.warehouses.adapters.grpc.proto.Location;
+import com.fulfilment.application.monolith.warehouses.adapters.grpc.proto.Warehouse;
+
+final class WarehouseGrpcMapper {
+
+  private WarehouseGrpcMapper() {}
+
+  static Warehouse toMessage(com.fulfilment.application.monolith.warehouses.domain.models.Warehouse warehouse) {
+    return Warehouse.newBuilder()
+        .setBusinessUnitCode(warehouse.businessUnitCode)
+        .setLocation(warehouse.location)
+        .setCapacity(warehouse.capacity == null ? 0 : warehouse.capacity)
+        .setStock(warehouse.stock == null ? 0 : warehouse.stock)
+        .setArchived(warehouse.archivedAt != null)
+        .build();
+  }
+
+  static Location toMessage(com.fulfilment.application.monolith.warehouses.domain.models.Location location) {
+    Location.Builder message =
+        Location.newBuilder()
+            .setIdentification(location.identification)
+            .setMaxNumberOfWarehouses(location.maxNumberOfWarehouses)
+            .setMaxCapacity(location.maxCapacity)
+            .setHasCoordinates(location.hasCoordinates());
+    if (location.hasCoordinates()) {
+      message.setLatitude(location.latitude).setLongitude(location.longitude);
+    }
+    return message.build();
+  }
+}
@@ -0,0 +1,101 @@
+package com.fulfilment.application.monolith.warehouses.adapters.grpc;
+
+import com.fulfilment.application.monolith.warehouses.adapters.grpc.proto.CapacityCheckReply;
+import com.fulfilment.application.monolith.warehouses.adapters.grpc.proto.CapacityCheckRequest;
+import com.fulfilment.application.monolith.warehouses.adapters.grpc.proto.LocationReply;
+import com.fulfilment.application.monolith.warehouses.adapters.grpc.proto.LocationRequest;
+import com.fulfilment.application.monolith.warehouses.adapters.grpc.proto.LookupReply;
+import com.fulfilment.application.monolith.warehouses.adapters.grpc.proto.LookupRequest;
+import com.fulfilment.application.monolith.warehouses.adapters.grpc.proto.WarehouseByBusinessUnitRequest;
+import com.fulfilment.application.monolith.warehouses.adapters.grpc.proto.WarehouseByIdRequest;
+import com.fulfilment.application.monolith.warehouses.adapters.grpc.proto.WarehouseLookup;
+import com.fulfilment.application.monolith.warehouses.adapters.grpc.proto.WarehouseReply;
+import com.fulfilment.application.monolith.warehouses.domain.models.Location;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import io.grpc.Status;
+import io.quarkus.grpc.GrpcService;
+import io.smallrye.common.annotation.Blocking;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import jakarta.inject.Inject;
+
+/**
+ * gRPC counterpart of {@code GET /warehouse/{id}} plus the location checks of the use cases, for
+ * internal services that call them at high rates (see warehouse_lookup.proto). Unary calls run on a
+ * worker thread; a {@code Lookup} stream is answered item by item, in order, on the worker pool.
+ */
+@GrpcService
+public class WarehouseLookupService implements WarehouseLookup {
+
+  @Inject WarehouseLookups lookups;
+
+  @Override
+  @Blocking
+  public Uni<WarehouseReply> getWarehouseById(WarehouseByIdRequest request) {
+    return reply(lookups.byId(request.getId()), "Warehouse with id " + request.getId() + " does not exist.");
+  }
+
+  @Override
+  @Blocking
+  public Uni<WarehouseReply> getWarehouseByBusinessUnit(WarehouseByBusinessUnitRequest request) {
+    if (request.getBusinessUnitCode().isBlank()) {
+      return invalid("business_unit_code must be provided.");
+    }
+    return reply(
+        lookups.byBusinessUnitCode(request.getBusinessUnitCode()),
+        "Warehouse with business unit code " + request.getBusinessUnitCode() + " does not exist.");
+  }
+
+  @Override
+  public Uni<LocationReply> resolveLocation(LocationRequest request) {
+    if (request.getIdentifier().isBlank()) {
+      return invalid("identifier must be provided.");
+    }
+    Location location = lookups.location(request.getIdentifier());
+    if (location == null) {
+      return notFound("Location " + request.getIdentifier() + " does not exist.");
+    }
+    return Uni.createFrom()
+        .item(LocationReply.newBuilder().setLocation(WarehouseGrpcMapper.toMessage(location)).build());
+  }
+
+  @Override
+  @Blocking
+  public Uni<CapacityCheckReply> checkCapacity(CapacityCheckRequest request) {
+    if (request.getLocation().isBlank()) {
+      return invalid("location must be provided.");
+    }
+    return Uni.createFrom()
+        .item(
+            lookups.checkCapacity(
+                request.getLocation(), request.getCapacity(), request.getReplacedBusinessUnitCode()));
+  }
+
+  @Override
+  public Multi<LookupReply> lookup(Multi<LookupRequest> requests) {
+    return requests
+        .onItem()
+        .transformToUniAndConcatenate(
+            request ->
+                Uni.createFrom()
+                    .item(() -> lookups.lookup(request))
+                    .runSubscriptionOn(Infrastructure.getDefaultWorkerPool()));
+  }
+
+  private static Uni<WarehouseReply> reply(Warehouse warehouse, String notFoundMessage) {
+    if (warehouse == null) {
+      return notFound(notFoundMessage);
+    }
+    return Uni.createFrom()
+        .item(WarehouseReply.newBuilder().setWarehouse(WarehouseGrpcMapper.toMessage(warehouse)).build());
+  }
+
+  private static <T> Uni<T> notFound(String message) {
+    return Uni.createFrom().failure(Status.NOT_FOUND.withDescription(message).asRuntimeException());
+  }
+
+  private static <T> Uni<T> invalid(String message) {
+    return Uni.createFrom().failure(Status.INVALID_ARGUMENT.withDescription(message).asRuntimeException());
+  }
+}
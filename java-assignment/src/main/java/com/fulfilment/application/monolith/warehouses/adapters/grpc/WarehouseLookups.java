@@ -0,0 +1,94 @@
+package com.fulfilment.application.monolith.warehouses.adapters.grpc;
+
+import com.fulfilment.application.monolith.warehouses.adapters.database.DbWarehouse;
+import com.fulfilment.application.monolith.warehouses.adapters.database.WarehouseRepository;
+import com.fulfilment.application.monolith.warehouses.adapters.grpc.proto.CapacityCheckReply;
+import com.fulfilment.application.monolith.warehouses.adapters.grpc.proto.LookupReply;
+import com.fulfilment.application.monolith.warehouses.adapters.grpc.proto.LookupRequest;
+import com.fulfilment.application.monolith.warehouses.domain.models.Location;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.ports.LocationResolver;
+import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
+import com.fulfilment.application.monolith.warehouses.domain.usecases.WarehouseOperationException;
+import com.fulfilment.application.monolith.warehouses.domain.usecases.WarehouseRules;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.control.ActivateRequestContext;
+import jakarta.inject.Inject;
+
+/**
+ * Blocking lookups behind {@link WarehouseLookupService}, on the same ports as the use cases. Every
+ * method may run on a plain worker thread (stream items), hence its own request context for the
+ * Hibernate session.
+ */
+@ApplicationScoped
+public class WarehouseLookups {
+
+  private static final LookupReply NOT_FOUND = LookupReply.newBuilder().setFound(false).build();
+
+  @Inject WarehouseStore warehouseStore;
+  @Inject LocationResolver locationResolver;
+
+  // Ids are a database concept the domain store doesn't know; DbWarehouse is in the L2 cache
+  @Inject WarehouseRepository warehouseRepository;
+
+  @ActivateRequestContext
+  public Warehouse byId(long id) {
+    DbWarehouse entity = warehouseRepository.findById(id);
+    return entity == null ? null : entity.toWarehouse();
+  }
+
+  @ActivateRequestContext
+  public Warehouse byBusinessUnitCode(String businessUnitCode) {
+    return warehouseStore.findByBusinessUnitCode(businessUnitCode);
+  }
+
+  public Location location(String identifier) {
+    return locationResolver.resolveByIdentifier(identifier);
+  }
+
+  /** The location checks of create and replace, with the reason they fail on as reply. */
+  @ActivateRequestContext
+  public CapacityCheckReply checkCapacity(String identifier, int capacity, String replacedBusinessUnitCode) {
+    try {
+      if (capacity <= 0) {
+        throw new WarehouseOperationException(400, "capacity must be a positive integer.");
+      }
+      Location location = WarehouseRules.resolveLocation(locationResolver, identifier);
+      WarehouseRules.checkLocationFeasibility(
+          location,
+          warehouseStore.listActiveAtLocation(location.identification),
+          replacedBusinessUnitCode.isBlank() ? null : replacedBusinessUnitCode.trim(),
+          capacity);
+      return CapacityCheckReply.newBuilder().setFeasible(true).build();
+    } catch (WarehouseOperationException e) {
+      return CapacityCheckReply.newBuilder().setFeasible(false).setReason(e.getMessage()).build();
+    }
+  }
+
+  @ActivateRequestContext
+  public LookupReply lookup(LookupRequest request) {
+    switch (request.getKeyCase()) {
+      case WAREHOUSE_ID -> {
+        Warehouse warehouse = byId(request.getWarehouseId());
+        return warehouse == null ? NOT_FOUND : found(warehouse);
+      }
+      case BUSINESS_UNIT_CODE -> {
+        Warehouse warehouse = byBusinessUnitCode(request.getBusinessUnitCode());
+        return warehouse == null ? NOT_FOUND : found(warehouse);
+      }
+      case LOCATION -> {
+        Location location = location(request.getLocation());
+        return location == null
+            ? NOT_FOUND
+            : LookupReply.newBuilder().setFound(true).setLocation(WarehouseGrpcMapper.toMessage(location)).build();
+      }
+      default -> {
+        return NOT_FOUND;
+      }
+    }
+  }
+
+  private static LookupReply found(Warehouse warehouse) {
+    return LookupReply.newBuilder().setFound(true).setWarehouse(WarehouseGrpcMapper.toMessage(warehouse)).build();
+  }
+}
@@ -0,0 +1,11 @@
+package com.fulfilment.application.monolith.warehouses.adapters.restapi;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+/**
+ * The OpenAPI beans are generated outside of our sources, so Jackson's reflective access to them
+ * has to be registered explicitly for the native image.
+ */
+@RegisterForReflection(
+    targets = {com.warehouse.api.beans.Warehouse.class, com.warehouse.api.beans.LocationArchive.class})
+public class ApiReflectionConfiguration {}
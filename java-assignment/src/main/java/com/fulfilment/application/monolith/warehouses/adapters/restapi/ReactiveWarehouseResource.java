@@ -0,0 +1,98 @@
+package com.fulfilment.application.monolith.warehouses.adapters.restapi;
+
+import com.fulfilment.application.monolith.admission.AdmissionControlled;
+import com.fulfilment.application.monolith.errors.RequestRejectedException;
+import com.fulfilment.application.monolith.warehouses.adapters.database.ReactiveWarehouseRepository;
+import com.fulfilment.application.monolith.warehouses.domain.usecases.ReactiveWarehouseUseCase;
+import com.warehouse.api.beans.LocationArchive;
+import com.warehouse.api.beans.Warehouse;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.mutiny.Uni;
+import jakarta.inject.Inject;
+import jakarta.validation.constraints.NotNull;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import java.util.List;
+
+/**
+ * Non-blocking implementation of the operations of {@code warehouse-openapi.yaml}. The generated
+ * {@link com.warehouse.api.WarehouseResource} interface has blocking signatures, so the paths are
+ * declared here again. Enabled instead of {@link WarehouseResourceImpl} when the application is
+ * built with {@code warehouse.stack=reactive}.
+ */
+@Path("/warehouse")
+@Produces("application/json")
+@Consumes("application/json")
+@IfBuildProperty(name = "warehouse.stack", stringValue = "reactive")
+public class ReactiveWarehouseResource {
+
+  @Inject ReactiveWarehouseRepository warehouseRepository;
+  @Inject ReactiveWarehouseUseCase warehouseUseCase;
+
+  @GET
+  public Uni<List<Warehouse>> listAllWarehousesUnits() {
+    // Only ACTIVE warehouses
+    return warehouseRepository
+        .getActive()
+        .map(active -> active.stream().map(WarehouseApiMapper::toResponse).toList());
+  }
+
+  @POST
+  @AdmissionControlled("warehouse-create")
+  public Uni<Warehouse> createANewWarehouseUnit(@NotNull Warehouse data) {
+    var domain = WarehouseApiMapper.toDomain(data);
+    return warehouseUseCase.create(domain).map(ignored -> WarehouseApiMapper.toResponse(domain));
+  }
+
+  @GET
+  @Path("/{id}")
+  public Uni<Warehouse> getAWarehouseUnitByID(@PathParam("id") String id) {
+    return findExisting(id).map(WarehouseApiMapper::toResponse);
+  }
+
+  @DELETE
+  @Path("/{id}")
+  @AdmissionControlled("warehouse-archive")
+  public Uni<Void> archiveAWarehouseUnitByID(@PathParam("id") String id) {
+    return findExisting(id).flatMap(warehouseUseCase::archive);
+  }
+
+  @POST
+  @Path("/{businessUnitCode}/replacement")
+  @AdmissionControlled("warehouse-replace")
+  public Uni<Warehouse> replaceTheCurrentActiveWarehouse(
+      @PathParam("businessUnitCode") String businessUnitCode, @NotNull Warehouse data) {
+    if (businessUnitCode == null || businessUnitCode.isBlank()) {
+      throw new RequestRejectedException(400, "businessUnitCode must be provided.");
+    }
+
+    var domain = WarehouseApiMapper.toDomain(data);
+    domain.businessUnitCode = businessUnitCode.trim();
+
+    // The replacement becomes the active record for the BU, no need to read it back
+    return warehouseUseCase.replace(domain).map(ignored -> WarehouseApiMapper.toResponse(domain));
+  }
+
+  @POST
+  @Path("/location/{location}/archive")
+  @AdmissionControlled("warehouse-archive-location")
+  public Uni<LocationArchive> archiveAllWarehousesAtALocation(@PathParam("location") String location) {
+    return warehouseUseCase
+        .archiveLocation(location)
+        .map(archived -> WarehouseApiMapper.toLocationArchive(location.trim(), archived));
+  }
+
+  private Uni<com.fulfilment.application.monolith.warehouses.domain.models.Warehouse> findExisting(String id) {
+    Long dbId = WarehouseApiMapper.parseId(id);
+    return warehouseRepository
+        .findById(dbId)
+        .onItem()
+        .ifNull()
+        .failWith(() -> new RequestRejectedException(404, "Warehouse with id " + id + " does not exist."));
+  }
+}
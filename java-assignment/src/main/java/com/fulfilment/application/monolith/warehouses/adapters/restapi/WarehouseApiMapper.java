@@ -0,0 +1,63 @@
+package com.fulfilment.application.monolith.warehouses.adapters.restapi;
+
+import com.fulfilment.application.monolith.errors.RequestRejectedException;
+import com.fulfilment.application.monolith.warehouses.adapters.database.WarehouseView;
+import com.warehouse.api.beans.LocationArchive;
+import com.warehouse.api.beans.Warehouse;
+import java.util.List;
+
+/** Mapping between the generated API beans and the domain model, shared by the warehouse resources. */
+final class WarehouseApiMapper {
+
+  private WarehouseApiMapper() {}
+
+  static Long parseId(String id) {
+    if (id == null || id.isBlank()) {
+      throw new RequestRejectedException(400, "id must be provided.");
+    }
+    try {
+      return Long.parseLong(id.trim());
+    } catch (NumberFormatException e) {
+      throw new RequestRejectedException(400, "Invalid id: " + id);
+    }
+  }
+
+  static com.fulfilment.application.monolith.warehouses.domain.models.Warehouse toDomain(Warehouse data) {
+    if (data == null) {
+      return null;
+    }
+    var w = new com.fulfilment.application.monolith.warehouses.domain.models.Warehouse();
+    w.businessUnitCode = data.getBusinessUnitCode();
+    w.location = data.getLocation();
+    w.capacity = data.getCapacity();
+    w.stock = data.getStock();
+    return w;
+  }
+
+  static Warehouse toResponse(com.fulfilment.application.monolith.warehouses.domain.models.Warehouse warehouse) {
+    var response = new Warehouse();
+    response.setBusinessUnitCode(warehouse.businessUnitCode);
+    response.setLocation(warehouse.location);
+    response.setCapacity(warehouse.capacity);
+    response.setStock(warehouse.stock);
+    return response;
+  }
+
+  static Warehouse toResponse(WarehouseView view) {
+    var response = new Warehouse();
+    response.setBusinessUnitCode(view.businessUnitCode());
+    response.setLocation(view.location());
+    response.setCapacity(view.capacity());
+    response.setStock(view.stock());
+    return response;
+  }
+
+  static LocationArchive toLocationArchive(
+      String location, List<com.fulfilment.application.monolith.warehouses.domain.models.Warehouse> archived) {
+    var response = new LocationArchive();
+    response.setLocation(location);
+    response.setArchived(archived.size());
+    response.setBusinessUnitCodes(archived.stream().map(w -> w.businessUnitCode).toList());
+    return response;
+  }
+}
@@ -1,25 +1,31 @@
 package com.fulfilment.application.monolith.warehouses.adapters.restapi;
 
+import com.fulfilment.application.monolith.admission.AdmissionControlled;
+import com.fulfilment.application.monolith.coalescing.HotReadCaches;
+import com.fulfilment.application.monolith.errors.RequestRejectedException;
+import com.fulfilment.application.monolith.replica.ReadRouting;
+import com.fulfilment.application.monolith.replica.ReplicaQueries;
+import com.fulfilment.application.monolith.timing.RequestTimings;
 import com.fulfilment.application.monolith.warehouses.adapters.database.DbWarehouse;
 import com.fulfilment.application.monolith.warehouses.adapters.database.WarehouseRepository;
-import com.fulfilment.application.monolith.warehouses.domain.usecases.WarehouseOperationException;
+import com.fulfilment.application.monolith.warehouses.adapters.database.WarehouseView;
+import com.fulfilment.application.monolith.warehouses.domain.ports.ArchiveLocationOperation;
 import com.fulfilment.application.monolith.warehouses.domain.ports.ArchiveWarehouseOperation;
 import com.fulfilment.application.monolith.warehouses.domain.ports.CreateWarehouseOperation;
 import com.fulfilment.application.monolith.warehouses.domain.ports.ReplaceWarehouseOperation;
 import com.warehouse.api.WarehouseResource;
+import com.warehouse.api.beans.LocationArchive;
 import com.warehouse.api.beans.Warehouse;
+import io.quarkus.arc.properties.UnlessBuildProperty;
 import jakarta.enterprise.context.RequestScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import jakarta.validation.constraints.NotNull;
 import jakarta.ws.rs.WebApplicationException;
-import jakarta.ws.rs.core.MediaType;
-import jakarta.ws.rs.core.Response;
-import jakarta.ws.rs.ext.ExceptionMapper;
-import jakarta.ws.rs.ext.Provider;
 import java.util.List;
 
 @RequestScoped
+@UnlessBuildProperty(name = "warehouse.stack", stringValue = "reactive", enableIfMissing = true)
 public class WarehouseResourceImpl implements WarehouseResource {
 
   @Inject WarehouseRepository warehouseRepository;
@@ -27,68 +33,82 @@ public class WarehouseResourceImpl implements WarehouseResource {
   @Inject CreateWarehouseOperation createWarehouseOperation;
   @Inject ReplaceWarehouseOperation replaceWarehouseOperation;
   @Inject ArchiveWarehouseOperation archiveWarehouseOperation;
+  @Inject ArchiveLocationOperation archiveLocationOperation;
+
+  @Inject RequestTimings timings;
+  @Inject ReadRouting readRouting;
+  @Inject ReplicaQueries replicaQueries;
+  @Inject HotReadCaches hotReadCaches;
 
   @Override
   public List<Warehouse> listAllWarehousesUnits() {
     // Only ACTIVE warehouses
-    return warehouseRepository.listActiveAll().stream()
-        .map(DbWarehouse::toWarehouse)
-        .map(this::toWarehouseResponse)
-        .toList();
+    var active = readRouting.read(replicaQueries::listActiveWarehouses, warehouseRepository::listActiveViews);
+    return timings.time("mapping", () -> active.stream().map(WarehouseApiMapper::toResponse).toList());
   }
 
   @Override
+  @AdmissionControlled("warehouse-create")
   @Transactional
   public Warehouse createANewWarehouseUnit(@NotNull Warehouse data) {
-    var domain = toDomainWarehouse(data);
-    createWarehouseOperation.create(domain);
+    var domain = WarehouseApiMapper.toDomain(data);
+    timings.run("validation", () -> createWarehouseOperation.create(domain));
 
     var created = warehouseRepository.findByBusinessUnitCode(domain.businessUnitCode);
     if (created == null) {
       throw new WebApplicationException("Warehouse was created but could not be retrieved.", 500);
     }
-    return toWarehouseResponse(created);
+    return timings.time("mapping", () -> WarehouseApiMapper.toResponse(created));
   }
 
   @Override
   public Warehouse getAWarehouseUnitByID(String id) {
-    Long dbId = parseIdAsLong(id);
-
-    DbWarehouse entity = warehouseRepository.findById(dbId);
-    if (entity == null) {
-      throw new WebApplicationException("Warehouse with id " + id + " does not exist.", 404);
-    }
-
-    return toWarehouseResponse(entity.toWarehouse());
+    Long dbId = WarehouseApiMapper.parseId(id);
+
+    return hotReadCaches
+        .warehouses()
+        .get(
+            dbId,
+            () -> {
+              WarehouseView view = warehouseRepository.findViewById(dbId);
+              if (view == null) {
+                throw new RequestRejectedException(404, "Warehouse with id " + id + " does not exist.");
+              }
+              return timings.time("mapping", () -> WarehouseApiMapper.toResponse(view));
+            });
   }
 
   @Override
+  @AdmissionControlled("warehouse-archive")
   @Transactional
   public void archiveAWarehouseUnitByID(String id) {
-    Long dbId = parseIdAsLong(id);
+    Long dbId = WarehouseApiMapper.parseId(id);
 
     DbWarehouse entity = warehouseRepository.findById(dbId);
     if (entity == null) {
-      throw new WebApplicationException("Warehouse with id " + id + " does not exist.", 404);
+      throw new RequestRejectedException(404, "Warehouse with id " + id + " does not exist.");
     }
 
     var request = new com.fulfilment.application.monolith.warehouses.domain.models.Warehouse();
     request.businessUnitCode = entity.businessUnitCode;
 
-    archiveWarehouseOperation.archive(request);
+    timings.run("validation", () -> archiveWarehouseOperation.archive(request));
+    hotReadCaches.invalidate(hotReadCaches.warehouses(), dbId);
   }
 
   @Override
+  @AdmissionControlled("warehouse-replace")
   @Transactional
   public Warehouse replaceTheCurrentActiveWarehouse(String businessUnitCode, @NotNull Warehouse data) {
     if (businessUnitCode == null || businessUnitCode.isBlank()) {
-      throw new WebApplicationException("businessUnitCode must be provided.", 400);
+      throw new RequestRejectedException(400, "businessUnitCode must be provided.");
     }
 
-    var domain = toDomainWarehouse(data);
+    var domain = WarehouseApiMapper.toDomain(data);
     domain.businessUnitCode = businessUnitCode.trim();
 
-    replaceWarehouseOperation.replace(domain);
+    timings.run("validation", () -> replaceWarehouseOperation.replace(domain));
+    hotReadCaches.invalidateAll(hotReadCaches.warehouses());
 
     // After replace, the "active" record is the newest for that BU.
     var active = warehouseRepository.findByBusinessUnitCode(domain.businessUnitCode);
@@ -97,51 +117,17 @@ public class WarehouseResourceImpl implements WarehouseResource {
           "Warehouse was replaced but active warehouse could not be retrieved.", 500);
     }
 
-    return toWarehouseResponse(active);
+    return timings.time("mapping", () -> WarehouseApiMapper.toResponse(active));
   }
 
-  private Long parseIdAsLong(String id) {
-    if (id == null || id.isBlank()) {
-      throw new WebApplicationException("id must be provided.", 400);
-    }
-    try {
-      return Long.parseLong(id.trim());
-    } catch (NumberFormatException e) {
-      throw new WebApplicationException("Invalid id: " + id, 400);
-    }
-  }
-
-  private com.fulfilment.application.monolith.warehouses.domain.models.Warehouse toDomainWarehouse(Warehouse data) {
-    if (data == null) {
-      return null;
-    }
-    var w = new com.fulfilment.application.monolith.warehouses.domain.models.Warehouse();
-    w.businessUnitCode = data.getBusinessUnitCode();
-    w.location = data.getLocation();
-    w.capacity = data.getCapacity();
-    w.stock = data.getStock();
-    return w;
-  }
-
-  private Warehouse toWarehouseResponse(
-      com.fulfilment.application.monolith.warehouses.domain.models.Warehouse warehouse) {
-    var response = new Warehouse();
-    response.setBusinessUnitCode(warehouse.businessUnitCode);
-    response.setLocation(warehouse.location);
-    response.setCapacity(warehouse.capacity);
-    response.setStock(warehouse.stock);
-    return response;
-  }
-
-  @Provider
-  public static class WarehouseOperationExceptionMapper implements ExceptionMapper<WarehouseOperationException> {
-    @Override
-    public Response toResponse(WarehouseOperationException exception) {
-      // Keep it simple: return the message as plain text (fine for tests; can be JSON later if desired)
-      return Response.status(exception.status)
-          .type(MediaType.TEXT_PLAIN_TYPE)
-          .entity(exception.getMessage() == null ? "" : exception.getMessage())
-          .build();
+  @Override
+  @AdmissionControlled("warehouse-archive-location")
+  @Transactional
+  public LocationArchive archiveAllWarehousesAtALocation(String location) {
+    var archived = timings.time("validation", () -> archiveLocationOperation.archiveLocation(location));
+    if (!archived.isEmpty()) {
+      hotReadCaches.invalidateAll(hotReadCaches.warehouses());
     }
+    return WarehouseApiMapper.toLocationArchive(location.trim(), archived);
   }
 }
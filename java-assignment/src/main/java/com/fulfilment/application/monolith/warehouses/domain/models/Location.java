@@ -9,9 +9,24 @@ public class Location {
   // maximum capacity of the location summing all the warehouse capacities
   public int maxCapacity;
 
+  // WGS84 coordinates of the site, NaN when unknown
+  public double latitude = Double.NaN;
+  public double longitude = Double.NaN;
+
   public Location(String identification, int maxNumberOfWarehouses, int maxCapacity) {
     this.identification = identification;
     this.maxNumberOfWarehouses = maxNumberOfWarehouses;
     this.maxCapacity = maxCapacity;
   }
+
+  public Location(
+      String identification, int maxNumberOfWarehouses, int maxCapacity, double latitude, double longitude) {
+    this(identification, maxNumberOfWarehouses, maxCapacity);
+    this.latitude = latitude;
+    this.longitude = longitude;
+  }
+
+  public boolean hasCoordinates() {
+    return !Double.isNaN(latitude) && !Double.isNaN(longitude);
+  }
 }
@@ -16,4 +16,7 @@ public class Warehouse {
   public LocalDateTime createdAt;
 
   public LocalDateTime archivedAt;
+
+  // optimistic lock version of the row this was read from, null for warehouses not yet stored
+  public Long version;
 }
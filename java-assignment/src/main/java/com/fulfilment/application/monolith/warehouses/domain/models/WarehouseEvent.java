@@ -0,0 +1,30 @@
+package com.fulfilment.application.monolith.warehouses.domain.models;
+
+/**
+ * A warehouse became active or was archived. Carries a copy of the values that matter to
+ * listeners, so it stays valid after the {@link Warehouse} it came from is modified.
+ */
+public record WarehouseEvent(Type type, String businessUnitCode, String location, int capacity, int stock) {
+
+  public enum Type {
+    CREATED,
+    ARCHIVED
+  }
+
+  public static WarehouseEvent created(Warehouse warehouse) {
+    return of(Type.CREATED, warehouse);
+  }
+
+  public static WarehouseEvent archived(Warehouse warehouse) {
+    return of(Type.ARCHIVED, warehouse);
+  }
+
+  private static WarehouseEvent of(Type type, Warehouse warehouse) {
+    return new WarehouseEvent(
+        type,
+        warehouse.businessUnitCode,
+        warehouse.location,
+        warehouse.capacity == null ? 0 : warehouse.capacity,
+        warehouse.stock == null ? 0 : warehouse.stock);
+  }
+}
@@ -0,0 +1,14 @@
+package com.fulfilment.application.monolith.warehouses.domain.models;
+
+import java.util.List;
+
+/**
+ * The events of one use case that changed several warehouses at once, such as archiving a
+ * location. Fired as one event so listeners can apply them together instead of one by one.
+ */
+public record WarehouseEvents(List<WarehouseEvent> events) {
+
+  public WarehouseEvents {
+    events = List.copyOf(events);
+  }
+}
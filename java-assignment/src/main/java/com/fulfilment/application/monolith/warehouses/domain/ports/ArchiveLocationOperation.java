@@ -0,0 +1,9 @@
+package com.fulfilment.application.monolith.warehouses.domain.ports;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import java.util.List;
+
+public interface ArchiveLocationOperation {
+  /** Archives every active warehouse at {@code location}; returns the warehouses it archived. */
+  List<Warehouse> archiveLocation(String location);
+}
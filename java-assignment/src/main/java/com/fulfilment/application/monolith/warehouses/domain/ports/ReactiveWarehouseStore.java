@@ -0,0 +1,28 @@
+package com.fulfilment.application.monolith.warehouses.domain.ports;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import io.smallrye.mutiny.Uni;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+/** Non-blocking counterpart of {@link WarehouseStore}, used by the reactive warehouse stack. */
+public interface ReactiveWarehouseStore {
+
+  Uni<List<Warehouse>> getActive();
+
+  Uni<List<Warehouse>> getActiveAtLocation(String location);
+
+  Uni<Void> create(Warehouse warehouse);
+
+  Uni<Void> update(Warehouse warehouse);
+
+  /** Archives all active warehouses at {@code location}, see {@link WarehouseStore#archiveActiveAtLocation}. */
+  Uni<List<Warehouse>> archiveActiveAtLocation(String location, LocalDateTime archivedAt);
+
+  /** Returns the most recent warehouse with the given business unit code, or {@code null}. */
+  Uni<Warehouse> findByBusinessUnitCode(String buCode);
+
+  /** Runs {@code work} against a store bound to a single transaction. */
+  <T> Uni<T> withTransaction(Function<ReactiveWarehouseStore, Uni<T>> work);
+}
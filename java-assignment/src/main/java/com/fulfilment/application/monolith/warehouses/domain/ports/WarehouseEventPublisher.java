@@ -0,0 +1,19 @@
+package com.fulfilment.application.monolith.warehouses.domain.ports;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseEvent;
+import java.util.List;
+
+/**
+ * Announces warehouse changes made by the use cases. Listeners only see events of transactions
+ * that committed.
+ */
+public interface WarehouseEventPublisher {
+
+  WarehouseEventPublisher NONE = event -> {};
+
+  void publish(WarehouseEvent event);
+
+  default void publishAll(List<WarehouseEvent> events) {
+    events.forEach(this::publish);
+  }
+}
@@ -1,6 +1,8 @@
 package com.fulfilment.application.monolith.warehouses.domain.ports;
 
 import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 public interface WarehouseStore {
@@ -9,9 +11,42 @@ public interface WarehouseStore {
 
   void create(Warehouse warehouse);
 
+  /**
+   * Updates the stored row of {@code warehouse}. When {@code warehouse.version} is set the write is
+   * conditional on the row still having that version, otherwise {@link
+   * com.fulfilment.application.monolith.warehouses.domain.usecases.WarehouseConflictException} is
+   * thrown.
+   */
   void update(Warehouse warehouse);
 
   void remove(Warehouse warehouse);
 
   Warehouse findByBusinessUnitCode(String buCode);
+
+  /** Active warehouses at {@code location}; stores backed by a database only load those rows. */
+  default List<Warehouse> listActiveAtLocation(String location) {
+    List<Warehouse> active = new ArrayList<>();
+    for (Warehouse warehouse : getAll()) {
+      if (warehouse.archivedAt == null && location.equalsIgnoreCase(warehouse.location)) {
+        active.add(warehouse);
+      }
+    }
+    return active;
+  }
+
+  /**
+   * Sets {@code archivedAt} on all active warehouses at {@code location} and returns them as
+   * archived. Stores backed by a database do this with one set-based statement.
+   */
+  default List<Warehouse> archiveActiveAtLocation(String location, LocalDateTime archivedAt) {
+    List<Warehouse> archived = new ArrayList<>();
+    for (Warehouse warehouse : getAll()) {
+      if (warehouse.archivedAt == null && location.equalsIgnoreCase(warehouse.location)) {
+        warehouse.archivedAt = archivedAt;
+        update(warehouse);
+        archived.add(warehouse);
+      }
+    }
+    return archived;
+  }
 }
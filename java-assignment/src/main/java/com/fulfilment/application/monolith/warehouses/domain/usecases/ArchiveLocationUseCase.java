@@ -0,0 +1,50 @@
+package com.fulfilment.application.monolith.warehouses.domain.usecases;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.Location;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseEvent;
+import com.fulfilment.application.monolith.warehouses.domain.ports.ArchiveLocationOperation;
+import com.fulfilment.application.monolith.warehouses.domain.ports.LocationResolver;
+import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseEventPublisher;
+import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/** Decommissions a site: archives all of its active warehouses in one store operation. */
+@ApplicationScoped
+public class ArchiveLocationUseCase implements ArchiveLocationOperation {
+
+  private final WarehouseStore warehouseStore;
+  private final LocationResolver locationResolver;
+  private final WarehouseEventPublisher eventPublisher;
+
+  public ArchiveLocationUseCase(WarehouseStore warehouseStore, LocationResolver locationResolver) {
+    this(warehouseStore, locationResolver, WarehouseEventPublisher.NONE);
+  }
+
+  @Inject
+  public ArchiveLocationUseCase(
+      WarehouseStore warehouseStore, LocationResolver locationResolver, WarehouseEventPublisher eventPublisher) {
+    this.warehouseStore = warehouseStore;
+    this.locationResolver = locationResolver;
+    this.eventPublisher = eventPublisher;
+  }
+
+  @Override
+  public List<Warehouse> archiveLocation(String location) {
+    if (location == null || location.isBlank()) {
+      throw new WarehouseOperationException(400, "location must be provided.");
+    }
+    Location resolved = WarehouseRules.resolveLocation(locationResolver, location);
+
+    // Stored timestamps have microsecond precision, so the returned warehouses match what was stored
+    LocalDateTime archivedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    List<Warehouse> archived = warehouseStore.archiveActiveAtLocation(resolved.identification, archivedAt);
+
+    eventPublisher.publishAll(archived.stream().map(WarehouseEvent::archived).toList());
+    return archived;
+  }
+}
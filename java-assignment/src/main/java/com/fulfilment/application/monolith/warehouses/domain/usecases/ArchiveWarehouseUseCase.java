@@ -1,18 +1,28 @@
 package com.fulfilment.application.monolith.warehouses.domain.usecases;
 
 import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseEvent;
 import com.fulfilment.application.monolith.warehouses.domain.ports.ArchiveWarehouseOperation;
+import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseEventPublisher;
 import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
 import java.time.LocalDateTime;
 
 @ApplicationScoped
 public class ArchiveWarehouseUseCase implements ArchiveWarehouseOperation {
 
   private final WarehouseStore warehouseStore;
+  private final WarehouseEventPublisher eventPublisher;
 
   public ArchiveWarehouseUseCase(WarehouseStore warehouseStore) {
+    this(warehouseStore, WarehouseEventPublisher.NONE);
+  }
+
+  @Inject
+  public ArchiveWarehouseUseCase(WarehouseStore warehouseStore, WarehouseEventPublisher eventPublisher) {
     this.warehouseStore = warehouseStore;
+    this.eventPublisher = eventPublisher;
   }
 
   @Override
@@ -21,10 +31,23 @@ public class ArchiveWarehouseUseCase implements ArchiveWarehouseOperation {
       throw new WarehouseOperationException(400, "businessUnitCode must be provided.");
     }
 
-    Warehouse existing = warehouseStore.findByBusinessUnitCode(warehouse.businessUnitCode.trim());
+    for (int attempt = 1; ; attempt++) {
+      try {
+        archiveOnce(warehouse.businessUnitCode.trim());
+        return;
+      } catch (WarehouseConflictException e) {
+        if (attempt >= WarehouseRules.MAX_WRITE_ATTEMPTS) {
+          throw e;
+        }
+      }
+    }
+  }
+
+  private void archiveOnce(String businessUnitCode) {
+    Warehouse existing = warehouseStore.findByBusinessUnitCode(businessUnitCode);
     if (existing == null) {
       throw new WarehouseOperationException(
-              404, "Warehouse with businessUnitCode " + warehouse.businessUnitCode + " does not exist.");
+              404, "Warehouse with businessUnitCode " + businessUnitCode + " does not exist.");
     }
     if (existing.archivedAt != null) {
       return; // idempotent archive
@@ -32,5 +55,6 @@ public class ArchiveWarehouseUseCase implements ArchiveWarehouseOperation {
 
     existing.archivedAt = LocalDateTime.now();
     warehouseStore.update(existing);
+    eventPublisher.publish(WarehouseEvent.archived(existing));
   }
-}
\ No newline at end of file
+}
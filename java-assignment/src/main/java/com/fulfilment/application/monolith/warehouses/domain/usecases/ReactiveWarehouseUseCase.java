@@ -0,0 +1,170 @@
+package com.fulfilment.application.monolith.warehouses.domain.usecases;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.Location;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseEvent;
+import com.fulfilment.application.monolith.warehouses.domain.ports.LocationResolver;
+import com.fulfilment.application.monolith.warehouses.domain.ports.ReactiveWarehouseStore;
+import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseEventPublisher;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Non-blocking create/replace/archive, applying the same {@link WarehouseRules} as {@link
+ * CreateWarehouseUseCase}, {@link ReplaceWarehouseUseCase} and {@link ArchiveWarehouseUseCase}.
+ * The store completes on the Vert.x event loop; the events are published from a worker thread, as
+ * their CDI observers are synchronous and free to block.
+ */
+@ApplicationScoped
+@IfBuildProperty(name = "warehouse.stack", stringValue = "reactive")
+public class ReactiveWarehouseUseCase {
+
+  private final ReactiveWarehouseStore warehouseStore;
+  private final LocationResolver locationResolver;
+  private final WarehouseEventPublisher eventPublisher;
+
+  public ReactiveWarehouseUseCase(
+      ReactiveWarehouseStore warehouseStore,
+      LocationResolver locationResolver,
+      WarehouseEventPublisher eventPublisher) {
+    this.warehouseStore = warehouseStore;
+    this.locationResolver = locationResolver;
+    this.eventPublisher = eventPublisher;
+  }
+
+  public Uni<Void> create(Warehouse warehouse) {
+    WarehouseRules.requireBody(warehouse);
+    WarehouseRules.requireBusinessUnitCode(warehouse);
+    WarehouseRules.validateDetails(warehouse);
+
+    String businessUnitCode = warehouse.businessUnitCode.trim();
+
+    return warehouseStore.withTransaction(
+        tx ->
+            tx.findByBusinessUnitCode(businessUnitCode)
+                .flatMap(
+                    existing -> {
+                      if (existing != null) {
+                        throw new WarehouseOperationException(400, "Warehouse businessUnitCode already exists.");
+                      }
+                      Location location = WarehouseRules.resolveLocation(locationResolver, warehouse.location);
+                      return tx.getActiveAtLocation(location.identification)
+                          .flatMap(
+                              active -> {
+                                WarehouseRules.checkLocationFeasibility(
+                                    location, active, null, warehouse.capacity);
+
+                                warehouse.createdAt =
+                                    warehouse.createdAt == null ? LocalDateTime.now() : warehouse.createdAt;
+                                warehouse.archivedAt = null;
+                                warehouse.businessUnitCode = businessUnitCode;
+                                warehouse.location = location.identification;
+                                return tx.create(warehouse);
+                              });
+                    }))
+        .emitOn(Infrastructure.getDefaultWorkerPool())
+        .invoke(() -> eventPublisher.publish(WarehouseEvent.created(warehouse)));
+  }
+
+  public Uni<Void> replace(Warehouse newWarehouse) {
+    WarehouseRules.requireBody(newWarehouse);
+    WarehouseRules.requireBusinessUnitCode(newWarehouse);
+
+    return warehouseStore.withTransaction(
+        tx ->
+            tx.findByBusinessUnitCode(newWarehouse.businessUnitCode.trim())
+                .flatMap(
+                    current -> {
+                      if (current == null || current.archivedAt != null) {
+                        throw new WarehouseOperationException(
+                            404,
+                            "Active warehouse with businessUnitCode "
+                                + newWarehouse.businessUnitCode
+                                + " was not found.");
+                      }
+                      WarehouseRules.validateDetails(newWarehouse);
+                      Location location = WarehouseRules.resolveLocation(locationResolver, newWarehouse.location);
+                      WarehouseRules.validateReplacement(current, newWarehouse);
+
+                      return tx.getActiveAtLocation(location.identification)
+                          .flatMap(
+                              active -> {
+                                WarehouseRules.checkLocationFeasibility(
+                                    location, active, current.businessUnitCode, newWarehouse.capacity);
+
+                                current.archivedAt = LocalDateTime.now();
+                                newWarehouse.createdAt = LocalDateTime.now();
+                                newWarehouse.archivedAt = null;
+                                newWarehouse.version = null;
+                                newWarehouse.businessUnitCode = current.businessUnitCode;
+                                newWarehouse.location = location.identification;
+                                return tx.update(current)
+                                    .flatMap(ignored -> tx.create(newWarehouse))
+                                    .replaceWith(current);
+                              });
+                    }))
+        // a lost version race re-runs the whole transaction, re-reading the current warehouse
+        .onFailure(WarehouseConflictException.class)
+        .retry()
+        .atMost(WarehouseRules.MAX_WRITE_ATTEMPTS - 1)
+        .emitOn(Infrastructure.getDefaultWorkerPool())
+        .invoke(
+            archived -> {
+              eventPublisher.publish(WarehouseEvent.archived(archived));
+              eventPublisher.publish(WarehouseEvent.created(newWarehouse));
+            })
+        .replaceWithVoid();
+  }
+
+  public Uni<Void> archive(Warehouse warehouse) {
+    if (warehouse == null || warehouse.businessUnitCode == null || warehouse.businessUnitCode.isBlank()) {
+      throw new WarehouseOperationException(400, "businessUnitCode must be provided.");
+    }
+
+    return warehouseStore.withTransaction(
+        tx ->
+            tx.findByBusinessUnitCode(warehouse.businessUnitCode.trim())
+                .flatMap(
+                    existing -> {
+                      if (existing == null) {
+                        throw new WarehouseOperationException(
+                            404,
+                            "Warehouse with businessUnitCode " + warehouse.businessUnitCode + " does not exist.");
+                      }
+                      if (existing.archivedAt != null) {
+                        return Uni.createFrom().<Warehouse>nullItem(); // idempotent archive
+                      }
+                      existing.archivedAt = LocalDateTime.now();
+                      return tx.update(existing).replaceWith(existing);
+                    }))
+        .onFailure(WarehouseConflictException.class)
+        .retry()
+        .atMost(WarehouseRules.MAX_WRITE_ATTEMPTS - 1)
+        .emitOn(Infrastructure.getDefaultWorkerPool())
+        .invoke(
+            archived -> {
+              if (archived != null) {
+                eventPublisher.publish(WarehouseEvent.archived(archived));
+              }
+            })
+        .replaceWithVoid();
+  }
+
+  public Uni<List<Warehouse>> archiveLocation(String location) {
+    if (location == null || location.isBlank()) {
+      throw new WarehouseOperationException(400, "location must be provided.");
+    }
+    Location resolved = WarehouseRules.resolveLocation(locationResolver, location);
+    LocalDateTime archivedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+    return warehouseStore
+        .archiveActiveAtLocation(resolved.identification, archivedAt)
+        .emitOn(Infrastructure.getDefaultWorkerPool())
+        .invoke(archived -> eventPublisher.publishAll(archived.stream().map(WarehouseEvent::archived).toList()));
+  }
+}
@@ -0,0 +1,12 @@
+package com.fulfilment.application.monolith.warehouses.domain.usecases;
+
+/**
+ * The warehouse row changed between being read and being written (its version no longer matches).
+ * Use cases retry on it; once they give up it surfaces as 409.
+ */
+public class WarehouseConflictException extends WarehouseOperationException {
+
+  public WarehouseConflictException(String businessUnitCode) {
+    super(409, "Warehouse with businessUnitCode " + businessUnitCode + " was modified concurrently.");
+  }
+}
@@ -1,10 +1,11 @@
 package com.fulfilment.application.monolith.warehouses.domain.usecases;
 
+/** A rejected warehouse operation; stackless, rejections are ordinary outcomes of validation. */
 public class WarehouseOperationException extends RuntimeException {
     public final int status;
 
     public WarehouseOperationException(int status, String message) {
-        super(message);
+        super(message, null, false, false);
         this.status = status;
     }
 }
\ No newline at end of file
@@ -0,0 +1,88 @@
+package com.fulfilment.application.monolith.warehouses.domain.usecases;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.Location;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.ports.LocationResolver;
+
+/** Validation rules shared by the warehouse use cases, independent of how warehouses are stored. */
+public final class WarehouseRules {
+
+  /** How often a replace/archive re-reads and retries after losing a version race. */
+  public static final int MAX_WRITE_ATTEMPTS = 3;
+
+  private WarehouseRules() {}
+
+  public static void requireBody(Warehouse warehouse) {
+    if (warehouse == null) {
+      throw new WarehouseOperationException(400, "Request body must be provided.");
+    }
+  }
+
+  public static void requireBusinessUnitCode(Warehouse warehouse) {
+    if (warehouse.businessUnitCode == null || warehouse.businessUnitCode.isBlank()) {
+      throw new WarehouseOperationException(400, "businessUnitCode must be provided.");
+    }
+  }
+
+  public static void validateDetails(Warehouse warehouse) {
+    if (warehouse.location == null || warehouse.location.isBlank()) {
+      throw new WarehouseOperationException(400, "location must be provided.");
+    }
+    if (warehouse.capacity == null || warehouse.capacity <= 0) {
+      throw new WarehouseOperationException(400, "capacity must be a positive integer.");
+    }
+    if (warehouse.stock == null || warehouse.stock < 0) {
+      throw new WarehouseOperationException(400, "stock must be a non-negative integer.");
+    }
+    if (warehouse.capacity < warehouse.stock) {
+      throw new WarehouseOperationException(400, "capacity must be greater than or equal to stock.");
+    }
+  }
+
+  public static Location resolveLocation(LocationResolver locationResolver, String identifier) {
+    Location location = locationResolver.resolveByIdentifier(identifier.trim());
+    if (location == null) {
+      throw new WarehouseOperationException(400, "Invalid warehouse location: " + identifier);
+    }
+    return location;
+  }
+
+  public static void validateReplacement(Warehouse current, Warehouse replacement) {
+    if (current.stock == null || !current.stock.equals(replacement.stock)) {
+      throw new WarehouseOperationException(400, "Replacement warehouse stock must match the current warehouse stock.");
+    }
+    if (replacement.capacity < current.stock) {
+      throw new WarehouseOperationException(400, "Replacement warehouse capacity must accommodate current warehouse stock.");
+    }
+  }
+
+  /**
+   * Checks the max number of warehouses and max capacity of the location, counting the active
+   * warehouses at the location except {@code replacedBusinessUnitCode} (the one being archived by a
+   * replacement, {@code null} for a creation).
+   */
+  public static void checkLocationFeasibility(
+      Location location, Iterable<Warehouse> warehouses, String replacedBusinessUnitCode, int capacity) {
+    int activeCount = 0;
+    int usedCapacity = 0;
+    for (Warehouse w : warehouses) {
+      if (w.archivedAt != null || w.location == null || !w.location.equalsIgnoreCase(location.identification)) {
+        continue;
+      }
+      if (replacedBusinessUnitCode != null && replacedBusinessUnitCode.equalsIgnoreCase(w.businessUnitCode)) {
+        continue;
+      }
+      activeCount++;
+      usedCapacity += w.capacity == null ? 0 : w.capacity;
+    }
+
+    if (activeCount >= location.maxNumberOfWarehouses) {
+      throw new WarehouseOperationException(
+          400, "Maximum number of warehouses reached for location " + location.identification + ".");
+    }
+    if (usedCapacity + capacity > location.maxCapacity) {
+      throw new WarehouseOperationException(
+          400, "Warehouse capacity exceeds max capacity for location " + location.identification + ".");
+    }
+  }
+}
@@ -1,6 +1,8 @@
-INSERT INTO store(id, name, quantityProductsInStock) VALUES (1, 'TONSTAD', 10);
-INSERT INTO store(id, name, quantityProductsInStock) VALUES (2, 'KALLAX', 5);
-INSERT INTO store(id, name, quantityProductsInStock) VALUES (3, 'BESTÅ', 3);
+-- Sequences use pooled-lo with an increment of 50 (see @SequenceGenerator): the value returned by
+-- nextval is the first id of the block, so restarting right above the seeded ids is enough.
+INSERT INTO store(id, name, quantityProductsInStock, latitude, longitude) VALUES (1, 'TONSTAD', 10, 52.3731, 4.8922);
+INSERT INTO store(id, name, quantityProductsInStock, latitude, longitude) VALUES (2, 'KALLAX', 5, 51.4381, 5.4752);
+INSERT INTO store(id, name, quantityProductsInStock, latitude, longitude) VALUES (3, 'BESTÅ', 3, 52.5125, 6.0944);
 ALTER SEQUENCE store_seq RESTART WITH 4;
 
 INSERT INTO product(id, name, stock) VALUES (1, 'TONSTAD', 10);
@@ -8,10 +10,10 @@ INSERT INTO product(id, name, stock) VALUES (2, 'KALLAX', 5);
 INSERT INTO product(id, name, stock) VALUES (3, 'BESTÅ', 3);
 ALTER SEQUENCE product_seq RESTART WITH 4;
 
-INSERT INTO warehouse(id, businessUnitCode, location, capacity, stock, createdAt, archivedAt) 
-VALUES (1, 'MWH.001', 'ZWOLLE-001', 100, 10, '2024-07-01', null);
-INSERT INTO warehouse(id, businessUnitCode, location, capacity, stock, createdAt, archivedAt)
-VALUES (2, 'MWH.012', 'AMSTERDAM-001', 50, 5, '2023-07-01', null);
-INSERT INTO warehouse(id, businessUnitCode, location, capacity, stock, createdAt, archivedAt)
-VALUES (3, 'MWH.023', 'TILBURG-001', 30, 27, '2021-02-01', null);
+INSERT INTO warehouse(id, businessUnitCode, location, capacity, stock, createdAt, archivedAt, version) 
+VALUES (1, 'MWH.001', 'ZWOLLE-001', 100, 10, '2024-07-01', null, 0);
+INSERT INTO warehouse(id, businessUnitCode, location, capacity, stock, createdAt, archivedAt, version)
+VALUES (2, 'MWH.012', 'AMSTERDAM-001', 50, 5, '2023-07-01', null, 0);
+INSERT INTO warehouse(id, businessUnitCode, location, capacity, stock, createdAt, archivedAt, version)
+VALUES (3, 'MWH.023', 'TILBURG-001', 30, 27, '2021-02-01', null, 0);
 ALTER SEQUENCE warehouse_seq RESTART WITH 4;
@@ -0,0 +1,115 @@
+package com.fulfilment.application.monolith.admission;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveConcurrencyLimiterTest {
+
+  private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+  private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(100);
+
+  @Test
+  void acquire_whenOverLimitAndQueueFull_sheds() throws Exception {
+    var limiter = new AdaptiveConcurrencyLimiter(1, 1, 10, 0, 1, TimeUnit.SECONDS);
+
+    assertNotNull(limiter.acquire());
+    assertNull(limiter.acquire());
+    assertEquals(1, limiter.getShedCount());
+  }
+
+  @Test
+  void tryAcquire_whenOverLimit_shedsWithoutQueueing() {
+    var limiter = new AdaptiveConcurrencyLimiter(1, 1, 10, 5, 1, TimeUnit.SECONDS);
+
+    var permit = limiter.tryAcquire();
+    assertNotNull(permit);
+    assertNull(limiter.tryAcquire());
+    assertEquals(1, limiter.getShedCount());
+    assertEquals(0, limiter.getQueued());
+
+    permit.release(false);
+    assertNotNull(limiter.tryAcquire());
+  }
+
+  @Test
+  void acquire_whenQueuedTooLong_sheds() throws Exception {
+    var limiter = new AdaptiveConcurrencyLimiter(1, 1, 10, 5, 10, TimeUnit.MILLISECONDS);
+
+    assertNotNull(limiter.acquire());
+    assertNull(limiter.acquire());
+    assertEquals(1, limiter.getShedCount());
+    assertEquals(0, limiter.getQueued());
+  }
+
+  @Test
+  void acquire_whenQueued_getsPermitOnRelease() throws Exception {
+    var limiter = new AdaptiveConcurrencyLimiter(1, 1, 10, 5, 5, TimeUnit.SECONDS);
+    var first = limiter.acquire();
+
+    CompletableFuture<AdaptiveConcurrencyLimiter.Permit> second =
+        CompletableFuture.supplyAsync(
+            () -> {
+              try {
+                return limiter.acquire();
+              } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+              }
+            });
+    while (limiter.getQueued() == 0) {
+      Thread.onSpinWait();
+    }
+
+    first.release(false);
+
+    assertNotNull(second.get(5, TimeUnit.SECONDS));
+    assertEquals(1, limiter.getInFlight());
+    assertEquals(0, limiter.getShedCount());
+  }
+
+  @Test
+  void limit_growsWhileLatencyIsStable_andShrinksWhenItClimbs() throws Exception {
+    var limiter = new AdaptiveConcurrencyLimiter(10, 2, 100, 0, 0, TimeUnit.MILLISECONDS);
+
+    saturate(limiter, FAST, 50);
+    int grown = limiter.getLimit();
+    assertTrue(grown > 10, "limit should grow, was " + grown);
+
+    saturate(limiter, SLOW, 5);
+    assertTrue(limiter.getLimit() < grown, "limit should shrink, was " + limiter.getLimit());
+  }
+
+  @Test
+  void limit_backsOffOnDrops_downToMinimum() throws Exception {
+    var limiter = new AdaptiveConcurrencyLimiter(10, 8, 100, 0, 0, TimeUnit.MILLISECONDS);
+
+    limiter.acquire();
+    limiter.release(FAST, true);
+    assertEquals(9, limiter.getLimit());
+
+    for (int i = 0; i < 10; i++) {
+      limiter.acquire();
+      limiter.release(FAST, true);
+    }
+    assertEquals(8, limiter.getLimit());
+  }
+
+  /** Fills the limit with requests and completes them all with the given latency, n times. */
+  private static void saturate(AdaptiveConcurrencyLimiter limiter, long rttNanos, int rounds)
+      throws InterruptedException {
+    for (int round = 0; round < rounds; round++) {
+      List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+      AdaptiveConcurrencyLimiter.Permit permit;
+      while ((permit = limiter.acquire()) != null) {
+        permits.add(permit);
+      }
+      for (int i = 0; i < permits.size(); i++) {
+        limiter.release(rttNanos, false);
+      }
+    }
+  }
+}
@@ -0,0 +1,104 @@
+package com.fulfilment.application.monolith.capture;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class TrafficLogTest {
+
+  private static final TrafficRecord CREATE =
+      new TrafficRecord(
+          0,
+          1_250,
+          "POST",
+          "store",
+          "application/json",
+          "application/json",
+          "{\"name\":\"KALLAX\"}".getBytes(StandardCharsets.UTF_8),
+          201,
+          87,
+          0xCAFEBABE);
+
+  private static final TrafficRecord LIST =
+      new TrafficRecord(3_000_000_000L, 480, "GET", "warehouse?x=1", null, null, new byte[0], 200, 0, 0);
+
+  @Test
+  void recordsRoundTrip() throws Exception {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (TrafficLog.Writer writer = new TrafficLog.Writer(bytes)) {
+      writer.write(CREATE);
+      writer.write(LIST);
+    }
+
+    List<TrafficRecord> records = TrafficReplay.read(new ByteArrayInputStream(bytes.toByteArray()));
+
+    assertEquals(2, records.size());
+    assertRecord(CREATE, records.get(0));
+    assertRecord(LIST, records.get(1));
+    assertNull(records.get(1).contentType());
+  }
+
+  @Test
+  void tornLastRecordEndsTheLog() throws Exception {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (TrafficLog.Writer writer = new TrafficLog.Writer(bytes)) {
+      writer.write(CREATE);
+      writer.write(LIST);
+    }
+    byte[] torn = Arrays.copyOf(bytes.toByteArray(), bytes.size() - 3);
+
+    List<TrafficRecord> records = TrafficReplay.read(new ByteArrayInputStream(torn));
+
+    assertEquals(1, records.size());
+    assertRecord(CREATE, records.get(0));
+  }
+
+  @Test
+  void replayGroupsByEndpointTemplate() {
+    TrafficRecord get =
+        new TrafficRecord(0, 0, "GET", "store/42/nearest-warehouses?k=3", null, null, new byte[0], 200, 0, 0);
+
+    assertEquals(
+        "GET /store/{id}/nearest-warehouses", new TrafficReplay.Outcome(get, 200, 0, 0, true).endpoint());
+    assertEquals("GET /warehouse", new TrafficReplay.Outcome(LIST, 200, 0, 0, true).endpoint());
+  }
+
+  @Test
+  void redactsConfiguredFieldsAtAnyDepth() throws Exception {
+    TrafficCaptureFilter filter = new TrafficCaptureFilter();
+    filter.objectMapper = new ObjectMapper();
+    filter.redactFields = List.of("password");
+
+    byte[] redacted =
+        filter.redact(
+            "{\"name\":\"a\",\"owner\":{\"password\":\"hunter2\"}}".getBytes(StandardCharsets.UTF_8));
+    String text = new String(redacted, StandardCharsets.UTF_8);
+
+    assertTrue(text.contains("\"password\":\"" + TrafficCaptureFilter.REDACTED + "\""));
+    assertTrue(text.contains("\"name\":\"a\""));
+    byte[] untouched = "{\"name\":\"b\"}".getBytes(StandardCharsets.UTF_8);
+    assertSame(untouched, filter.redact(untouched));
+  }
+
+  private static void assertRecord(TrafficRecord expected, TrafficRecord actual) {
+    assertEquals(expected.offsetMicros(), actual.offsetMicros());
+    assertEquals(expected.serverMicros(), actual.serverMicros());
+    assertEquals(expected.method(), actual.method());
+    assertEquals(expected.pathAndQuery(), actual.pathAndQuery());
+    assertEquals(expected.contentType(), actual.contentType());
+    assertArrayEquals(expected.requestBody(), actual.requestBody());
+    assertEquals(expected.status(), actual.status());
+    assertEquals(expected.responseLength(), actual.responseLength());
+    assertEquals(expected.responseCrc32(), actual.responseCrc32());
+  }
+}
@@ -0,0 +1,124 @@
+package com.fulfilment.application.monolith.coalescing;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightCacheTest {
+
+  private static final long MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+  @Test
+  void get_whenLoadInFlight_sharesIt() throws Exception {
+    var cache = new SingleFlightCache<Long, String>(0, 100);
+    var loads = new AtomicInteger();
+    var release = new CountDownLatch(1);
+
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<String>> results = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        results.add(
+            executor.submit(
+                () ->
+                    cache.get(
+                        1L,
+                        () -> {
+                          loads.incrementAndGet();
+                          await(release);
+                          return "store-1";
+                        })));
+      }
+      while (loads.get() == 0) {
+        Thread.onSpinWait();
+      }
+      // Give the other callers time to pile up behind the first load
+      Thread.sleep(50);
+      release.countDown();
+
+      for (Future<String> result : results) {
+        assertEquals("store-1", result.get(5, TimeUnit.SECONDS));
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  void get_withinTtl_servesCachedValue() {
+    var cache = new SingleFlightCache<Long, String>(MINUTE, 100);
+    var loads = new AtomicInteger();
+
+    cache.get(1L, () -> "v" + loads.incrementAndGet());
+
+    assertEquals("v1", cache.get(1L, () -> "v" + loads.incrementAndGet()));
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  void get_withoutTtl_reloadsOnceCompleted() {
+    var cache = new SingleFlightCache<Long, String>(0, 100);
+    var loads = new AtomicInteger();
+
+    cache.get(1L, () -> "v" + loads.incrementAndGet());
+
+    assertEquals("v2", cache.get(1L, () -> "v" + loads.incrementAndGet()));
+  }
+
+  @Test
+  void get_whenLoaderFails_doesNotCacheFailure() {
+    var cache = new SingleFlightCache<Long, String>(MINUTE, 100);
+    var failure = new IllegalStateException("not found");
+
+    var thrown =
+        assertThrows(
+            IllegalStateException.class,
+            () ->
+                cache.get(
+                    1L,
+                    () -> {
+                      throw failure;
+                    }));
+
+    assertSame(failure, thrown);
+    assertEquals("found", cache.get(1L, () -> "found"));
+  }
+
+  @Test
+  void invalidate_forcesReload() {
+    var cache = new SingleFlightCache<Long, String>(MINUTE, 100);
+    cache.get(1L, () -> "old");
+
+    cache.invalidate(1L);
+
+    assertEquals("new", cache.get(1L, () -> "new"));
+  }
+
+  @Test
+  void get_whenOverMaxEntries_evictsExpired() {
+    var cache = new SingleFlightCache<Long, String>(0, 2);
+
+    for (long id = 0; id < 10; id++) {
+      cache.get(id, () -> "v");
+    }
+
+    assertTrue(cache.size() <= 2);
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,63 @@
+package com.fulfilment.application.monolith.conditional;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.notNullValue;
+
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+public class ConditionalListFilterTest {
+
+  @Test
+  public void testUnchangedListIsNotModifiedUntilAWriteCommits() {
+    String etag =
+        given()
+            .when()
+            .get("product")
+            .then()
+            .statusCode(200)
+            .header("ETag", notNullValue())
+            .extract()
+            .header("ETag");
+
+    given().header("If-None-Match", etag).when().get("product").then().statusCode(304).header("ETag", is(etag));
+    given().header("If-None-Match", "W/" + etag).when().get("product").then().statusCode(304);
+    given().when().get("product").then().statusCode(200).header("ETag", is(etag));
+
+    given()
+        .contentType("application/json")
+        .body("{\"name\": \"ETAG-PRODUCT\", \"stock\": 1}")
+        .when()
+        .post("product")
+        .then()
+        .statusCode(201);
+
+    given()
+        .header("If-None-Match", etag)
+        .when()
+        .get("product")
+        .then()
+        .statusCode(200)
+        .header("ETag", not(is(etag)))
+        .body(containsString("ETAG-PRODUCT"));
+  }
+
+  @Test
+  public void testOtherListsHaveTheirOwnCounter() {
+    String etag = given().when().get("store").then().statusCode(200).extract().header("ETag");
+
+    given()
+        .contentType("application/json")
+        .body("{\"name\": \"ETAG-OTHER-PRODUCT\", \"stock\": 1}")
+        .when()
+        .post("product")
+        .then()
+        .statusCode(201);
+
+    given().header("If-None-Match", etag).when().get("store").then().statusCode(304);
+  }
+}
@@ -0,0 +1,106 @@
+package com.fulfilment.application.monolith.costs;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class CostEventIngestorTest {
+
+  private final List<String> stored = new ArrayList<>();
+  private int batches;
+  private int transientFailures;
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final CostEventIngestor ingestor = new CostEventIngestor();
+
+  @AfterEach
+  void stop() throws InterruptedException {
+    ingestor.onStop(null);
+  }
+
+  @Test
+  void write_dropsOnlyTheEventsTheDatabaseRejects() throws Exception {
+    start();
+    for (int i = 0; i < 16; i++) {
+      assertTrue(ingestor.offer(event(i == 3 || i == 11 ? "bad-" + i : "ok-" + i)));
+    }
+    assertTrue(ingestor.flush(Duration.ofSeconds(10)));
+
+    assertEquals(14, stored.size());
+    assertFalse(stored.stream().anyMatch(key -> key.startsWith("bad-")));
+    assertEquals(14, registry.counter("costs.ingest.written").count());
+    assertEquals(2, registry.counter("costs.ingest.failed").count());
+  }
+
+  @Test
+  void write_retriesTransientFailuresWithTheWholeBatch() throws Exception {
+    transientFailures = 1;
+    start();
+    for (int i = 0; i < 4; i++) {
+      assertTrue(ingestor.offer(event("ok-" + i)));
+    }
+    assertTrue(ingestor.flush(Duration.ofSeconds(10)));
+
+    assertEquals(4, stored.size());
+    assertEquals(0, registry.counter("costs.ingest.failed").count());
+  }
+
+  @Test
+  void isTransient_classifiesBySqlState() {
+    assertTrue(CostEventIngestor.isTransient(new SQLException("deadlock", "40P01")));
+    assertTrue(CostEventIngestor.isTransient(new SQLException("connection reset", "08006")));
+    assertTrue(CostEventIngestor.isTransient(new SQLTransientConnectionException("timeout")));
+    assertFalse(CostEventIngestor.isTransient(new SQLException("value too long", "22001")));
+    assertFalse(CostEventIngestor.isTransient(new SQLException("numeric overflow", "22003")));
+  }
+
+  private void start() {
+    ingestor.writer =
+        new CostEventWriter() {
+          @Override
+          public void write(List<CostEventRequest> events, LocalDateTime receivedAt) throws SQLException {
+            synchronized (CostEventIngestorTest.this) {
+              batches++;
+              if (transientFailures > 0) {
+                transientFailures--;
+                throw new SQLException("serialization failure", "40001");
+              }
+              if (events.stream().anyMatch(event -> event.dedupeKey().startsWith("bad-"))) {
+                throw new SQLException("value too long for type character varying(255)", "22001");
+              }
+              events.forEach(event -> stored.add(event.dedupeKey()));
+            }
+          }
+        };
+    ingestor.registry = registry;
+    ingestor.queueCapacity = 100;
+    ingestor.batchSize = 16;
+    ingestor.writerCount = 1;
+    ingestor.offerTimeout = Duration.ofMillis(100);
+    ingestor.onStart(null);
+  }
+
+  private static CostEventRequest event(String key) {
+    return new CostEventRequest(
+        key,
+        CostCategory.LABOR,
+        BigDecimal.TEN,
+        null,
+        "MWH.001",
+        null,
+        null,
+        null,
+        null,
+        10,
+        LocalDateTime.of(2024, 7, 1, 8, 0));
+  }
+}
@@ -0,0 +1,100 @@
+package com.fulfilment.application.monolith.costs;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+public class CostEventResourceTest {
+
+  @Inject CostEventIngestor ingestor;
+
+  @Test
+  @Transactional
+  public void testIngestDedupesAndReportsInvalidLines() throws Exception {
+    String body =
+        String.join(
+            "\n",
+            "{\"dedupeKey\":\"test-1\",\"category\":\"LABOR\",\"amount\":120.50,\"warehouseCode\":\"MWH.001\","
+                + "\"laborMinutes\":90,\"occurredAt\":\"2024-07-02T08:00:00\"}",
+            "{\"dedupeKey\":\"test-2\",\"category\":\"TRANSPORT\",\"amount\":80,\"currency\":\"EUR\","
+                + "\"storeId\":1,\"occurredAt\":\"2024-07-02T09:00:00\"}",
+            "{\"dedupeKey\":\"test-1\",\"category\":\"LABOR\",\"amount\":999,\"occurredAt\":\"2024-07-02T08:00:00\"}",
+            "{\"dedupeKey\":\"test-3\",\"category\":\"LABOR\"}",
+            "not json",
+            "");
+
+    given()
+        .contentType(CostEventResource.NDJSON)
+        .body(body.getBytes(StandardCharsets.UTF_8))
+        .when()
+        .post("costs/events")
+        .then()
+        .statusCode(202)
+        .body("accepted", is(3))
+        .body("rejected", is(2))
+        .body("errors[0].line", is(4))
+        .body("errors[1].line", is(5));
+
+    assertTrue(ingestor.flush(Duration.ofSeconds(10)));
+
+    assertEquals(2, CostEvent.count("dedupeKey in ?1", List.of("test-1", "test-2", "test-3")));
+    CostEvent labor = CostEvent.findById("test-1");
+    assertEquals(0, labor.amount.compareTo(new BigDecimal("120.50")));
+    assertEquals("EUR", labor.currency);
+    assertEquals(90, labor.laborMinutes);
+
+    // A producer re-sending an event that is already stored: the insert skips the existing key
+    given()
+        .contentType(CostEventResource.NDJSON)
+        .body(
+            ("{\"dedupeKey\":\"test-2\",\"category\":\"TRANSPORT\",\"amount\":55,\"storeId\":1,"
+                    + "\"occurredAt\":\"2024-07-02T09:00:00\"}")
+                .getBytes(StandardCharsets.UTF_8))
+        .when()
+        .post("costs/events")
+        .then()
+        .statusCode(202)
+        .body("accepted", is(1));
+
+    assertTrue(ingestor.flush(Duration.ofSeconds(10)));
+    assertEquals(1, CostEvent.count("dedupeKey", "test-2"));
+    CostEvent transport = CostEvent.findById("test-2");
+    assertEquals(0, transport.amount.compareTo(new BigDecimal("80")));
+  }
+
+  @Test
+  public void testValuesTheColumnsCannotHoldAreRejected() {
+    String body =
+        String.join(
+            "\n",
+            "{\"dedupeKey\":\"test-big-1\",\"category\":\"LABOR\",\"amount\":1000000000000,"
+                + "\"occurredAt\":\"2024-07-02T08:00:00\"}",
+            "{\"dedupeKey\":\"test-big-2\",\"category\":\"LABOR\",\"amount\":1,\"warehouseCode\":\""
+                + "W".repeat(CostEventRequest.MAX_WAREHOUSE_CODE_LENGTH + 1)
+                + "\",\"occurredAt\":\"2024-07-02T08:00:00\"}",
+            "{\"dedupeKey\":\"test-big-3\",\"category\":\"LABOR\",\"amount\":999999999999.99,"
+                + "\"occurredAt\":\"2024-07-02T08:00:00\"}");
+
+    given()
+        .contentType(CostEventResource.NDJSON)
+        .body(body.getBytes(StandardCharsets.UTF_8))
+        .when()
+        .post("costs/events")
+        .then()
+        .statusCode(202)
+        .body("accepted", is(1))
+        .body("rejected", is(2))
+        .body("errors[0].error", is("amount must have at most 12 digits before the decimal point."))
+        .body("errors[1].error", is("warehouseCode must be at most 255 characters."));
+  }
+}
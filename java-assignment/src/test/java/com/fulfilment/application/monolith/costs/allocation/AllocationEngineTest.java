@@ -0,0 +1,92 @@
+package com.fulfilment.application.monolith.costs.allocation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fulfilment.application.monolith.costs.CostCategory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class AllocationEngineTest {
+
+  private final ForkJoinPool pool = new ForkJoinPool(4);
+  private final AllocationEngine engine = new AllocationEngine(pool);
+
+  @AfterEach
+  void shutdown() {
+    pool.shutdown();
+  }
+
+  @Test
+  void largestRemainder_allocatesEveryCent() {
+    long[] shares = AllocationEngine.largestRemainder(100, new long[] {1, 1, 1});
+
+    assertArrayEquals(new long[] {34, 33, 33}, shares);
+  }
+
+  @Test
+  void largestRemainder_givesLeftoverToLargestRemainders() {
+    // 1000 * 2/7 = 285.71, 1000 * 5/7 = 714.29
+    assertArrayEquals(new long[] {286, 714}, AllocationEngine.largestRemainder(1000, new long[] {2, 5}));
+    assertArrayEquals(new long[] {-286, -714}, AllocationEngine.largestRemainder(-1000, new long[] {2, 5}));
+  }
+
+  @Test
+  void largestRemainder_withoutWeights_returnsNull() {
+    assertNull(AllocationEngine.largestRemainder(100, new long[] {0, 0}));
+  }
+
+  @Test
+  void largestRemainder_handlesProductsBeyondLong() {
+    long[] shares = AllocationEngine.largestRemainder(Long.MAX_VALUE / 2, new long[] {Long.MAX_VALUE / 4, 1});
+
+    assertEquals(Long.MAX_VALUE / 2, Arrays.stream(shares).sum());
+  }
+
+  @Test
+  void allocate_splitsPoolByDriverAndKeepsDirectCosts() {
+    CostColumns columns = new CostColumns(4);
+    // Direct labor with labor minutes for two warehouses, one shared labor cost, one other category
+    columns.add(CostCategory.LABOR, 10_00, "MWH.001", null, null, 0, 0, 30);
+    columns.add(CostCategory.LABOR, 20_00, "MWH.012", null, null, 0, 0, 90);
+    columns.add(CostCategory.LABOR, 100_00, null, null, null, 0, 0, 0);
+    columns.add(CostCategory.TRANSPORT, 55_00, "MWH.001", null, null, 0, 0, 500);
+
+    AllocationEngine.Allocation allocation =
+        engine.allocate(columns, CostCategory.LABOR, AllocationBasis.LABOR_MINUTES, AllocationTarget.WAREHOUSE);
+
+    assertEquals(List.of("MWH.001", "MWH.012"), allocation.costCenters());
+    assertArrayEquals(new long[] {30, 90}, allocation.drivers());
+    assertArrayEquals(new long[] {10_00, 20_00}, allocation.direct());
+    assertArrayEquals(new long[] {25_00, 75_00}, allocation.allocated());
+    assertEquals(100_00, allocation.pooledCents());
+    assertEquals(0, allocation.unallocatedCents());
+  }
+
+  @Test
+  void allocate_inParallel_matchesSequentialTotals() {
+    int events = AllocationEngine.THRESHOLD * 8 + 123;
+    CostColumns columns = new CostColumns(16);
+    long expectedPool = 0;
+    long[] expectedUnits = new long[10];
+    for (int i = 0; i < events; i++) {
+      if (i % 5 == 0) {
+        columns.add(CostCategory.OVERHEAD, 7, null, null, null, 0, 0, 0);
+        expectedPool += 7;
+      } else {
+        long store = i % 10;
+        columns.add(CostCategory.OVERHEAD, 0, null, store, null, i % 3, 0, 0);
+        expectedUnits[columns.costCenterKeys(AllocationTarget.STORE).indexOf(Long.toString(store))] += i % 3;
+      }
+    }
+
+    AllocationEngine.Allocation allocation =
+        engine.allocate(columns, CostCategory.OVERHEAD, AllocationBasis.UNITS, AllocationTarget.STORE);
+
+    assertEquals(expectedPool, allocation.pooledCents());
+    assertEquals(expectedPool, Arrays.stream(allocation.allocated()).sum());
+    assertArrayEquals(Arrays.copyOf(expectedUnits, allocation.drivers().length), allocation.drivers());
+  }
+}
@@ -0,0 +1,165 @@
+package com.fulfilment.application.monolith.costs.allocation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fulfilment.application.monolith.costs.CostCategory;
+import com.fulfilment.application.monolith.costs.CostEvent;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+public class AllocationServiceTest {
+
+  // A period of its own, no other test writes cost events into it
+  private static final LocalDate FROM = LocalDate.of(2031, 3, 1);
+  private static final LocalDate TO = LocalDate.of(2031, 4, 1);
+
+  @Inject AllocationService allocationService;
+  @Inject EntityManager entityManager;
+
+  @Test
+  public void testRerunOnlyRecomputesTheCategoryWithLateEvents() {
+    QuarkusTransaction.requiringNew()
+        .run(
+            () -> {
+              event("alloc-1", CostCategory.LABOR, 10, "MWH.001", 0, 30);
+              event("alloc-2", CostCategory.LABOR, 20, "MWH.012", 0, 90);
+              event("alloc-3", CostCategory.LABOR, 100, null, 0, 0);
+              event("alloc-4", CostCategory.TRANSPORT, 5, "MWH.001", 10, 0);
+              event("alloc-5", CostCategory.TRANSPORT, 5, "MWH.023", 30, 0);
+              event("alloc-6", CostCategory.TRANSPORT, 40, null, 0, 0);
+            });
+    int version =
+        QuarkusTransaction.requiringNew()
+            .call(
+                () ->
+                    createVersion(
+                        rule(CostCategory.LABOR, AllocationBasis.LABOR_MINUTES, "6100"),
+                        rule(CostCategory.TRANSPORT, AllocationBasis.UNITS, "6200")));
+
+    Map<CostCategory, AllocationSummary.RuleSummary> first = byCategory(allocationService.run(FROM, TO, version));
+    assertTrue(first.get(CostCategory.LABOR).recomputed());
+    assertTrue(first.get(CostCategory.TRANSPORT).recomputed());
+    long laborRule = first.get(CostCategory.LABOR).ruleId();
+    long transportRule = first.get(CostCategory.TRANSPORT).ruleId();
+    AllocationRun laborRun = run(laborRule);
+    AllocationRun transportRun = run(transportRule);
+    assertEquals(Map.of("MWH.001", 1000L, "MWH.023", 3000L), allocated(transportRule));
+
+    // Unchanged inputs: the fingerprints match and neither rule is recomputed
+    Map<CostCategory, AllocationSummary.RuleSummary> second = byCategory(allocationService.run(FROM, TO, version));
+    assertFalse(second.get(CostCategory.LABOR).recomputed());
+    assertFalse(second.get(CostCategory.TRANSPORT).recomputed());
+    assertEquals(first.get(CostCategory.TRANSPORT).pooledCents(), second.get(CostCategory.TRANSPORT).pooledCents());
+    assertEquals(transportRun.computedAt, run(transportRule).computedAt);
+
+    // A late TRANSPORT event only changes the TRANSPORT input checksum
+    QuarkusTransaction.requiringNew().run(() -> event("alloc-7", CostCategory.TRANSPORT, 2, "MWH.012", 40, 0));
+    Map<CostCategory, AllocationSummary.RuleSummary> third = byCategory(allocationService.run(FROM, TO, version));
+    assertFalse(third.get(CostCategory.LABOR).recomputed());
+    assertTrue(third.get(CostCategory.TRANSPORT).recomputed());
+    assertEquals(laborRun.fingerprint, run(laborRule).fingerprint);
+    assertEquals(laborRun.computedAt, run(laborRule).computedAt);
+    assertNotEquals(transportRun.fingerprint, run(transportRule).fingerprint);
+
+    // The rule's previous rows were replaced, not added to
+    assertEquals(3, third.get(CostCategory.TRANSPORT).costCenters());
+    assertEquals(Map.of("MWH.001", 500L, "MWH.012", 2000L, "MWH.023", 1500L), allocated(transportRule));
+    assertEquals(Map.of("MWH.001", 2500L, "MWH.012", 7500L), allocated(laborRule));
+
+    // A new version supersedes the old rules: their runs and results are deleted for the period
+    int next =
+        QuarkusTransaction.requiringNew()
+            .call(() -> createVersion(rule(CostCategory.LABOR, AllocationBasis.LABOR_MINUTES, "6100")));
+    AllocationSummary superseding = allocationService.run(FROM, TO, next);
+    assertEquals(1, superseding.rules().size());
+    assertTrue(superseding.rules().get(0).recomputed());
+    assertNull(run(laborRule));
+    assertNull(run(transportRule));
+    assertTrue(allocated(laborRule).isEmpty());
+    assertTrue(allocated(transportRule).isEmpty());
+    assertEquals(Map.of("MWH.001", 2500L, "MWH.012", 7500L), allocated(superseding.rules().get(0).ruleId()));
+  }
+
+  private static void event(
+      String key, CostCategory category, int amount, String warehouseCode, int units, int laborMinutes) {
+    var event = new CostEvent();
+    event.dedupeKey = key;
+    event.category = category;
+    event.amount = BigDecimal.valueOf(amount);
+    event.currency = "EUR";
+    event.warehouseCode = warehouseCode;
+    event.units = units;
+    event.laborMinutes = laborMinutes;
+    event.occurredAt = FROM.atTime(8, 0);
+    event.receivedAt = LocalDateTime.now();
+    event.persist();
+  }
+
+  private static AllocationRule rule(CostCategory category, AllocationBasis basis, String account) {
+    var rule = new AllocationRule();
+    rule.category = category;
+    rule.basis = basis;
+    rule.target = AllocationTarget.WAREHOUSE;
+    rule.account = account;
+    return rule;
+  }
+
+  private static int createVersion(AllocationRule... rules) {
+    Integer latest = AllocationRule.latestVersion();
+    int version = latest == null ? 1 : latest + 1;
+    for (AllocationRule rule : rules) {
+      rule.version = version;
+      rule.createdAt = LocalDateTime.now();
+      rule.persist();
+    }
+    return version;
+  }
+
+  private static Map<CostCategory, AllocationSummary.RuleSummary> byCategory(AllocationSummary summary) {
+    Map<Long, CostCategory> categories =
+        QuarkusTransaction.requiringNew()
+            .call(
+                () ->
+                    AllocationRule.<AllocationRule>list("version", summary.version()).stream()
+                        .collect(Collectors.toMap(rule -> rule.id, rule -> rule.category)));
+    return summary.rules().stream()
+        .collect(Collectors.toMap(rule -> categories.get(rule.ruleId()), Function.identity()));
+  }
+
+  private static AllocationRun run(long ruleId) {
+    return QuarkusTransaction.requiringNew()
+        .call(
+            () ->
+                AllocationRun.<AllocationRun>find(
+                        "periodFrom = ?1 and periodTo = ?2 and ruleId = ?3", FROM, TO, ruleId)
+                    .firstResult());
+  }
+
+  // Allocated cents per cost center of the rule's stored results
+  private Map<String, Long> allocated(long ruleId) {
+    List<AllocationResult> results =
+        QuarkusTransaction.requiringNew()
+            .call(
+                () ->
+                    entityManager
+                        .createQuery(
+                            "from AllocationResult where periodFrom = ?1 and periodTo = ?2 and ruleId = ?3",
+                            AllocationResult.class)
+                        .setParameter(1, FROM)
+                        .setParameter(2, TO)
+                        .setParameter(3, ruleId)
+                        .getResultList());
+    return results.stream().collect(Collectors.toMap(result -> result.costCenter, result -> result.allocatedCents));
+  }
+}
@@ -0,0 +1,101 @@
+package com.fulfilment.application.monolith.costs.ledger;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fulfilment.application.monolith.costs.CostEventIngestor;
+import com.fulfilment.application.monolith.costs.CostEventResource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.response.ValidatableResponse;
+import jakarta.inject.Inject;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.zip.CRC32;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+public class LedgerExportResourceTest {
+
+  @Inject CostEventIngestor ingestor;
+
+  @Test
+  public void testAllocateAndExportWithTrailer() throws Exception {
+    given()
+        .contentType(CostEventResource.NDJSON)
+        .body(
+            String.join(
+                    "\n",
+                    "{\"dedupeKey\":\"gl-1\",\"category\":\"LABOR\",\"amount\":10,\"warehouseCode\":\"MWH.001\","
+                        + "\"laborMinutes\":30,\"occurredAt\":\"2030-07-01T08:00:00\"}",
+                    "{\"dedupeKey\":\"gl-2\",\"category\":\"LABOR\",\"amount\":20,\"warehouseCode\":\"MWH.012\","
+                        + "\"laborMinutes\":90,\"occurredAt\":\"2030-07-02T08:00:00\"}",
+                    "{\"dedupeKey\":\"gl-3\",\"category\":\"LABOR\",\"amount\":100,"
+                        + "\"occurredAt\":\"2030-07-03T08:00:00\"}")
+                .getBytes(StandardCharsets.UTF_8))
+        .when()
+        .post("costs/events")
+        .then()
+        .statusCode(202);
+    assertTrue(ingestor.flush(Duration.ofSeconds(10)));
+
+    int version =
+        given()
+            .contentType("application/json")
+            .body("[{\"category\":\"LABOR\",\"basis\":\"LABOR_MINUTES\",\"target\":\"WAREHOUSE\",\"account\":\"6100\"}]")
+            .when()
+            .post("costs/allocation-rules")
+            .then()
+            .statusCode(201)
+            .extract()
+            .path("[0].version");
+
+    allocate(version).body("rules[0].recomputed", is(true)).body("rules[0].pooledCents", is(10000));
+    // Same inputs: the rule is not recomputed
+    allocate(version).body("rules[0].recomputed", is(false)).body("rules[0].costCenters", is(2));
+
+    byte[] body =
+        given()
+            .queryParam("from", "2030-07-01")
+            .queryParam("to", "2030-08-01")
+            .when()
+            .get("costs/gl-export")
+            .then()
+            .statusCode(200)
+            .extract()
+            .asByteArray();
+
+    String csv = new String(body, StandardCharsets.UTF_8);
+    String[] lines = csv.split("\n");
+    assertEquals("account,costCenterType,costCenter,direct,allocated,total", lines[0]);
+    assertEquals("6100,WAREHOUSE,MWH.001,10.00,25.00,35.00", lines[1]);
+    assertEquals("6100,WAREHOUSE,MWH.012,20.00,75.00,95.00", lines[2]);
+
+    // The checksum covers every byte received before the trailer line
+    String trailer = lines[3];
+    int trailerStart = csv.substring(0, csv.indexOf("#trailer")).getBytes(StandardCharsets.UTF_8).length;
+    CRC32 crc = new CRC32();
+    crc.update(body, 0, trailerStart);
+    assertEquals(
+        "#trailer,rows=2,direct=30.00,allocated=100.00,crc32=" + String.format("%08x", crc.getValue()), trailer);
+  }
+
+  @Test
+  public void testAmountFormatting() {
+    assertEquals("0.05", LedgerExportResource.amount(5));
+    assertEquals("-12.30", LedgerExportResource.amount(-1230));
+    assertEquals("1000.00", LedgerExportResource.amount(100_000));
+  }
+
+  private static ValidatableResponse allocate(int version) {
+    return given()
+        .contentType("application/json")
+        .queryParam("from", "2030-07-01")
+        .queryParam("to", "2030-08-01")
+        .queryParam("version", version)
+        .when()
+        .post("costs/allocations")
+        .then()
+        .statusCode(200);
+  }
+}
@@ -0,0 +1,62 @@
+package com.fulfilment.application.monolith.datagen;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class ZipfDistributionTest {
+
+  @Test
+  void zeroExponentIsUniform() {
+    assertArrayEquals(new int[] {3, 3, 2, 2}, new ZipfDistribution(4, 0).apportion(10));
+  }
+
+  @Test
+  void apportionAddsUpAndFavoursLowRanks() {
+    int[] shares = new ZipfDistribution(1_000, 1.0).apportion(100_000);
+
+    assertEquals(100_000, Arrays.stream(shares).sum());
+    for (int rank = 1; rank < shares.length; rank++) {
+      assertTrue(shares[rank] <= shares[rank - 1], "rank " + rank);
+    }
+    // harmonic weights: rank 0 gets ~13% with n = 1000, rank 1 half of that
+    assertEquals(13_360, shares[0], 10);
+    assertEquals(shares[0] / 2.0, shares[1], 1);
+  }
+
+  @Test
+  void samplesFollowTheProbabilities() {
+    ZipfDistribution zipf = new ZipfDistribution(50, 1.2);
+    Random random = new Random(7);
+    int[] counts = new int[zipf.size()];
+    int samples = 200_000;
+    for (int i = 0; i < samples; i++) {
+      counts[zipf.sample(random)]++;
+    }
+
+    for (int rank : new int[] {0, 1, 10, 49}) {
+      assertEquals(zipf.probability(rank), counts[rank] / (double) samples, 0.01, "rank " + rank);
+    }
+  }
+
+  @Test
+  void generatedLocationsLeaveHeadroomForTheirWarehouses() {
+    int[] active = new ZipfDistribution(20, 1.0).apportion(500);
+
+    var locations = DataGenerator.locations(active, 42);
+
+    assertEquals(20, locations.size());
+    assertEquals("GEN-00001", locations.get(0).identification);
+    for (int i = 0; i < active.length; i++) {
+      assertTrue(locations.get(i).maxNumberOfWarehouses > active[i]);
+      assertEquals(
+          locations.get(i).maxNumberOfWarehouses * DataGenerator.MAX_WAREHOUSE_CAPACITY,
+          locations.get(i).maxCapacity);
+      assertTrue(locations.get(i).hasCoordinates());
+    }
+  }
+}
@@ -0,0 +1,31 @@
+package com.fulfilment.application.monolith.encoding;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+class ApiMediaTypesTest {
+
+  @Test
+  void jsonIsTheDefault() {
+    assertEquals("application/json", ApiMediaTypes.negotiate(null));
+    assertEquals("application/json", ApiMediaTypes.negotiate("*/*"));
+    assertEquals("application/json", ApiMediaTypes.negotiate("application/*"));
+  }
+
+  @Test
+  void binaryTypesWhenAskedFor() {
+    assertEquals(ApiMediaTypes.CBOR, ApiMediaTypes.negotiate("application/cbor"));
+    assertEquals(ApiMediaTypes.SMILE, ApiMediaTypes.negotiate("application/x-jackson-smile, */*;q=0.1"));
+    // equal quality: the explicit type beats the wildcard
+    assertEquals(ApiMediaTypes.CBOR, ApiMediaTypes.negotiate("*/*, application/cbor"));
+    assertEquals("application/json", ApiMediaTypes.negotiate("application/cbor;q=0.5, application/json"));
+  }
+
+  @Test
+  void nothingAcceptable() {
+    assertNull(ApiMediaTypes.negotiate("text/html"));
+    assertNull(ApiMediaTypes.negotiate("application/cbor;q=0"));
+  }
+}
@@ -0,0 +1,60 @@
+package com.fulfilment.application.monolith.encoding;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+public class BinaryEncodingTest {
+
+  @Test
+  public void testListsDecodeToTheSameDataAsJson() throws Exception {
+    for (String path : new String[] {"warehouse", "store", "product"}) {
+      byte[] json = get(path, "application/json");
+      byte[] cbor = get(path, ApiMediaTypes.CBOR);
+      byte[] smile = get(path, ApiMediaTypes.SMILE);
+
+      JsonNode expected = new ObjectMapper().readTree(json);
+      assertTrue(expected.size() > 0, path);
+      assertEquals(expected, new CBORMapper().readTree(cbor), path);
+      assertEquals(expected, new SmileMapper().readTree(smile), path);
+      assertTrue(cbor.length < json.length, path + ": CBOR " + cbor.length + " bytes, JSON " + json.length);
+      assertTrue(smile.length < json.length, path + ": Smile " + smile.length + " bytes, JSON " + json.length);
+    }
+  }
+
+  @Test
+  public void testJsonStaysTheDefault() {
+    given().accept("*/*").when().get("store").then().statusCode(200).contentType("application/json");
+    given().when().get("network/snapshot").then().statusCode(200).contentType("application/json");
+  }
+
+  @Test
+  public void testEachRepresentationHasItsOwnETag() {
+    String json = given().accept("application/json").when().get("product").then().extract().header("ETag");
+    String cbor = given().accept(ApiMediaTypes.CBOR).when().get("product").then().extract().header("ETag");
+
+    assertTrue(!json.equals(cbor));
+    given().accept(ApiMediaTypes.CBOR).header("If-None-Match", cbor).when().get("product").then().statusCode(304);
+    given().accept("application/json").header("If-None-Match", cbor).when().get("product").then().statusCode(200);
+  }
+
+  private static byte[] get(String path, String accept) {
+    return given()
+        .accept(accept)
+        .when()
+        .get(path)
+        .then()
+        .statusCode(200)
+        .contentType(accept)
+        .extract()
+        .asByteArray();
+  }
+}
@@ -0,0 +1,91 @@
+package com.fulfilment.application.monolith.errors;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.startsWith;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import java.net.URI;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+public class ProblemDetailsMapperTest {
+
+  @Test
+  public void testNotFoundIsProblemDetails() {
+    given()
+        .when()
+        .get("store/987654")
+        .then()
+        .statusCode(404)
+        .contentType(startsWith(ProblemDetails.MEDIA_TYPE))
+        .body("status", is(404))
+        .body("title", is("Not Found"))
+        .body("detail", is("Store with id of 987654 does not exist."));
+  }
+
+  @Test
+  public void testWarehouseRuleViolationIsProblemDetails() {
+    given()
+        .contentType("application/json")
+        .body("{\"businessUnitCode\": \"MWH.PROBLEM\", \"location\": \"NOWHERE-001\", \"capacity\": 10, \"stock\": 1}")
+        .when()
+        .post("warehouse")
+        .then()
+        .statusCode(400)
+        .contentType(startsWith(ProblemDetails.MEDIA_TYPE))
+        .body("detail", is("Invalid warehouse location: NOWHERE-001"));
+  }
+
+  @Test
+  public void testAllViolationsAreReported() {
+    given()
+        .contentType("application/json")
+        .body("[{\"category\": \"LABOR\"}, {\"basis\": \"UNITS\", \"target\": \"STORE\", \"account\": \"6200\"}]")
+        .when()
+        .post("costs/allocation-rules")
+        .then()
+        .statusCode(422)
+        .contentType(startsWith(ProblemDetails.MEDIA_TYPE))
+        .body("errors.field", contains("[0].basis", "[0].target", "[0].account", "[1].category"));
+  }
+
+  @Test
+  public void testWebApplicationExceptionKeepsItsHeaders() {
+    Response response =
+        mapper()
+            .toResponse(
+                new WebApplicationException(Response.status(503).header("Retry-After", "30").build()));
+
+    assertEquals(503, response.getStatus());
+    assertEquals("30", response.getHeaderString("Retry-After"));
+    assertEquals(ProblemDetails.MEDIA_TYPE, response.getHeaderString(HttpHeaders.CONTENT_TYPE));
+  }
+
+  @Test
+  public void testRedirectIsReturnedUnchanged() {
+    Response redirect = Response.seeOther(URI.create("http://localhost:8080/warehouse/1")).build();
+
+    Response response = mapper().toResponse(new WebApplicationException(redirect));
+
+    assertEquals(303, response.getStatus());
+    assertEquals("http://localhost:8080/warehouse/1", response.getHeaderString(HttpHeaders.LOCATION));
+    assertFalse(response.hasEntity());
+  }
+
+  private static ProblemDetailsMapper mapper() {
+    var mapper = new ProblemDetailsMapper();
+    mapper.objectMapper = new ObjectMapper();
+    mapper.burstPerSecond = 10;
+    mapper.sampleRate = 100;
+    mapper.init();
+    return mapper;
+  }
+}
@@ -0,0 +1,38 @@
+package com.fulfilment.application.monolith.errors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class SampledLogTest {
+
+  @Test
+  void logsBurstThenSamplesAndReportsSuppressedCount() {
+    AtomicLong now = new AtomicLong();
+    SampledLog log = new SampledLog(2, 3, now::get);
+
+    assertEquals(0, log.tryAcquire());
+    assertEquals(0, log.tryAcquire());
+    // over the burst: only every 3rd event is logged
+    assertEquals(-1, log.tryAcquire());
+    assertEquals(-1, log.tryAcquire());
+    assertEquals(2, log.tryAcquire());
+    assertEquals(-1, log.tryAcquire());
+  }
+
+  @Test
+  void newWindowRestoresTheBurst() {
+    AtomicLong now = new AtomicLong();
+    SampledLog log = new SampledLog(1, 0, now::get);
+
+    assertEquals(0, log.tryAcquire());
+    assertEquals(-1, log.tryAcquire());
+    assertEquals(-1, log.tryAcquire());
+
+    now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+    assertEquals(2, log.tryAcquire());
+    assertEquals(-1, log.tryAcquire());
+  }
+}
@@ -0,0 +1,188 @@
+package com.fulfilment.application.monolith.idempotency;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fulfilment.application.monolith.errors.ProblemDetails;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.ws.rs.core.MultivaluedHashMap;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+public class IdempotencyFilterTest {
+
+  private static final String BODY = "{\"name\": \"IDEMPOTENT-STORE\", \"quantityProductsInStock\": 4}";
+
+  @Test
+  public void testRetryReplaysOriginalResponse() {
+    int id =
+        given()
+            .header(IdempotencyFilter.HEADER, "store-create-1")
+            .contentType("application/json")
+            .body(BODY)
+            .when()
+            .post("store")
+            .then()
+            .statusCode(201)
+            .header(IdempotencyFilter.REPLAYED_HEADER, nullValue())
+            .extract()
+            .path("id");
+
+    // The retry would fail on the unique store name if the resource method ran again
+    given()
+        .header(IdempotencyFilter.HEADER, "store-create-1")
+        .contentType("application/json")
+        .body(BODY)
+        .when()
+        .post("store")
+        .then()
+        .statusCode(201)
+        .header(IdempotencyFilter.REPLAYED_HEADER, "true")
+        .body("id", is(id));
+
+    given()
+        .when()
+        .get("store")
+        .then()
+        .statusCode(200)
+        .body("findAll { it.name == 'IDEMPOTENT-STORE' }.size()", is(1));
+  }
+
+  @Test
+  public void testKeyReusedForDifferentRequestIsRejected() {
+    given()
+        .header(IdempotencyFilter.HEADER, "store-create-2")
+        .contentType("application/json")
+        .body("{\"name\": \"IDEMPOTENT-STORE-2\"}")
+        .when()
+        .post("store")
+        .then()
+        .statusCode(201);
+
+    given()
+        .header(IdempotencyFilter.HEADER, "store-create-2")
+        .contentType("application/json")
+        .body("{\"name\": \"SOMETHING-ELSE\"}")
+        .when()
+        .post("store")
+        .then()
+        .statusCode(422)
+        .contentType(ProblemDetails.MEDIA_TYPE)
+        .body("status", is(422));
+  }
+
+  @Test
+  public void testKeyClaimedByAnotherNodeIsRejectedUntilItCompletes() {
+    // What another node's request leaves behind while its resource method is still running
+    QuarkusTransaction.requiringNew()
+        .run(
+            () -> {
+              var claim = new IdempotencyRecord();
+              claim.idempotencyKey = "store-create-3";
+              claim.fingerprint = "0".repeat(64);
+              claim.pending = true;
+              claim.createdAt = LocalDateTime.now();
+              claim.expiresAt = claim.createdAt.plusMinutes(1);
+              claim.persist();
+            });
+
+    given()
+        .header(IdempotencyFilter.HEADER, "store-create-3")
+        .contentType("application/json")
+        .body("{\"name\": \"IDEMPOTENT-STORE-3\"}")
+        .when()
+        .post("store")
+        .then()
+        .statusCode(409)
+        .contentType(ProblemDetails.MEDIA_TYPE)
+        .header("Retry-After", "1")
+        .body("status", is(409));
+
+    given()
+        .when()
+        .get("store")
+        .then()
+        .statusCode(200)
+        .body("findAll { it.name == 'IDEMPOTENT-STORE-3' }.size()", is(0));
+  }
+
+  @Test
+  public void testAbandonedClaimIsTakenOver() {
+    QuarkusTransaction.requiringNew()
+        .run(
+            () -> {
+              var claim = new IdempotencyRecord();
+              claim.idempotencyKey = "store-create-4";
+              claim.fingerprint = "0".repeat(64);
+              claim.pending = true;
+              claim.createdAt = LocalDateTime.now().minusMinutes(2);
+              claim.expiresAt = claim.createdAt.plusMinutes(1);
+              claim.persist();
+            });
+
+    given()
+        .header(IdempotencyFilter.HEADER, "store-create-4")
+        .contentType("application/json")
+        .body("{\"name\": \"IDEMPOTENT-STORE-4\"}")
+        .when()
+        .post("store")
+        .then()
+        .statusCode(201)
+        .header(IdempotencyFilter.REPLAYED_HEADER, nullValue());
+  }
+
+  @Test
+  public void testReplayRestoresStoredHeaders() {
+    String body = "{\"name\": \"IDEMPOTENT-STORE-5\"}";
+    // A completed response of a resource that answered with a Location and an ETag
+    QuarkusTransaction.requiringNew()
+        .run(
+            () -> {
+              var record = new IdempotencyRecord();
+              record.idempotencyKey = "store-create-5";
+              record.fingerprint =
+                  IdempotencyFilter.fingerprint("POST", "/store", body.getBytes(StandardCharsets.UTF_8));
+              record.status = 201;
+              record.contentType = "application/json";
+              record.responseHeaders = "Location: http://localhost/store/99\nETag: \"v1\"\n";
+              record.responseBody = "{\"id\":99}".getBytes(StandardCharsets.UTF_8);
+              record.createdAt = LocalDateTime.now();
+              record.expiresAt = record.createdAt.plusHours(1);
+              record.persist();
+            });
+
+    given()
+        .header(IdempotencyFilter.HEADER, "store-create-5")
+        .contentType("application/json")
+        .body(body)
+        .when()
+        .post("store")
+        .then()
+        .statusCode(201)
+        .header(IdempotencyFilter.REPLAYED_HEADER, "true")
+        .header("Location", "http://localhost/store/99")
+        .header("ETag", "\"v1\"")
+        .body("id", is(99));
+  }
+
+  @Test
+  public void testOnlyReplayedHeadersAreEncoded() {
+    var headers = new MultivaluedHashMap<String, String>();
+    headers.add("Location", "http://localhost/store/7");
+    headers.add("Set-Cookie", "session=secret");
+
+    String encoded = IdempotencyFilter.encodeHeaders(headers);
+
+    assertEquals("Location: http://localhost/store/7\n", encoded);
+    List<String[]> decoded = IdempotencyFilter.decodeHeaders(encoded);
+    assertEquals(1, decoded.size());
+    assertArrayEquals(new String[] {"Location", "http://localhost/store/7"}, decoded.get(0));
+    assertNull(IdempotencyFilter.encodeHeaders(new MultivaluedHashMap<>()));
+  }
+}
@@ -0,0 +1,164 @@
+package com.fulfilment.application.monolith.invalidation;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fulfilment.application.monolith.conditional.Aggregate;
+import com.fulfilment.application.monolith.conditional.ChangeCounters;
+import com.fulfilment.application.monolith.stores.Store;
+import com.fulfilment.application.monolith.utilization.UtilizationAggregates;
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManagerFactory;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The other node is played by rows written straight to entity_change, as a second instance on the
+ * same database would write them.
+ */
+@QuarkusTest
+public class EntityChangePollerTest {
+
+  private static final String OTHER_NODE = "other-node";
+
+  @Inject EntityChangePoller poller;
+  @Inject EntityChangePublisher publisher;
+  @Inject ChangeCounters changeCounters;
+  @Inject UtilizationAggregates utilization;
+  @Inject AgroalDataSource dataSource;
+  @Inject EntityManagerFactory entityManagerFactory;
+
+  @Test
+  public void testChangeOnAnotherNodeRetiresTheCachedList() throws SQLException {
+    String etag = given().when().get("store").then().statusCode(200).extract().header("ETag");
+
+    insert(OTHER_NODE, "STORE", "1", null, null, 0, 0);
+    poller.poll();
+
+    given().header("If-None-Match", etag).when().get("store").then().statusCode(200).header("ETag", not(is(etag)));
+  }
+
+  @Test
+  public void testChangeOnAnotherNodeEvictsTheSecondLevelCache() throws SQLException {
+    int id =
+        given()
+            .contentType("application/json")
+            .body("{\"name\": \"CHANGE-BUS-STORE\", \"quantityProductsInStock\": 1}")
+            .when()
+            .post("store")
+            .then()
+            .statusCode(201)
+            .extract()
+            .path("id");
+    given().when().get("store/" + id).then().statusCode(200).body("name", is("CHANGE-BUS-STORE"));
+    assertEquals("CHANGE-BUS-STORE", findStoreName(id));
+    assertTrue(entityManagerFactory.getCache().contains(Store.class, (long) id));
+
+    // The other node's write: straight to the table, and published under its node id
+    try (Connection connection = dataSource.getConnection();
+        PreparedStatement statement = connection.prepareStatement("UPDATE store SET name = ? WHERE id = ?")) {
+      statement.setString(1, "CHANGE-BUS-RENAMED");
+      statement.setLong(2, id);
+      statement.executeUpdate();
+    }
+    assertEquals("CHANGE-BUS-STORE", findStoreName(id), "served from the second-level cache until evicted");
+
+    insert(OTHER_NODE, "STORE", String.valueOf(id), null, null, 0, 0);
+    poller.poll();
+
+    assertFalse(entityManagerFactory.getCache().contains(Store.class, (long) id));
+    assertEquals("CHANGE-BUS-RENAMED", findStoreName(id));
+    given().when().get("store/" + id).then().statusCode(200).body("name", is("CHANGE-BUS-RENAMED"));
+  }
+
+  @Test
+  public void testOwnChangesArePublishedButNotAppliedAgain() throws SQLException {
+    int id =
+        given()
+            .contentType("application/json")
+            .body("{\"name\": \"CHANGE-BUS-PRODUCT\", \"stock\": 1}")
+            .when()
+            .post("product")
+            .then()
+            .statusCode(201)
+            .extract()
+            .path("id");
+    assertEquals(1, count(publisher.node(), "PRODUCT", String.valueOf(id)));
+
+    long version = changeCounters.current(Aggregate.PRODUCT);
+    poller.poll();
+    assertEquals(version, changeCounters.current(Aggregate.PRODUCT));
+  }
+
+  @Test
+  public void testWarehouseEventsOfAnotherNodeUpdateUtilization() throws SQLException {
+    long before = activeWarehousesAt("VETSBY-001");
+
+    insert(OTHER_NODE, "WAREHOUSE", "MWH.BUS", "CREATED", "VETSBY-001", 20, 5);
+    poller.poll();
+    assertEquals(before + 1, activeWarehousesAt("VETSBY-001"));
+
+    insert(OTHER_NODE, "WAREHOUSE", "MWH.BUS", "ARCHIVED", "VETSBY-001", 20, 5);
+    poller.poll();
+    assertEquals(before, activeWarehousesAt("VETSBY-001"));
+  }
+
+  private static String findStoreName(long id) {
+    return QuarkusTransaction.requiringNew().call(() -> Store.<Store>findById(id).name);
+  }
+
+  private long activeWarehousesAt(String location) {
+    return utilization.snapshot().locations().stream()
+        .filter(l -> l.location().equals(location))
+        .findFirst()
+        .orElseThrow()
+        .activeWarehouses();
+  }
+
+  private void insert(
+      String node, String aggregate, String entityId, String eventType, String location, int capacity, int stock)
+      throws SQLException {
+    try (Connection connection = dataSource.getConnection();
+        PreparedStatement statement =
+            connection.prepareStatement(
+                "INSERT INTO entity_change (node, aggregate, entityId, eventType, location, capacity, stock,"
+                    + " changedAt) VALUES (?, ?, ?, ?, ?, ?, ?, ?)")) {
+      statement.setString(1, node);
+      statement.setString(2, aggregate);
+      statement.setString(3, entityId);
+      statement.setString(4, eventType);
+      statement.setString(5, location);
+      statement.setInt(6, capacity);
+      statement.setInt(7, stock);
+      statement.setTimestamp(8, Timestamp.valueOf(LocalDateTime.now()));
+      statement.executeUpdate();
+    }
+  }
+
+  private int count(String node, String aggregate, String entityId) throws SQLException {
+    try (Connection connection = dataSource.getConnection();
+        PreparedStatement statement =
+            connection.prepareStatement(
+                "SELECT COUNT(*) FROM entity_change WHERE node = ? AND aggregate = ? AND entityId = ?")) {
+      statement.setString(1, node);
+      statement.setString(2, aggregate);
+      statement.setString(3, entityId);
+      try (ResultSet rs = statement.executeQuery()) {
+        rs.next();
+        return rs.getInt(1);
+      }
+    }
+  }
+}
@@ -0,0 +1,87 @@
+package com.fulfilment.application.monolith.network;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+public class NetworkResourceTest {
+
+  @Test
+  public void testSnapshotOnlyContainsWarehousesActiveAtThatTime() {
+    // Seed data: MWH.023 from 2021-02-01, MWH.012 from 2023-07-01, MWH.001 from 2024-07-01
+    given()
+        .queryParam("at", "2022-01-01")
+        .when()
+        .get("network/snapshot")
+        .then()
+        .statusCode(200)
+        .body("warehouses.businessUnitCode", contains("MWH.023"))
+        .body("locations", hasSize(1))
+        .body("locations[0].location", is("TILBURG-001"))
+        .body("locations[0].capacity", is(30))
+        .body("locations[0].maxCapacity", is(40));
+
+    given()
+        .queryParam("at", "2023-12-31T12:00:00")
+        .when()
+        .get("network/snapshot")
+        .then()
+        .statusCode(200)
+        .body("warehouses.businessUnitCode", contains("MWH.012", "MWH.023"));
+  }
+
+  @Test
+  public void testSimulationDoesNotChangeTheNetwork() {
+    // TILBURG-001 allows one warehouse (max capacity 40) and MWH.023 is there
+    String create = "{\"action\": \"CREATE\", \"businessUnitCode\": \"SIM.1\", \"location\": \"TILBURG-001\"";
+    String request =
+        "{\"scenarios\": ["
+            + "{\"name\": \"second at Tilburg\", \"steps\": [" + create + ", \"capacity\": 10, \"stock\": 0}]},"
+            + "{\"name\": \"swap Tilburg\", \"steps\": [{\"action\": \"ARCHIVE\", \"businessUnitCode\": \"MWH.023\"},"
+            + create + ", \"capacity\": 40, \"stock\": 0}]}]}";
+
+    given()
+        .contentType("application/json")
+        .body(request)
+        .when()
+        .post("network/simulations")
+        .then()
+        .statusCode(200)
+        .body("name", contains("second at Tilburg", "swap Tilburg"))
+        .body("feasible", contains(false, true))
+        .body("[0].failedStep", is(0))
+        .body("[0].status", is(400))
+        .body("[1].locations[0].location", is("TILBURG-001"))
+        .body("[1].locations[0].warehouses", is(1))
+        .body("[1].locations[0].capacity", is(40));
+
+    given()
+        .when()
+        .get("network/snapshot")
+        .then()
+        .statusCode(200)
+        .body("warehouses.businessUnitCode", hasItem("MWH.023"));
+  }
+
+  @Test
+  public void testSimulationWithoutSteps() {
+    given()
+        .contentType("application/json")
+        .body("{\"scenarios\": [{\"name\": \"empty\", \"steps\": []}]}")
+        .when()
+        .post("network/simulations")
+        .then()
+        .statusCode(422);
+  }
+
+  @Test
+  public void testSnapshotWithInvalidTimestamp() {
+    given().queryParam("at", "yesterday").when().get("network/snapshot").then().statusCode(400);
+  }
+}
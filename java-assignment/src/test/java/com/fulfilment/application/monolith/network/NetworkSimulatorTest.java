@@ -0,0 +1,133 @@
+package com.fulfilment.application.monolith.network;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fulfilment.application.monolith.network.SimulationRequest.Action;
+import com.fulfilment.application.monolith.network.SimulationRequest.Scenario;
+import com.fulfilment.application.monolith.network.SimulationRequest.Step;
+import com.fulfilment.application.monolith.warehouses.domain.models.Location;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class NetworkSimulatorTest {
+
+  private final NetworkState state =
+      new NetworkState(
+          List.of(warehouse("BU-1", "TILBURG-001", 30, 27), warehouse("BU-2", "AMSTERDAM-001", 50, 5)),
+          List.of("BU-1", "BU-2", "BU-OLD"),
+          List.of(new Location("TILBURG-001", 1, 40), new Location("AMSTERDAM-001", 3, 100)));
+
+  @Test
+  void run_rejectsCreateAtFullLocation() {
+    SimulationResult result =
+        NetworkSimulator.run(state, scenario(new Step(Action.CREATE, "BU-3", "TILBURG-001", 10, 0)));
+
+    assertFalse(result.feasible());
+    assertEquals(0, result.failedStep());
+    assertEquals(400, result.status());
+    assertTrue(result.message().startsWith("Maximum number of warehouses reached"));
+    assertEquals(List.of(), result.locations());
+    assertEquals(2, result.warehouses());
+  }
+
+  @Test
+  void run_appliesStepsInOrder() {
+    SimulationResult result =
+        NetworkSimulator.run(
+            state,
+            scenario(
+                new Step(Action.ARCHIVE, "BU-1", null, null, null),
+                new Step(Action.CREATE, "BU-3", "tilburg-001", 40, 0)));
+
+    assertTrue(result.feasible());
+    assertNull(result.failedStep());
+    assertEquals(List.of(new LocationCapacity("TILBURG-001", 1, 40, 0, 1, 40)), result.locations());
+    assertEquals(2, result.warehouses());
+    assertEquals(90, result.capacity());
+    assertEquals(5, result.stock());
+  }
+
+  @Test
+  void run_replacementMovesUsageBetweenLocations() {
+    SimulationResult result =
+        NetworkSimulator.run(state, scenario(new Step(Action.REPLACE, "BU-1", "AMSTERDAM-001", 40, 27)));
+
+    assertTrue(result.feasible());
+    assertEquals(
+        List.of(
+            new LocationCapacity("TILBURG-001", 0, 0, 0, 1, 40),
+            new LocationCapacity("AMSTERDAM-001", 2, 90, 32, 3, 100)),
+        result.locations());
+    assertEquals(2, result.warehouses());
+    assertEquals(90, result.capacity());
+  }
+
+  @Test
+  void run_stopsAtFirstRejectedStep() {
+    SimulationResult result =
+        NetworkSimulator.run(
+            state,
+            scenario(
+                new Step(Action.CREATE, "BU-4", "AMSTERDAM-001", 30, 0),
+                new Step(Action.CREATE, "BU-OLD", "AMSTERDAM-001", 10, 0),
+                new Step(Action.CREATE, "BU-5", "AMSTERDAM-001", 10, 0)));
+
+    assertFalse(result.feasible());
+    assertEquals(1, result.failedStep());
+    assertEquals("Warehouse businessUnitCode already exists.", result.message());
+    assertEquals(List.of(new LocationCapacity("AMSTERDAM-001", 2, 80, 5, 3, 100)), result.locations());
+    assertEquals(3, result.warehouses());
+  }
+
+  @Test
+  void run_leavesSnapshotUntouched() {
+    NetworkSimulator.run(state, scenario(new Step(Action.ARCHIVE, "BU-1", null, null, null)));
+    NetworkSimulator.run(state, scenario(new Step(Action.REPLACE, "BU-2", "AMSTERDAM-001", 60, 5)));
+
+    assertNull(state.active("BU-1").archivedAt);
+    assertEquals(50, state.active("BU-2").capacity);
+    assertEquals(1, state.activeAt("TILBURG-001").size());
+
+    SimulationResult result =
+        NetworkSimulator.run(state, scenario(new Step(Action.REPLACE, "BU-OLD", "TILBURG-001", 10, 0)));
+    assertEquals(404, result.status());
+  }
+
+  @Test
+  void store_removeHidesTheBusinessUnitFromTheScenarioOnly() {
+    SimulatedWarehouseStore store = new SimulatedWarehouseStore(state);
+
+    store.remove(warehouse("BU-1", "TILBURG-001", 30, 27));
+    store.remove(warehouse("BU-OLD", null, 0, 0));
+
+    assertNull(store.findByBusinessUnitCode("BU-1"));
+    assertNull(store.findByBusinessUnitCode("BU-OLD"));
+    assertTrue(store.listActiveAtLocation("TILBURG-001").isEmpty());
+    assertEquals(List.of("BU-2"), store.getAll().stream().map(w -> w.businessUnitCode).toList());
+    assertArrayEquals(new long[] {1, 50, 5}, store.networkTotals());
+    assertEquals(List.of("TILBURG-001"), List.copyOf(store.touchedLocations()));
+    // the shared snapshot is untouched
+    assertNotNull(new SimulatedWarehouseStore(state).findByBusinessUnitCode("BU-1"));
+
+    store.create(warehouse("BU-1", "TILBURG-001", 20, 0));
+    assertEquals(20, store.findByBusinessUnitCode("BU-1").capacity);
+    assertArrayEquals(new long[] {2, 70, 5}, store.networkTotals());
+  }
+
+  private static Scenario scenario(Step... steps) {
+    return new Scenario("test", List.of(steps));
+  }
+
+  private static Warehouse warehouse(String bu, String location, int capacity, int stock) {
+    Warehouse w = new Warehouse();
+    w.businessUnitCode = bu;
+    w.location = location;
+    w.capacity = capacity;
+    w.stock = stock;
+    w.createdAt = LocalDateTime.of(2024, 1, 1, 0, 0);
+    w.version = 0L;
+    return w;
+  }
+}
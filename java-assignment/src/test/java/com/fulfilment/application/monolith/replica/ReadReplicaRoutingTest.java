@@ -0,0 +1,49 @@
+package com.fulfilment.application.monolith.replica;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.notNullValue;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+@TestProfile(ReadReplicaTestProfile.class)
+public class ReadReplicaRoutingTest {
+
+  @Test
+  public void testListsAreReadFromReplica() {
+    given().when().get("store").then().statusCode(200).body(containsString("REPLICA-STORE"));
+    given().when().get("product").then().statusCode(200).body(containsString("REPLICA-PRODUCT"));
+    given().when().get("warehouse").then().statusCode(200).body(containsString("MWH.REPLICA"));
+  }
+
+  @Test
+  public void testReadYourWritesAfterWrite() {
+    String primaryUntil =
+        given()
+            .contentType("application/json")
+            .body("{\"name\": \"RYW-STORE\", \"quantityProductsInStock\": 2}")
+            .when()
+            .post("store")
+            .then()
+            .statusCode(201)
+            .cookie(ReadYourWritesFilter.COOKIE_NAME, notNullValue())
+            .extract()
+            .cookie(ReadYourWritesFilter.COOKIE_NAME);
+
+    // Same client: sticks to the primary, which has the new store
+    given()
+        .cookie(ReadYourWritesFilter.COOKIE_NAME, primaryUntil)
+        .when()
+        .get("store")
+        .then()
+        .statusCode(200)
+        .body(containsString("RYW-STORE"), not(containsString("REPLICA-STORE")));
+
+    // Other clients keep reading from the replica
+    given().when().get("store").then().statusCode(200).body(not(containsString("RYW-STORE")));
+  }
+}
@@ -0,0 +1,17 @@
+package com.fulfilment.application.monolith.replica;
+
+import io.quarkus.test.junit.QuarkusTestProfile;
+import java.util.Map;
+
+/** Routes reads to a second, separately seeded H2 database standing in for the replica. */
+public class ReadReplicaTestProfile implements QuarkusTestProfile {
+
+  @Override
+  public Map<String, String> getConfigOverrides() {
+    return Map.of(
+        "read-replica.enabled", "true",
+        "read-replica.stickiness", "60s",
+        "quarkus.datasource.\"replica\".jdbc.url",
+        "jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1;MODE=PostgreSQL;INIT=RUNSCRIPT FROM 'classpath:replica-seed.sql'");
+  }
+}
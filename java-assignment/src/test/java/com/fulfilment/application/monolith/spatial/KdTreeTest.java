@@ -0,0 +1,72 @@
+package com.fulfilment.application.monolith.spatial;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+import org.junit.jupiter.api.Test;
+
+class KdTreeTest {
+
+  record Point(int id, double[] position) {}
+
+  @Test
+  void nearest_matchesBruteForce() {
+    Random random = new Random(42);
+    List<Point> points = new ArrayList<>();
+    for (int i = 0; i < 2_000; i++) {
+      points.add(new Point(i, randomPosition(random)));
+    }
+    KdTree<Point> tree = KdTree.build(points, Point::position);
+    Predicate<Point> even = p -> p.id() % 2 == 0;
+
+    for (int query = 0; query < 200; query++) {
+      double[] target = randomPosition(random);
+      List<Integer> expected =
+          points.stream()
+              .filter(even)
+              .sorted(Comparator.comparingDouble(p -> distanceSquared(p.position(), target)))
+              .limit(7)
+              .map(Point::id)
+              .toList();
+
+      List<Integer> actual = tree.nearest(target, 7, even).stream().map(n -> n.item().id()).toList();
+
+      assertEquals(expected, actual);
+    }
+  }
+
+  @Test
+  void nearest_returnsFewerWhenNotEnoughMatch() {
+    List<Point> points = List.of(new Point(1, new double[] {1, 0, 0}), new Point(2, new double[] {0, 1, 0}));
+    KdTree<Point> tree = KdTree.build(points, Point::position);
+
+    assertEquals(1, tree.nearest(new double[] {0, 0, 1}, 5, p -> p.id() == 2).size());
+    KdTree<Point> empty = KdTree.build(List.of(), Point::position);
+    assertTrue(empty.nearest(new double[] {0, 0, 1}, 5, p -> true).isEmpty());
+  }
+
+  @Test
+  void chordToKm_matchesKnownDistance() {
+    // Amsterdam to Eindhoven is about 110 km as the crow flies
+    double[] amsterdam = GeoPoint.toUnitVector(52.3676, 4.9041);
+    double[] eindhoven = GeoPoint.toUnitVector(51.4416, 5.4697);
+
+    assertEquals(110, GeoPoint.chordToKm(distanceSquared(amsterdam, eindhoven)), 5);
+  }
+
+  private static double[] randomPosition(Random random) {
+    return GeoPoint.toUnitVector(random.nextDouble() * 180 - 90, random.nextDouble() * 360 - 180);
+  }
+
+  private static double distanceSquared(double[] a, double[] b) {
+    double sum = 0;
+    for (int i = 0; i < a.length; i++) {
+      sum += (a[i] - b[i]) * (a[i] - b[i]);
+    }
+    return sum;
+  }
+}
@@ -0,0 +1,79 @@
+package com.fulfilment.application.monolith.spatial;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fulfilment.application.monolith.warehouses.adapters.database.WarehouseView;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseEvent;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class WarehouseSpatialIndexTest {
+
+  // a store in the centre of Eindhoven
+  private static final double LAT = 51.4381;
+  private static final double LON = 5.4752;
+
+  @Test
+  void nearest_ordersByDistanceAndFiltersOnCapacityAndStock() {
+    var index = new WarehouseSpatialIndex();
+    index.reset(
+        List.of(
+            new WarehouseView("BU-EHV", "EINDHOVEN-001", 50, 48),
+            new WarehouseView("BU-TLB", "TILBURG-001", 30, 10),
+            new WarehouseView("BU-AMS", "AMSTERDAM-001", 80, 40)),
+        index.sequence());
+
+    assertEquals(List.of("BU-EHV", "BU-TLB", "BU-AMS"), codes(index.nearest(LAT, LON, 5, 0, 0)));
+    // Eindhoven only has 2 left
+    assertEquals(List.of("BU-TLB", "BU-AMS"), codes(index.nearest(LAT, LON, 5, 10, 0)));
+    assertEquals(List.of("BU-EHV"), codes(index.nearest(LAT, LON, 5, 0, 45)));
+    assertEquals(List.of("BU-EHV"), codes(index.nearest(LAT, LON, 1, 0, 0)));
+  }
+
+  @Test
+  void apply_followsCreateReplaceAndArchive() {
+    var index = new WarehouseSpatialIndex();
+    index.apply(new WarehouseEvent(WarehouseEvent.Type.CREATED, "BU-1", "AMSTERDAM-001", 10, 1));
+    assertEquals(List.of("BU-1"), codes(index.nearest(LAT, LON, 5, 0, 0)));
+
+    // replace: archived at the old location, created at the new one
+    index.apply(new WarehouseEvent(WarehouseEvent.Type.ARCHIVED, "BU-1", "AMSTERDAM-001", 10, 1));
+    index.apply(new WarehouseEvent(WarehouseEvent.Type.CREATED, "BU-1", "HELMOND-001", 10, 1));
+    var nearest = index.nearest(LAT, LON, 5, 0, 0);
+    assertEquals("HELMOND-001", nearest.get(0).location());
+    assertTrue(nearest.get(0).distanceKm() < 20);
+
+    index.apply(new WarehouseEvent(WarehouseEvent.Type.ARCHIVED, "BU-1", "HELMOND-001", 10, 1));
+    assertTrue(index.nearest(LAT, LON, 5, 0, 0).isEmpty());
+  }
+
+  @Test
+  void reset_replaysEventsAppliedDuringTheRead() {
+    var index = new WarehouseSpatialIndex();
+    index.apply(new WarehouseEvent(WarehouseEvent.Type.CREATED, "BU-1", "AMSTERDAM-001", 10, 1));
+    long since = index.sequence();
+    // seen by the read as well
+    index.apply(new WarehouseEvent(WarehouseEvent.Type.CREATED, "BU-2", "TILBURG-001", 10, 1));
+    // committed after the read
+    index.apply(new WarehouseEvent(WarehouseEvent.Type.ARCHIVED, "BU-1", "AMSTERDAM-001", 10, 1));
+    index.apply(new WarehouseEvent(WarehouseEvent.Type.CREATED, "BU-3", "HELMOND-001", 10, 1));
+
+    index.reset(
+        List.of(new WarehouseView("BU-1", "AMSTERDAM-001", 10, 1), new WarehouseView("BU-2", "TILBURG-001", 10, 1)),
+        since);
+
+    assertEquals(List.of("BU-3", "BU-2"), codes(index.nearest(LAT, LON, 5, 0, 0)));
+  }
+
+  @Test
+  void warehousesAtUnknownLocationsAreNotIndexed() {
+    var index = new WarehouseSpatialIndex();
+    index.apply(new WarehouseEvent(WarehouseEvent.Type.CREATED, "BU-X", "NOWHERE-001", 10, 1));
+
+    assertEquals(0, index.size());
+  }
+
+  private static List<String> codes(List<NearestWarehouse> warehouses) {
+    return warehouses.stream().map(NearestWarehouse::businessUnitCode).toList();
+  }
+}
@@ -0,0 +1,114 @@
+package com.fulfilment.application.monolith.timing;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.anyOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.quarkus.test.junit.QuarkusTest;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+public class ServerTimingFilterTest {
+
+  // name;dur=1.234 with an optional ;desc="..."
+  private static final Pattern ENTRY = Pattern.compile("([a-z]+);dur=([0-9]+\\.[0-9]{3})(?:;desc=\"([^\"]*)\")?");
+  private static final Pattern STATEMENTS = Pattern.compile("([0-9]+) statements, ([0-9]+) batches");
+
+  record Entry(double durationMillis, String description) {}
+
+  @Test
+  public void testNoServerTimingUnlessRequested() {
+    given()
+        .when()
+        .get("warehouse")
+        .then()
+        .statusCode(200)
+        .header(ServerTimingFilter.SERVER_TIMING_HEADER, nullValue());
+    given()
+        .when()
+        .get("product")
+        .then()
+        .statusCode(200)
+        .header(ServerTimingFilter.SERVER_TIMING_HEADER, nullValue());
+    given()
+        .header(ServerTimingFilter.ENABLE_HEADER, "false")
+        .when()
+        .get("warehouse")
+        .then()
+        .statusCode(200)
+        .header(ServerTimingFilter.SERVER_TIMING_HEADER, nullValue());
+  }
+
+  @Test
+  public void testListReportsDbMappingAndTotal() {
+    Map<String, Entry> entries = serverTiming(get("warehouse"));
+
+    assertEquals(List.of("db", "mapping", "total"), List.copyOf(entries.keySet()));
+    Matcher statements = STATEMENTS.matcher(entries.get("db").description());
+    assertTrue(statements.matches(), entries.get("db").description());
+    assertTrue(Integer.parseInt(statements.group(1)) >= 1, "listing warehouses runs at least one statement");
+    assertEquals(0, Integer.parseInt(statements.group(2)));
+
+    double total = entries.get("total").durationMillis();
+    assertTrue(total > 0);
+    // each duration is rounded to the microsecond
+    assertTrue(entries.get("db").durationMillis() + entries.get("mapping").durationMillis() <= total + 0.002);
+  }
+
+  @Test
+  public void testCreateReportsValidation() {
+    String timing =
+        given()
+            .header(ServerTimingFilter.ENABLE_HEADER, "true")
+            .contentType("application/json")
+            .body(
+                "{\"businessUnitCode\": \"MWH.TIMING\", \"location\": \"EINDHOVEN-001\","
+                    + " \"capacity\": 10, \"stock\": 1}")
+            .when()
+            .post("warehouse")
+            .then()
+            .statusCode(anyOf(is(200), is(201)))
+            .extract()
+            .header(ServerTimingFilter.SERVER_TIMING_HEADER);
+    Map<String, Entry> entries = serverTiming(timing);
+
+    assertNotNull(entries.get("validation"), timing);
+    assertNotNull(entries.get("mapping"), timing);
+    Matcher statements = STATEMENTS.matcher(entries.get("db").description());
+    assertTrue(statements.matches(), timing);
+    assertTrue(Integer.parseInt(statements.group(1)) >= 1, "the create reads before it writes");
+    assertTrue(entries.get("validation").durationMillis() <= entries.get("total").durationMillis());
+  }
+
+  private static String get(String path) {
+    return given()
+        .header(ServerTimingFilter.ENABLE_HEADER, "true")
+        .when()
+        .get(path)
+        .then()
+        .statusCode(200)
+        .extract()
+        .header(ServerTimingFilter.SERVER_TIMING_HEADER);
+  }
+
+  /** Parses the header, asserting that it consists of well-formed entries only. */
+  private static Map<String, Entry> serverTiming(String header) {
+    assertNotNull(header, "Server-Timing header");
+    Map<String, Entry> entries = new LinkedHashMap<>();
+    for (String part : header.split(", (?=[a-z]+;dur=)")) {
+      Matcher entry = ENTRY.matcher(part);
+      assertTrue(entry.matches(), "malformed Server-Timing entry: " + part);
+      entries.put(entry.group(1), new Entry(Double.parseDouble(entry.group(2)), entry.group(3)));
+    }
+    return entries;
+  }
+}
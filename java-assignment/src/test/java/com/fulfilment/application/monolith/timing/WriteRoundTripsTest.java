@@ -0,0 +1,49 @@
+package com.fulfilment.application.monolith.timing;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.quarkus.test.junit.QuarkusTest;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Counts JDBC round trips (statements + batches, from the Server-Timing header) per write. With
+ * pooled-lo sequences a create costs one insert; the sequence is only hit once per 50 ids.
+ */
+@QuarkusTest
+public class WriteRoundTripsTest {
+
+  private static final Pattern DB_COUNTS = Pattern.compile("(\\d+) statements, (\\d+) batches");
+
+  @Test
+  public void testStoreCreatesAmortizeIdAllocation() {
+    int operations = 20;
+    int roundTrips = 0;
+    for (int i = 0; i < operations; i++) {
+      String serverTiming =
+          given()
+              .header(ServerTimingFilter.ENABLE_HEADER, "true")
+              .contentType("application/json")
+              .body("{\"name\": \"RT-" + UUID.randomUUID().toString().substring(0, 8) + "\"}")
+              .when()
+              .post("store")
+              .then()
+              .statusCode(201)
+              .extract()
+              .header(ServerTimingFilter.SERVER_TIMING_HEADER);
+      roundTrips += roundTrips(serverTiming);
+    }
+
+    // One insert each, plus at most one sequence call for the whole run
+    assertTrue(roundTrips <= operations + 1, "round trips for " + operations + " creates: " + roundTrips);
+  }
+
+  private static int roundTrips(String serverTiming) {
+    Matcher matcher = DB_COUNTS.matcher(serverTiming);
+    assertTrue(matcher.find(), serverTiming);
+    return Integer.parseInt(matcher.group(1)) + Integer.parseInt(matcher.group(2));
+  }
+}
@@ -0,0 +1,125 @@
+package com.fulfilment.application.monolith.utilization;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fulfilment.application.monolith.warehouses.adapters.database.WarehouseView;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseEvent;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class UtilizationAggregatesTest {
+
+  @Test
+  void apply_createdAndArchived_updatesLocationTotals() {
+    var aggregates = new UtilizationAggregates();
+
+    aggregates.apply(created("BU-1", "AMSTERDAM-001", 40, 10));
+    aggregates.apply(created("BU-2", "AMSTERDAM-001", 20, 20));
+    aggregates.apply(archived("BU-1", "AMSTERDAM-001", 40, 10));
+
+    LocationUtilization amsterdam = location(aggregates.snapshot(), "AMSTERDAM-001");
+    assertEquals(1, amsterdam.activeWarehouses());
+    assertEquals(5, amsterdam.maxNumberOfWarehouses());
+    assertEquals(20, amsterdam.usedCapacity());
+    assertEquals(0.2, amsterdam.capacityUtilization(), 1e-9);
+    assertEquals(1.0, amsterdam.stockToCapacity(), 1e-9);
+  }
+
+  @Test
+  void applyAll_archivedLocation_clearsItsTotals() {
+    var aggregates = new UtilizationAggregates();
+    aggregates.apply(created("BU-1", "AMSTERDAM-001", 40, 10));
+    aggregates.apply(created("BU-2", "AMSTERDAM-001", 20, 20));
+
+    aggregates.applyAll(
+        List.of(archived("BU-1", "AMSTERDAM-001", 40, 10), archived("BU-2", "AMSTERDAM-001", 20, 20)));
+
+    LocationUtilization amsterdam = location(aggregates.snapshot(), "AMSTERDAM-001");
+    assertEquals(0, amsterdam.activeWarehouses());
+    assertEquals(0, amsterdam.usedCapacity());
+  }
+
+  @Test
+  void snapshot_listsEveryCatalogLocation() {
+    Utilization utilization = new UtilizationAggregates().snapshot();
+
+    LocationUtilization vetsby = location(utilization, "VETSBY-001");
+    assertEquals(0, vetsby.activeWarehouses());
+    assertEquals(90, vetsby.maxCapacity());
+    assertEquals(0, utilization.stockToCapacity());
+  }
+
+  @Test
+  void reset_replacesTotalsAndReportsDrift() {
+    var aggregates = new UtilizationAggregates();
+    aggregates.apply(created("BU-1", "ZWOLLE-001", 30, 5));
+    aggregates.apply(created("BU-2", "TILBURG-001", 30, 5));
+
+    int drifted =
+        aggregates.reset(
+            List.of(new WarehouseView("BU-1", "ZWOLLE-001", 30, 5), new WarehouseView("BU-3", "HELMOND-001", 45, 9)),
+            aggregates.sequence());
+
+    assertEquals(2, drifted);
+    Utilization utilization = aggregates.snapshot();
+    assertEquals(0, location(utilization, "TILBURG-001").activeWarehouses());
+    assertEquals(45, location(utilization, "HELMOND-001").usedCapacity());
+    assertEquals(75, utilization.capacity());
+    assertEquals(14, utilization.stock());
+  }
+
+  @Test
+  void reset_replaysEventsAppliedDuringTheRead() {
+    var aggregates = new UtilizationAggregates();
+    aggregates.apply(created("BU-1", "ZWOLLE-001", 30, 5));
+    long since = aggregates.sequence();
+    // committed before the read, so in the snapshot too, but applied after the sequence was taken
+    aggregates.apply(created("BU-2", "TILBURG-001", 20, 2));
+    // committed after the read
+    aggregates.apply(archived("BU-1", "ZWOLLE-001", 30, 5));
+    aggregates.apply(created("BU-3", "HELMOND-001", 45, 9));
+
+    int drifted =
+        aggregates.reset(
+            List.of(new WarehouseView("BU-1", "ZWOLLE-001", 30, 5), new WarehouseView("BU-2", "TILBURG-001", 20, 2)),
+            since);
+
+    assertEquals(0, drifted);
+    Utilization utilization = aggregates.snapshot();
+    assertEquals(0, location(utilization, "ZWOLLE-001").activeWarehouses());
+    assertEquals(1, location(utilization, "TILBURG-001").activeWarehouses());
+    assertEquals(20, location(utilization, "TILBURG-001").usedCapacity());
+    assertEquals(1, location(utilization, "HELMOND-001").activeWarehouses());
+    assertEquals(65, utilization.capacity());
+  }
+
+  @Test
+  void apply_isIdempotentAndFollowsReplacements() {
+    var aggregates = new UtilizationAggregates();
+    aggregates.apply(created("BU-1", "AMSTERDAM-001", 40, 10));
+    aggregates.apply(created("BU-1", "AMSTERDAM-001", 40, 10));
+    // replaced at another location; the late archive of the old one must not remove the new one
+    aggregates.apply(created("BU-1", "ZWOLLE-001", 30, 5));
+    aggregates.apply(archived("BU-1", "AMSTERDAM-001", 40, 10));
+
+    Utilization utilization = aggregates.snapshot();
+    assertEquals(0, location(utilization, "AMSTERDAM-001").activeWarehouses());
+    assertEquals(1, location(utilization, "ZWOLLE-001").activeWarehouses());
+    assertEquals(30, utilization.capacity());
+  }
+
+  private static LocationUtilization location(Utilization utilization, String identifier) {
+    return utilization.locations().stream()
+        .filter(location -> location.location().equals(identifier))
+        .findFirst()
+        .orElseThrow();
+  }
+
+  private static WarehouseEvent created(String bu, String location, int capacity, int stock) {
+    return new WarehouseEvent(WarehouseEvent.Type.CREATED, bu, location, capacity, stock);
+  }
+
+  private static WarehouseEvent archived(String bu, String location, int capacity, int stock) {
+    return new WarehouseEvent(WarehouseEvent.Type.ARCHIVED, bu, location, capacity, stock);
+  }
+}
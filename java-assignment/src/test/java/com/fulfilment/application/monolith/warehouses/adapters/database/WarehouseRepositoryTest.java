@@ -0,0 +1,64 @@
+package com.fulfilment.application.monolith.warehouses.adapters.database;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import io.quarkus.test.TestTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+public class WarehouseRepositoryTest {
+
+  @Inject WarehouseRepository warehouseRepository;
+
+  @Test
+  @TestTransaction
+  public void testArchiveActiveAtLocationReturnsTheArchivedRows() {
+    LocalDateTime createdAt = LocalDateTime.now().minusDays(1).truncatedTo(ChronoUnit.MICROS);
+    warehouseRepository.create(warehouse("MWH.REPO-1", createdAt, null));
+    warehouseRepository.create(warehouse("MWH.REPO-2", createdAt, null));
+    warehouseRepository.create(warehouse("MWH.REPO-3", createdAt, createdAt.plusHours(1)));
+    // loaded into the persistence context before the statement changes the row
+    DbWarehouse stale = warehouseRepository.findActiveDbByBusinessUnitCode("MWH.REPO-1");
+    assertNull(stale.archivedAt);
+    DbWarehouse unrelated = warehouseRepository.findActiveDbByBusinessUnitCode("MWH.001");
+
+    LocalDateTime archivedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    List<Warehouse> archived = warehouseRepository.archiveActiveAtLocation("VETSBY-001", archivedAt);
+
+    assertEquals(
+        List.of("MWH.REPO-1", "MWH.REPO-2"),
+        archived.stream().map(w -> w.businessUnitCode).filter(bu -> bu.startsWith("MWH.REPO-")).sorted().toList());
+    Warehouse first = archived.stream().filter(w -> w.businessUnitCode.equals("MWH.REPO-1")).findFirst().get();
+    assertEquals(archivedAt, first.archivedAt);
+    assertEquals(createdAt, first.createdAt);
+    assertEquals("VETSBY-001", first.location);
+    assertEquals(20, first.capacity);
+    assertEquals(1L, first.version);
+
+    // only the changed rows leave the persistence context
+    assertFalse(warehouseRepository.getEntityManager().contains(stale));
+    assertTrue(warehouseRepository.getEntityManager().contains(unrelated));
+
+    assertNull(warehouseRepository.findActiveDbByBusinessUnitCode("MWH.REPO-1"));
+    assertEquals(archivedAt, warehouseRepository.findByBusinessUnitCode("MWH.REPO-1").archivedAt);
+    assertTrue(warehouseRepository.listActiveAtLocation("VETSBY-001").isEmpty());
+    assertTrue(warehouseRepository.archiveActiveAtLocation("VETSBY-001", archivedAt.plusSeconds(1)).isEmpty());
+  }
+
+  private static Warehouse warehouse(String bu, LocalDateTime createdAt, LocalDateTime archivedAt) {
+    Warehouse w = new Warehouse();
+    w.businessUnitCode = bu;
+    w.location = "VETSBY-001";
+    w.capacity = 20;
+    w.stock = 2;
+    w.createdAt = createdAt;
+    w.archivedAt = archivedAt;
+    return w;
+  }
+}
@@ -0,0 +1,112 @@
+package com.fulfilment.application.monolith.warehouses.adapters.grpc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fulfilment.application.monolith.warehouses.adapters.grpc.proto.CapacityCheckReply;
+import com.fulfilment.application.monolith.warehouses.adapters.grpc.proto.CapacityCheckRequest;
+import com.fulfilment.application.monolith.warehouses.adapters.grpc.proto.LocationRequest;
+import com.fulfilment.application.monolith.warehouses.adapters.grpc.proto.LookupReply;
+import com.fulfilment.application.monolith.warehouses.adapters.grpc.proto.LookupRequest;
+import com.fulfilment.application.monolith.warehouses.adapters.grpc.proto.Warehouse;
+import com.fulfilment.application.monolith.warehouses.adapters.grpc.proto.WarehouseByBusinessUnitRequest;
+import com.fulfilment.application.monolith.warehouses.adapters.grpc.proto.WarehouseByIdRequest;
+import com.fulfilment.application.monolith.warehouses.adapters.grpc.proto.WarehouseLookup;
+import com.fulfilment.application.monolith.warehouses.adapters.grpc.proto.WarehouseReply;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.quarkus.grpc.GrpcClient;
+import io.quarkus.test.junit.QuarkusTest;
+import io.smallrye.mutiny.Multi;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+public class WarehouseLookupServiceTest {
+
+  private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+  @GrpcClient("warehouse-lookup")
+  WarehouseLookup client;
+
+  @Test
+  public void testLookupsByIdAndBusinessUnit() {
+    Warehouse byId = byId(3).getWarehouse();
+    assertEquals("MWH.023", byId.getBusinessUnitCode());
+    assertEquals("TILBURG-001", byId.getLocation());
+
+    Warehouse byCode =
+        client
+            .getWarehouseByBusinessUnit(
+                WarehouseByBusinessUnitRequest.newBuilder().setBusinessUnitCode("MWH.023").build())
+            .await()
+            .atMost(TIMEOUT)
+            .getWarehouse();
+    assertEquals(byId, byCode);
+
+    StatusRuntimeException missing =
+        assertThrows(StatusRuntimeException.class, () -> byId(999_999));
+    assertEquals(Status.Code.NOT_FOUND, missing.getStatus().getCode());
+  }
+
+  @Test
+  public void testLocationAndCapacityChecks() {
+    var location =
+        client
+            .resolveLocation(LocationRequest.newBuilder().setIdentifier("tilburg-001").build())
+            .await()
+            .atMost(TIMEOUT);
+    assertEquals("TILBURG-001", location.getLocation().getIdentification());
+    assertEquals(40, location.getLocation().getMaxCapacity());
+
+    // TILBURG-001 allows one warehouse, MWH.023 is already there
+    CapacityCheckReply full = check("TILBURG-001", 10, "");
+    assertFalse(full.getFeasible());
+    assertFalse(full.getReason().isEmpty());
+    assertTrue(check("TILBURG-001", 35, "MWH.023").getFeasible());
+    assertFalse(check("TILBURG-001", 50, "MWH.023").getFeasible());
+    assertFalse(check("NOWHERE-001", 10, "").getFeasible());
+  }
+
+  @Test
+  public void testStreamedLookupsAnswerInOrder() {
+    List<LookupReply> replies =
+        client
+            .lookup(
+                Multi.createFrom()
+                    .items(
+                        LookupRequest.newBuilder().setWarehouseId(3).build(),
+                        LookupRequest.newBuilder().setBusinessUnitCode("MWH.023").build(),
+                        LookupRequest.newBuilder().setLocation("TILBURG-001").build(),
+                        LookupRequest.newBuilder().setWarehouseId(999_999).build()))
+            .collect()
+            .asList()
+            .await()
+            .atMost(TIMEOUT);
+
+    assertEquals(4, replies.size());
+    assertEquals("MWH.023", replies.get(0).getWarehouse().getBusinessUnitCode());
+    assertEquals("MWH.023", replies.get(1).getWarehouse().getBusinessUnitCode());
+    assertEquals("TILBURG-001", replies.get(2).getLocation().getIdentification());
+    assertFalse(replies.get(3).getFound());
+  }
+
+  private WarehouseReply byId(long id) {
+    return client.getWarehouseById(WarehouseByIdRequest.newBuilder().setId(id).build()).await().atMost(TIMEOUT);
+  }
+
+  private CapacityCheckReply check(String location, int capacity, String replaced) {
+    return client
+        .checkCapacity(
+            CapacityCheckRequest.newBuilder()
+                .setLocation(location)
+                .setCapacity(capacity)
+                .setReplacedBusinessUnitCode(replaced)
+                .build())
+        .await()
+        .atMost(TIMEOUT);
+  }
+}
@@ -0,0 +1,7 @@
+package com.fulfilment.application.monolith.warehouses.adapters.restapi;
+
+import io.quarkus.test.junit.QuarkusIntegrationTest;
+
+/** Runs the warehouse endpoint tests against the native executable ({@code ./mvnw verify -Dnative}). */
+@QuarkusIntegrationTest
+public class WarehouseEndpointNativeIT extends WarehouseEndpointITTest {}
@@ -0,0 +1,100 @@
+package com.fulfilment.application.monolith.warehouses.domain.usecases;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.Location;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseEvent;
+import com.fulfilment.application.monolith.warehouses.domain.ports.LocationResolver;
+import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ArchiveLocationUseCaseTest {
+
+  private static final LocationResolver RESOLVER =
+      id -> id.startsWith("AMSTERDAM") ? new Location(id, 5, 100) : null;
+
+  @Test
+  void archiveLocation_whenUnknownLocation_throws400() {
+    ArchiveLocationUseCase useCase = new ArchiveLocationUseCase(new InMemoryWarehouseStore(), RESOLVER);
+
+    WarehouseOperationException ex =
+        assertThrows(WarehouseOperationException.class, () -> useCase.archiveLocation("NOWHERE-001"));
+
+    assertEquals(400, ex.status);
+  }
+
+  @Test
+  void archiveLocation_archivesOnlyActiveWarehousesAtThatLocation() {
+    InMemoryWarehouseStore store = new InMemoryWarehouseStore();
+    store.create(warehouse("BU-1", "AMSTERDAM-001", null));
+    store.create(warehouse("BU-2", "amsterdam-001", null)); // matched like listActiveAtLocation, ignoring case
+    store.create(warehouse("BU-3", "AMSTERDAM-001", LocalDateTime.now().minusDays(1)));
+    store.create(warehouse("BU-4", "AMSTERDAM-002", null));
+
+    List<WarehouseEvent> events = new ArrayList<>();
+    ArchiveLocationUseCase useCase = new ArchiveLocationUseCase(store, RESOLVER, events::add);
+
+    List<Warehouse> archived = useCase.archiveLocation("AMSTERDAM-001");
+
+    assertEquals(List.of("BU-1", "BU-2"), archived.stream().map(w -> w.businessUnitCode).toList());
+    assertEquals(2, events.size());
+    assertTrue(events.stream().allMatch(e -> e.type() == WarehouseEvent.Type.ARCHIVED));
+    assertEquals(
+        List.of("BU-4"),
+        store.getAll().stream().filter(w -> w.archivedAt == null).map(w -> w.businessUnitCode).toList());
+  }
+
+  @Test
+  void archiveLocation_whenNothingActive_isNoOp() {
+    List<WarehouseEvent> events = new ArrayList<>();
+    ArchiveLocationUseCase useCase =
+        new ArchiveLocationUseCase(new InMemoryWarehouseStore(), RESOLVER, events::add);
+
+    assertTrue(useCase.archiveLocation("AMSTERDAM-002").isEmpty());
+    assertTrue(events.isEmpty());
+  }
+
+  private static Warehouse warehouse(String bu, String location, LocalDateTime archivedAt) {
+    Warehouse w = new Warehouse();
+    w.businessUnitCode = bu;
+    w.location = location;
+    w.capacity = 10;
+    w.stock = 1;
+    w.archivedAt = archivedAt;
+    return w;
+  }
+
+  /** Minimal in-memory store, relying on the default {@link WarehouseStore#archiveActiveAtLocation}. */
+  private static final class InMemoryWarehouseStore implements WarehouseStore {
+    private final List<Warehouse> data = new ArrayList<>();
+
+    @Override
+    public List<Warehouse> getAll() {
+      return new ArrayList<>(data);
+    }
+
+    @Override
+    public void create(Warehouse warehouse) {
+      data.add(warehouse);
+    }
+
+    @Override
+    public void update(Warehouse warehouse) {
+      // getAll() hands out the stored instances, nothing to copy back
+    }
+
+    @Override
+    public void remove(Warehouse warehouse) {
+      data.remove(warehouse);
+    }
+
+    @Override
+    public Warehouse findByBusinessUnitCode(String buCode) {
+      return data.stream().filter(w -> w.businessUnitCode.equals(buCode)).findFirst().orElse(null);
+    }
+  }
+}
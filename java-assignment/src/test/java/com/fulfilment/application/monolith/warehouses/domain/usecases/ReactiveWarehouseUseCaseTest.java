@@ -0,0 +1,294 @@
+package com.fulfilment.application.monolith.warehouses.domain.usecases;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.Location;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseEvent;
+import com.fulfilment.application.monolith.warehouses.domain.ports.LocationResolver;
+import com.fulfilment.application.monolith.warehouses.domain.ports.ReactiveWarehouseStore;
+import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseEventPublisher;
+import io.smallrye.mutiny.Uni;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ReactiveWarehouseUseCaseTest {
+
+  private static final String EVENT_LOOP = "fake-event-loop";
+
+  private final InMemoryReactiveWarehouseStore store = new InMemoryReactiveWarehouseStore();
+  private final RecordingPublisher publisher = new RecordingPublisher();
+  private final LocationResolver resolver = id -> new Location(id.toUpperCase(), 2, 100);
+  private final ReactiveWarehouseUseCase useCase = new ReactiveWarehouseUseCase(store, resolver, publisher);
+
+  @AfterEach
+  void shutdown() {
+    store.loop.shutdownNow();
+  }
+
+  @Test
+  void create_whenValid_persistsAndPublishesOffTheEventLoop() {
+    useCase.create(warehouse(" BU-1 ", "zwolle-001", 10, 5)).await().indefinitely();
+
+    Warehouse created = store.latest("BU-1");
+    assertNotNull(created);
+    assertEquals("ZWOLLE-001", created.location);
+    assertNotNull(created.createdAt);
+    assertNull(created.archivedAt);
+    assertEquals(
+        List.of(new WarehouseEvent(WarehouseEvent.Type.CREATED, "BU-1", "ZWOLLE-001", 10, 5)), publisher.events);
+    assertFalse(publisher.threads.contains(EVENT_LOOP), "observers must not run on the event loop");
+  }
+
+  @Test
+  void create_whenBusinessUnitAlreadyExists_fails() {
+    store.seed(warehouse("BU-1", "ZWOLLE-001", 10, 5));
+
+    WarehouseOperationException ex =
+        assertThrows(
+            WarehouseOperationException.class,
+            () -> useCase.create(warehouse("BU-1", "ZWOLLE-001", 10, 5)).await().indefinitely());
+
+    assertEquals(400, ex.status);
+    assertTrue(publisher.events.isEmpty());
+  }
+
+  @Test
+  void replace_archivesCurrentAndCreatesReplacement() {
+    store.seed(warehouse("BU-1", "ZWOLLE-001", 10, 5));
+
+    useCase.replace(warehouse("BU-1", "ZWOLLE-001", 20, 5)).await().indefinitely();
+
+    assertEquals(2, store.data.size());
+    assertNotNull(store.data.get(0).archivedAt);
+    assertEquals(20, store.latest("BU-1").capacity);
+    assertEquals(
+        List.of(WarehouseEvent.Type.ARCHIVED, WarehouseEvent.Type.CREATED),
+        publisher.events.stream().map(WarehouseEvent::type).toList());
+    assertFalse(publisher.threads.contains(EVENT_LOOP));
+  }
+
+  @Test
+  void replace_whenVersionRaceLost_retriesWithAFreshRead() {
+    store.seed(warehouse("BU-1", "ZWOLLE-001", 10, 5));
+    store.conflicts = 1;
+
+    useCase.replace(warehouse("BU-1", "ZWOLLE-001", 20, 5)).await().indefinitely();
+
+    assertEquals(2, store.transactions);
+    assertEquals(2, store.data.size(), "the failed attempt must not leave a replacement behind");
+    assertEquals(2, publisher.events.size(), "events are published once, for the attempt that committed");
+  }
+
+  @Test
+  void replace_whenConflictPersists_failsWith409() {
+    store.seed(warehouse("BU-1", "ZWOLLE-001", 10, 5));
+    store.conflicts = WarehouseRules.MAX_WRITE_ATTEMPTS;
+
+    WarehouseOperationException ex =
+        assertThrows(
+            WarehouseOperationException.class,
+            () -> useCase.replace(warehouse("BU-1", "ZWOLLE-001", 20, 5)).await().indefinitely());
+
+    assertEquals(409, ex.status);
+    assertEquals(WarehouseRules.MAX_WRITE_ATTEMPTS, store.transactions);
+    assertTrue(publisher.events.isEmpty());
+  }
+
+  @Test
+  void archive_whenVersionRaceLost_retriesAndPublishesOnce() {
+    store.seed(warehouse("BU-1", "ZWOLLE-001", 10, 5));
+    store.conflicts = 1;
+
+    useCase.archive(warehouse("BU-1", null, null, null)).await().indefinitely();
+
+    assertNotNull(store.latest("BU-1").archivedAt);
+    assertEquals(2, store.transactions);
+    assertEquals(List.of(WarehouseEvent.Type.ARCHIVED), publisher.events.stream().map(WarehouseEvent::type).toList());
+  }
+
+  @Test
+  void archive_whenAlreadyArchived_isIdempotent() {
+    Warehouse archived = warehouse("BU-1", "ZWOLLE-001", 10, 5);
+    archived.archivedAt = LocalDateTime.of(2024, 1, 1, 0, 0);
+    store.seed(archived);
+
+    useCase.archive(warehouse("BU-1", null, null, null)).await().indefinitely();
+
+    assertEquals(LocalDateTime.of(2024, 1, 1, 0, 0), store.latest("BU-1").archivedAt);
+    assertTrue(publisher.events.isEmpty());
+  }
+
+  @Test
+  void archiveLocation_publishesOneEventPerArchivedWarehouse() {
+    store.seed(warehouse("BU-1", "ZWOLLE-001", 10, 5));
+    store.seed(warehouse("BU-2", "ZWOLLE-001", 20, 5));
+    store.seed(warehouse("BU-3", "TILBURG-001", 20, 5));
+
+    List<Warehouse> archived = useCase.archiveLocation("zwolle-001").await().indefinitely();
+
+    assertEquals(2, archived.size());
+    assertEquals(List.of("BU-1", "BU-2"), publisher.events.stream().map(WarehouseEvent::businessUnitCode).toList());
+    assertNull(store.latest("BU-3").archivedAt);
+    assertFalse(publisher.threads.contains(EVENT_LOOP));
+  }
+
+  private static Warehouse warehouse(String bu, String location, Integer capacity, Integer stock) {
+    Warehouse w = new Warehouse();
+    w.businessUnitCode = bu;
+    w.location = location;
+    w.capacity = capacity;
+    w.stock = stock;
+    return w;
+  }
+
+  private static final class RecordingPublisher implements WarehouseEventPublisher {
+    final List<WarehouseEvent> events = new ArrayList<>();
+    final List<String> threads = new ArrayList<>();
+
+    @Override
+    public synchronized void publish(WarehouseEvent event) {
+      events.add(event);
+      threads.add(Thread.currentThread().getName());
+    }
+  }
+
+  /**
+   * Minimal in-memory store completing every operation on a single "event loop" thread, like the
+   * Vert.x client does. Updates check the version the warehouse was read with; {@link #conflicts}
+   * makes the next updates lose the race against a concurrent writer.
+   */
+  private static final class InMemoryReactiveWarehouseStore implements ReactiveWarehouseStore {
+    final ExecutorService loop = Executors.newSingleThreadExecutor(r -> new Thread(r, EVENT_LOOP));
+    final List<Warehouse> data = new ArrayList<>();
+    int conflicts;
+    int transactions;
+
+    void seed(Warehouse warehouse) {
+      warehouse.createdAt = warehouse.createdAt == null ? LocalDateTime.now().minusDays(1) : warehouse.createdAt;
+      warehouse.version = 0L;
+      data.add(warehouse);
+    }
+
+    Warehouse latest(String buCode) {
+      return data.stream()
+          .filter(w -> w.businessUnitCode.equals(buCode))
+          .max(Comparator.comparing(w -> w.createdAt))
+          .orElse(null);
+    }
+
+    @Override
+    public Uni<List<Warehouse>> getActive() {
+      return onLoop(() -> data.stream().filter(w -> w.archivedAt == null).map(this::copy).toList());
+    }
+
+    @Override
+    public Uni<List<Warehouse>> getActiveAtLocation(String location) {
+      return onLoop(
+          () ->
+              data.stream()
+                  .filter(w -> w.archivedAt == null && location.equals(w.location))
+                  .map(this::copy)
+                  .toList());
+    }
+
+    @Override
+    public Uni<Void> create(Warehouse warehouse) {
+      return onLoop(
+          () -> {
+            Warehouse stored = copy(warehouse);
+            stored.version = 0L;
+            data.add(stored);
+            return null;
+          });
+    }
+
+    @Override
+    public Uni<Void> update(Warehouse warehouse) {
+      return onLoop(
+          () -> {
+            Warehouse stored =
+                data.stream()
+                    .filter(
+                        w ->
+                            w.businessUnitCode.equals(warehouse.businessUnitCode)
+                                && w.createdAt.equals(warehouse.createdAt))
+                    .findFirst()
+                    .orElseThrow();
+            if (conflicts > 0) {
+              conflicts--;
+              stored.version++; // a concurrent writer got there first
+            }
+            if (warehouse.version != null && !warehouse.version.equals(stored.version)) {
+              throw new WarehouseConflictException(warehouse.businessUnitCode);
+            }
+            stored.location = warehouse.location;
+            stored.capacity = warehouse.capacity;
+            stored.stock = warehouse.stock;
+            stored.archivedAt = warehouse.archivedAt;
+            stored.version++;
+            return null;
+          });
+    }
+
+    @Override
+    public Uni<List<Warehouse>> archiveActiveAtLocation(String location, LocalDateTime archivedAt) {
+      return onLoop(
+          () -> {
+            List<Warehouse> archived = new ArrayList<>();
+            for (Warehouse w : data) {
+              if (w.archivedAt == null && location.equals(w.location)) {
+                w.archivedAt = archivedAt;
+                w.version++;
+                archived.add(copy(w));
+              }
+            }
+            return archived;
+          });
+    }
+
+    @Override
+    public Uni<Warehouse> findByBusinessUnitCode(String buCode) {
+      return onLoop(
+          () -> {
+            Warehouse latest = latest(buCode);
+            return latest == null ? null : copy(latest);
+          });
+    }
+
+    @Override
+    public <T> Uni<T> withTransaction(Function<ReactiveWarehouseStore, Uni<T>> work) {
+      // Each subscription is a new attempt, as with the pool; conflicts surface before anything is written
+      return Uni.createFrom()
+          .deferred(
+              () -> {
+                transactions++;
+                return work.apply(this);
+              });
+    }
+
+    private <T> Uni<T> onLoop(Supplier<T> operation) {
+      return Uni.createFrom().item(operation).runSubscriptionOn(loop);
+    }
+
+    private Warehouse copy(Warehouse w) {
+      Warehouse c = new Warehouse();
+      c.businessUnitCode = w.businessUnitCode;
+      c.location = w.location;
+      c.capacity = w.capacity;
+      c.stock = w.stock;
+      c.createdAt = w.createdAt;
+      c.archivedAt = w.archivedAt;
+      c.version = w.version;
+      return c;
+    }
+  }
+}
@@ -93,6 +93,43 @@ class ReplaceWarehouseUseCaseTest {
     assertEquals(400, ex.status);
   }
 
+  @Test
+  void replace_whenVersionRaceLost_retriesAgainstFreshRead() {
+    InMemoryWarehouseStore store = new InMemoryWarehouseStore();
+    LocationResolver resolver = id -> location("ZWOLLE-001", 5, 100);
+
+    store.create(warehouse("BU-1", "ZWOLLE-001", 10, 5));
+    store.pendingConflicts = WarehouseRules.MAX_WRITE_ATTEMPTS - 1;
+
+    ReplaceWarehouseUseCase useCase = new ReplaceWarehouseUseCase(store, resolver);
+
+    useCase.replace(warehouse("BU-1", "ZWOLLE-001", 20, 5));
+
+    assertEquals(0, store.pendingConflicts);
+    assertEquals(1, store.getAll().stream().filter(w -> w.archivedAt == null).count());
+    assertEquals(2, store.getAll().size(), "Losing attempts must not have inserted anything");
+  }
+
+  @Test
+  void replace_whenVersionRaceKeepsLosing_throws409() {
+    InMemoryWarehouseStore store = new InMemoryWarehouseStore();
+    LocationResolver resolver = id -> location("ZWOLLE-001", 5, 100);
+
+    store.create(warehouse("BU-1", "ZWOLLE-001", 10, 5));
+    store.pendingConflicts = WarehouseRules.MAX_WRITE_ATTEMPTS;
+
+    ReplaceWarehouseUseCase useCase = new ReplaceWarehouseUseCase(store, resolver);
+
+    WarehouseOperationException ex =
+        assertThrows(
+            WarehouseConflictException.class,
+            () -> useCase.replace(warehouse("BU-1", "ZWOLLE-001", 20, 5)));
+
+    assertEquals(409, ex.status);
+    assertEquals(1, store.getAll().size());
+    assertNull(store.getAll().get(0).archivedAt);
+  }
+
   private static Warehouse warehouse(String bu, String location, Integer capacity, Integer stock) {
     Warehouse w = new Warehouse();
     w.businessUnitCode = bu;
@@ -109,6 +146,8 @@ class ReplaceWarehouseUseCaseTest {
   /** Minimal in-memory implementation to unit test use cases. */
   private static final class InMemoryWarehouseStore implements WarehouseStore {
     private final List<Warehouse> data = new ArrayList<>();
+    // number of upcoming updates that fail as if another transaction had bumped the version
+    int pendingConflicts;
 
     @Override
     public List<Warehouse> getAll() {
@@ -122,6 +161,10 @@ class ReplaceWarehouseUseCaseTest {
 
     @Override
     public void update(Warehouse warehouse) {
+      if (pendingConflicts > 0) {
+        pendingConflicts--;
+        throw new WarehouseConflictException(warehouse.businessUnitCode);
+      }
       // Replace first matching by BU code (close enough for use case unit tests)
       for (int i = 0; i < data.size(); i++) {
         Warehouse existing = data.get(i);
@@ -0,0 +1,14 @@
+-- Stand-in read replica for ReadReplicaRoutingTest. Run on every connection, so it must be idempotent.
+CREATE TABLE IF NOT EXISTS store (
+  id BIGINT PRIMARY KEY, name VARCHAR(40), quantityProductsInStock INT, latitude DOUBLE PRECISION,
+  longitude DOUBLE PRECISION);
+MERGE INTO store KEY(id) VALUES (1, 'REPLICA-STORE', 1, NULL, NULL);
+
+CREATE TABLE IF NOT EXISTS product (
+  id BIGINT PRIMARY KEY, name VARCHAR(40), description VARCHAR(255), price NUMERIC(10, 2), stock INT);
+MERGE INTO product KEY(id) VALUES (1, 'REPLICA-PRODUCT', NULL, NULL, 1);
+
+CREATE TABLE IF NOT EXISTS warehouse (
+  id BIGINT PRIMARY KEY, businessUnitCode VARCHAR(255), location VARCHAR(255), capacity INT, stock INT,
+  createdAt TIMESTAMP, archivedAt TIMESTAMP, version BIGINT);
+MERGE INTO warehouse KEY(id) VALUES (1, 'MWH.REPLICA', 'ZWOLLE-001', 10, 1, '2024-01-01 00:00:00', NULL, 0);